@@ -0,0 +1,68 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.BatchResult;
+import com.vladsch.flexmark.util.ast.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link Parser#parseAll} and {@link HtmlRenderer#renderAll} with number of threads,
+ * for a batch of documents made from the CommonMark spec examples
+ * <p>
+ * {@code sequential} is the single threaded loop over the same documents for comparison
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class BatchBenchmark {
+    private static final int DOCUMENTS = 10_000;
+
+    @Param({ "1", "2", "4", "8" })
+    public int threads;
+
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+    private List<String> documents;
+    private ExecutorService executor;
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(BatchBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        documents = SpecCorpus.specExamples(DOCUMENTS);
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<BatchResult<String>> parseAllRenderAll() {
+        List<BatchResult<Document>> parsed = parser.parseAll(documents.stream(), executor);
+        return renderer.renderAll(parsed.stream().map(BatchResult::getValue), executor);
+    }
+
+    @Benchmark
+    public List<String> sequential() {
+        ArrayList<String> results = new ArrayList<>(documents.size());
+        for (String document : documents) {
+            results.add(renderer.render(parser.parse(document)));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,46 @@
+package com.vladsch.flexmark.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks of the module, or those matching the JMH command line, with the GC profiler
+ * reporting allocation rate and bytes allocated per operation.
+ * <p>
+ * Run from the module with the benchmark classpath, for example:
+ * <pre>{@code
+ * mvn -pl flexmark-benchmarks dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp flexmark-benchmarks/target/classes:$(cat cp.txt) com.vladsch.flexmark.benchmarks.Benchmarks ParserBenchmark -p corpus=SPEC
+ * }</pre>
+ */
+public class Benchmarks {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLineOptions).addProfiler(GCProfiler.class);
+
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(Benchmarks.class.getPackage().getName() + ".*");
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * Run benchmarks of given class with the GC profiler
+     *
+     * @param benchmark benchmark class
+     * @param args      JMH command line arguments
+     * @throws Exception if command line is invalid or benchmarks fail
+     */
+    public static void run(Class<?> benchmark, String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(benchmark.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
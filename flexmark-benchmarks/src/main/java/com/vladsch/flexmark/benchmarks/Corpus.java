@@ -0,0 +1,110 @@
+package com.vladsch.flexmark.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Markdown documents exercising different hot paths of parsing, rendering and conversion
+ */
+public enum Corpus {
+    /**
+     * full text of the CommonMark spec, mix of all elements
+     */
+    SPEC,
+
+    /**
+     * large tables with inline markup in cells
+     */
+    TABLES,
+
+    /**
+     * deeply nested bullet and ordered lists, nesting limited to levels supported by DOCX lists
+     */
+    LISTS,
+
+    /**
+     * long paragraphs of inline text with emphasis, code and links
+     */
+    PARAGRAPHS;
+
+    public @NotNull String text() {
+        switch (this) {
+            case SPEC:
+                return SpecCorpus.specText();
+            case TABLES:
+                return tables(5, 200, 8);
+            case LISTS:
+                return lists(50, 8);
+            case PARAGRAPHS:
+                return paragraphs(50, 400);
+            default:
+                throw new IllegalStateException("Unhandled corpus " + this);
+        }
+    }
+
+    static @NotNull String tables(int tables, int rows, int columns) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int t = 0; t < tables; t++) {
+            sb.append("## Table ").append(t + 1).append("\n\n|");
+            for (int c = 0; c < columns; c++) sb.append(" Column ").append(c + 1).append(" |");
+            sb.append("\n|");
+            for (int c = 0; c < columns; c++) sb.append(c == 0 ? ":---------" : c % 2 == 0 ? ":--------:" : "---------:").append("|");
+            sb.append("\n");
+
+            for (int r = 0; r < rows; r++) {
+                sb.append("|");
+                for (int c = 0; c < columns; c++) {
+                    switch ((r + c) % 4) {
+                        case 0:
+                            sb.append(" cell ").append(r).append(' ').append(c).append(" |");
+                            break;
+                        case 1:
+                            sb.append(" **bold ").append(r).append("** |");
+                            break;
+                        case 2:
+                            sb.append(" `code ").append(c).append("` |");
+                            break;
+                        default:
+                            sb.append(" [link ").append(r).append("](http://example.com/").append(c).append(") |");
+                            break;
+                    }
+                }
+                sb.append("\n");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    static @NotNull String lists(int lists, int depth) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int l = 0; l < lists; l++) {
+            for (int d = 0; d < depth; d++) {
+                for (int i = 0; i < 3; i++) {
+                    for (int indent = 0; indent < d; indent++) sb.append("    ");
+                    if (d % 2 == 0) sb.append("- ");
+                    else sb.append(i + 1).append(". ");
+                    sb.append("item ").append(l).append('.').append(d).append('.').append(i).append(" with *emphasis*");
+                    sb.append(i == 2 ? "\n" : " and `code`\n");
+                }
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    static @NotNull String paragraphs(int paragraphs, int words) {
+        String[] inlines = { "plain", "*emphasis*", "**strong**", "`code span`", "[link](http://example.com)", "text", "with", "<http://example.com>", "words", "and", "~~strike~~", "\\*escaped\\*" };
+        StringBuilder sb = new StringBuilder();
+
+        for (int p = 0; p < paragraphs; p++) {
+            for (int w = 0; w < words; w++) {
+                sb.append(inlines[(p * 7 + w * 5 + w / 3) % inlines.length]);
+                sb.append(w % 16 == 15 ? '\n' : ' ');
+            }
+            sb.append("\n\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.data.DataHolder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base of benchmarks run for every combination of {@link Corpus} and {@link Profile}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public abstract class CorpusBenchmarkBase {
+    @Param({ "SPEC", "TABLES", "LISTS", "PARAGRAPHS" })
+    public Corpus corpus;
+
+    @Param({ "COMMONMARK", "PEGDOWN" })
+    public Profile profile;
+
+    protected String text;
+    protected DataHolder options;
+    protected Parser parser;
+
+    @Setup
+    public void setupCorpus() {
+        text = corpus.text();
+        options = profile.options();
+        parser = Parser.builder(options).build();
+    }
+}
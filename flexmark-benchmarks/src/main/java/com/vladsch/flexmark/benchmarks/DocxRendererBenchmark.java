@@ -0,0 +1,65 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.docx.converter.DocxRenderer;
+import com.vladsch.flexmark.util.ast.Document;
+import org.docx4j.openpackaging.exceptions.Docx4JException;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.OutputStream;
+
+/**
+ * {@link DocxRenderer#render} of each parsed corpus, including loading of the default template
+ * which is done for every rendered document
+ * <p>
+ * {@code renderDocx} and {@code renderFlatXml} include saving the package, as a zip streamed to a counting output
+ * and as the sorted flat xml string
+ */
+public class DocxRendererBenchmark extends CorpusBenchmarkBase {
+    private DocxRenderer renderer;
+    private Document document;
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(DocxRendererBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        renderer = DocxRenderer.builder(options).build();
+        document = parser.parse(text);
+    }
+
+    @Benchmark
+    public WordprocessingMLPackage render() {
+        WordprocessingMLPackage mlPackage = DocxRenderer.getDefaultTemplate(options);
+        renderer.render(document, mlPackage);
+        return mlPackage;
+    }
+
+    @Benchmark
+    public long renderDocx() throws Docx4JException {
+        CountingOutputStream output = new CountingOutputStream();
+        renderer.renderDocx(document, output);
+        return output.count;
+    }
+
+    @Benchmark
+    public String renderFlatXml() {
+        return renderer.render(document);
+    }
+
+    static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.docx.converter.DocxRenderer;
+import com.vladsch.flexmark.util.data.DataHolder;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DocxRenderer#getDefaultTemplate(DataHolder)} from concurrent threads, each export gets its own copy
+ * of the cached template
+ * <p>
+ * Run with {@code -t 1} to compare against a single thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Threads(4)
+public class DocxTemplateBenchmark {
+    private DataHolder options;
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(DocxTemplateBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        options = Profile.COMMONMARK.options();
+    }
+
+    @Benchmark
+    public WordprocessingMLPackage getDefaultTemplate() {
+        return DocxRenderer.getDefaultTemplate(options);
+    }
+}
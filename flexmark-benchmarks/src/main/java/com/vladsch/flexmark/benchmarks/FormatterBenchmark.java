@@ -0,0 +1,29 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.formatter.Formatter;
+import com.vladsch.flexmark.util.ast.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * {@link Formatter#render} of each parsed corpus back to markdown
+ */
+public class FormatterBenchmark extends CorpusBenchmarkBase {
+    private Formatter formatter;
+    private Document document;
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(FormatterBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        formatter = Formatter.builder(options).build();
+        document = parser.parse(text);
+    }
+
+    @Benchmark
+    public String format() {
+        return formatter.render(document);
+    }
+}
@@ -0,0 +1,29 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html2md.converter.FlexmarkHtmlConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * {@link FlexmarkHtmlConverter#convert(String)} of HTML rendered from each corpus
+ */
+public class HtmlConverterBenchmark extends CorpusBenchmarkBase {
+    private FlexmarkHtmlConverter converter;
+    private String html;
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(HtmlConverterBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        converter = FlexmarkHtmlConverter.builder(options).build();
+        html = HtmlRenderer.builder(options).build().render(parser.parse(text));
+    }
+
+    @Benchmark
+    public String convert() {
+        return converter.convert(html);
+    }
+}
@@ -0,0 +1,66 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.html2md.converter.FlexmarkHtmlConverter;
+import com.vladsch.flexmark.html2md.converter.StatelessHtmlNodeRendererFactory;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FlexmarkHtmlConverter#convert(org.jsoup.nodes.Node, Appendable, int)} of 10k small html fragments,
+ * comment sized or a single short paragraph where per conversion set up of node renderers and their handlers dominates
+ * <p>
+ * Fragments are parsed by the set up so only conversion is measured. Renderers from {@link StatelessHtmlNodeRendererFactory},
+ * including the core renderer, and the tag handler map are created once per converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class HtmlConverterFragmentBenchmark {
+    private static final int FRAGMENTS = 10_000;
+
+    private static final String COMMENT = "<p>Thanks for the <em>quick</em> fix -- see <a href=\"https://example.com/docs\" title=\"Docs\">the docs</a> and <code>code</code>.</p>\n" +
+            "<ul>\n" +
+            "<li>one <b>item</b> with &quot;quotes&quot;</li>\n" +
+            "<li>two &amp; three*</li>\n" +
+            "</ul>\n";
+
+    private static final String PARAGRAPH = "<p>Thanks</p>\n";
+
+    @Param({ "COMMENT", "PARAGRAPH" })
+    public String fragment;
+
+    private FlexmarkHtmlConverter converter;
+    private final Document[] fragments = new Document[FRAGMENTS];
+    private final StringBuilder out = new StringBuilder(256);
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(HtmlConverterFragmentBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        converter = FlexmarkHtmlConverter.builder().build();
+
+        for (int i = 0; i < FRAGMENTS; i++) {
+            fragments[i] = Jsoup.parse((fragment.equals("COMMENT") ? COMMENT : PARAGRAPH) + "<p>" + i + "</p>\n");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAGMENTS)
+    public int convertFragments() {
+        int length = 0;
+        for (Document document : fragments) {
+            out.setLength(0);
+            converter.convert(document, out, 1);
+            length += out.length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,155 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.html2md.converter.FlexmarkHtmlConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of a large generated HTML document, about 50MB, with {@link FlexmarkHtmlConverter#convert(String, Appendable)}
+ * of the complete HTML text compared to streaming {@link FlexmarkHtmlConverter#convert(Reader, Appendable)}
+ * <p>
+ * Markdown is output to an appendable which only counts characters. Peak heap usage of each iteration
+ * is printed after the iteration, it is the sum of peak usage of heap memory pools so it is an upper bound.
+ * The string conversion reads the HTML into a string first, so both read the same generated HTML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class HtmlConverterStreamingBenchmark {
+    private static final String SECTION = "" +
+            "<h2>Section heading</h2>\n" +
+            "<p>Paragraph with <a href=\"http://example.com/link\">a link</a>, <em>emphasis</em> and <strong>strong</strong> text, " +
+            "followed by <code>inline code</code> and more plain text to make the paragraph a typical length.</p>\n" +
+            "<ul>\n<li>first item</li>\n<li>second item with <em>emphasis</em>\n<ol>\n<li>nested item</li>\n</ol>\n</li>\n</ul>\n" +
+            "<blockquote>\n<p>Block quote paragraph</p>\n</blockquote>\n" +
+            "<table>\n<thead>\n<tr><th>Name</th><th>Value</th></tr>\n</thead>\n" +
+            "<tbody>\n<tr><td>one</td><td>1</td></tr>\n<tr><td>two</td><td>2</td></tr>\n</tbody>\n</table>\n" +
+            "<pre><code>fenced code\n  indented line\n</code></pre>\n";
+
+    @Param({ "50" })
+    public int megabytes;
+
+    private FlexmarkHtmlConverter converter;
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(HtmlConverterStreamingBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        converter = FlexmarkHtmlConverter.builder().build();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakUsage() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPeakUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        System.out.println("\npeak heap usage: " + peak / (1024 * 1024) + "MB");
+    }
+
+    @Benchmark
+    public long convertString() throws IOException {
+        StringBuilder html = new StringBuilder();
+        char[] buffer = new char[8192];
+        try (Reader reader = new GeneratedHtmlReader(megabytes)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                html.append(buffer, 0, read);
+            }
+        }
+
+        CountingAppendable output = new CountingAppendable();
+        converter.convert(html.toString(), output);
+        return output.count;
+    }
+
+    @Benchmark
+    public long convertReader() throws IOException {
+        CountingAppendable output = new CountingAppendable();
+        try (Reader reader = new GeneratedHtmlReader(megabytes)) {
+            converter.convert(reader, output);
+        }
+        return output.count;
+    }
+
+    /**
+     * Reader of generated HTML document, sections are generated as they are read
+     */
+    static class GeneratedHtmlReader extends Reader {
+        private final long sections;
+        private long section;
+        private String text;
+        private int pos;
+
+        GeneratedHtmlReader(int megabytes) {
+            sections = megabytes * 1024L * 1024L / SECTION.length();
+            text = "<!DOCTYPE html>\n<html>\n<head>\n<title>Generated</title>\n</head>\n<body>\n";
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (pos == text.length()) {
+                if (section < sections) {
+                    section++;
+                    text = SECTION;
+                } else if (section == sections) {
+                    section++;
+                    text = "</body>\n</html>\n";
+                } else {
+                    return -1;
+                }
+                pos = 0;
+            }
+
+            int count = Math.min(len, text.length() - pos);
+            text.getChars(pos, pos + count, cbuf, off);
+            pos += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    static class CountingAppendable implements Appendable {
+        long count;
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            count += csq.length();
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            count += end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            count++;
+            return this;
+        }
+    }
+}
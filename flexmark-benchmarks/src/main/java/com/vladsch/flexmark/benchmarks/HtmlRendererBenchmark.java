@@ -0,0 +1,29 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.util.ast.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * {@link HtmlRenderer#render} of each parsed corpus
+ */
+public class HtmlRendererBenchmark extends CorpusBenchmarkBase {
+    private HtmlRenderer renderer;
+    private Document document;
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(HtmlRendererBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        renderer = HtmlRenderer.builder(options).build();
+        document = parser.parse(text);
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(document);
+    }
+}
@@ -0,0 +1,19 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * {@link Parser#parse(String)} of each corpus
+ */
+public class ParserBenchmark extends CorpusBenchmarkBase {
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(ParserBenchmark.class, args);
+    }
+
+    @Benchmark
+    public Document parse() {
+        return parser.parse(text);
+    }
+}
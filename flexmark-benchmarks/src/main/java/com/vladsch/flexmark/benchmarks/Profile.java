@@ -0,0 +1,39 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.ext.tables.TablesExtension;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.profile.pegdown.Extensions;
+import com.vladsch.flexmark.profile.pegdown.PegdownOptionsAdapter;
+import com.vladsch.flexmark.util.data.DataHolder;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+
+/**
+ * Parser and renderer options used by benchmarks
+ */
+public enum Profile {
+    /**
+     * CommonMark with tables
+     */
+    COMMONMARK,
+
+    /**
+     * pegdown profile with all extensions, except anchor links which are not supported by all renderers
+     */
+    PEGDOWN;
+
+    public @NotNull DataHolder options() {
+        switch (this) {
+            case COMMONMARK:
+                return new MutableDataSet()
+                        .set(Parser.EXTENSIONS, Collections.singletonList(TablesExtension.create()))
+                        .toImmutable();
+            case PEGDOWN:
+                return PegdownOptionsAdapter.flexmarkOptions(Extensions.ALL & ~(Extensions.ANCHORLINKS | Extensions.EXTANCHORLINKS_WRAP));
+            default:
+                throw new IllegalStateException("Unhandled profile " + this);
+        }
+    }
+}
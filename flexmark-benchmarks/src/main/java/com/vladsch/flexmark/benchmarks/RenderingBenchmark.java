@@ -0,0 +1,65 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html.renderer.StatelessNodeRendererFactory;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.data.DataHolder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HtmlRenderer#render} of 10k small, comment sized documents, dominated by per render set up of node renderers and handlers
+ * <p>
+ * Renderers from {@link StatelessNodeRendererFactory} and their handler chains are created once per renderer,
+ * only per document renderers are created for every render. The pegdown profile loads extensions with stateless renderers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class RenderingBenchmark {
+    private static final int DOCUMENTS = 10_000;
+
+    private static final String COMMENT = "Thanks for the *quick* fix -- see [the docs](https://example.com/docs \"Docs\") and `code`.\n" +
+            "\n" +
+            "- one <b>item</b> with \"quotes\"\n" +
+            "- two &amp; three\\*\n";
+
+    @Param({ "COMMONMARK", "PEGDOWN" })
+    public Profile profile;
+
+    private HtmlRenderer renderer;
+    private final Document[] documents = new Document[DOCUMENTS];
+    private final StringBuilder out = new StringBuilder(256);
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(RenderingBenchmark.class, args);
+    }
+
+    @Setup
+    public void setup() {
+        DataHolder options = profile.options();
+        Parser parser = Parser.builder(options).build();
+        renderer = HtmlRenderer.builder(options).build();
+
+        for (int i = 0; i < DOCUMENTS; i++) {
+            documents[i] = parser.parse(COMMENT + i + "\n");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public int renderComments() {
+        int length = 0;
+        for (Document document : documents) {
+            out.setLength(0);
+            renderer.render(document, out);
+            length += out.length();
+        }
+        return length;
+    }
+}
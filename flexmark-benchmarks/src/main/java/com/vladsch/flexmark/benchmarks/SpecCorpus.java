@@ -0,0 +1,73 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.test.specs.TestSpecLocator;
+import com.vladsch.flexmark.test.util.spec.ResourceLocation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Markdown documents used by benchmarks, extracted from spec example sources of {@code flexmark-test-specs}
+ */
+public class SpecCorpus {
+    public static final String EXAMPLE_START = "```````````````````````````````` example";
+    public static final String EXAMPLE_BREAK = ".";
+    public static final String EXAMPLE_END = "````````````````````````````````";
+
+    /**
+     * @return full text of the CommonMark spec
+     */
+    public static @NotNull String specText() {
+        return TestSpecLocator.DEFAULT_RESOURCE_LOCATION.getResourceText();
+    }
+
+    /**
+     * @return markdown source of every CommonMark spec example, in spec order
+     */
+    public static @NotNull List<String> specExamples() {
+        return examples(TestSpecLocator.DEFAULT_RESOURCE_LOCATION);
+    }
+
+    /**
+     * Get given number of documents by repeating spec examples
+     *
+     * @param count number of documents
+     * @return list of documents
+     */
+    public static @NotNull List<String> specExamples(int count) {
+        List<String> examples = specExamples();
+        ArrayList<String> documents = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            documents.add(examples.get(i % examples.size()));
+        }
+        return documents;
+    }
+
+    public static @NotNull List<String> examples(@NotNull ResourceLocation location) {
+        ArrayList<String> examples = new ArrayList<>();
+        StringBuilder source = null;
+        boolean inSource = false;
+
+        for (String line : location.getResourceText().split("\n", -1)) {
+            if (source == null) {
+                if (line.startsWith(EXAMPLE_START)) {
+                    source = new StringBuilder();
+                    inSource = true;
+                }
+            } else if (line.equals(EXAMPLE_END)) {
+                examples.add(source.toString().replace('→', '\t'));
+                source = null;
+            } else if (inSource) {
+                if (line.equals(EXAMPLE_BREAK)) {
+                    inSource = false;
+                } else {
+                    source.append(line).append('\n');
+                }
+            }
+        }
+        return Collections.unmodifiableList(examples);
+    }
+}
@@ -0,0 +1,79 @@
+package com.vladsch.flexmark.benchmarks;
+
+import com.vladsch.flexmark.util.collection.ArrayStack;
+import com.vladsch.flexmark.util.collection.BooleanStack;
+import com.vladsch.flexmark.util.collection.IntStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Stack;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Push and pop of nested state with {@link Stack} compared to {@link ArrayStack}, {@link IntStack} and {@link BooleanStack},
+ * the stacks used by formatting appendables, mimicking their use for nested prefixes and options
+ * <p>
+ * Run with {@link Benchmarks} GC profiler to compare bytes allocated per operation, boxed values
+ * above the {@link Integer} cache are allocated on every push to a {@link Stack}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class StackBenchmark {
+    private static final int OPERATIONS = 1000;
+
+    @Param({ "4", "32" })
+    public int depth;
+
+    private final Stack<CharSequence> objectStack = new Stack<>();
+    private final Stack<Integer> integerStack = new Stack<>();
+    private final Stack<Boolean> booleanObjectStack = new Stack<>();
+
+    private final ArrayStack<CharSequence> arrayStack = new ArrayStack<>();
+    private final IntStack intStack = new IntStack();
+    private final BooleanStack booleanStack = new BooleanStack();
+
+    public static void main(String[] args) throws Exception {
+        Benchmarks.run(StackBenchmark.class, args);
+    }
+
+    @Benchmark
+    public int javaUtilStack() {
+        int result = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            for (int j = 0; j < depth; j++) {
+                objectStack.push("> ");
+                integerStack.push(i * depth + j);
+                booleanObjectStack.push((j & 1) == 0);
+            }
+
+            for (int j = 0; j < depth; j++) {
+                if (booleanObjectStack.pop()) result += integerStack.pop();
+                else integerStack.pop();
+                result += objectStack.pop().length();
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int primitiveStack() {
+        int result = 0;
+        for (int i = 0; i < OPERATIONS; i++) {
+            for (int j = 0; j < depth; j++) {
+                arrayStack.push("> ");
+                intStack.push(i * depth + j);
+                booleanStack.push((j & 1) == 0);
+            }
+
+            for (int j = 0; j < depth; j++) {
+                if (booleanStack.pop()) result += intStack.pop();
+                else intStack.pop();
+                result += arrayStack.pop().length();
+            }
+        }
+        return result;
+    }
+}
@@ -167,6 +167,151 @@ final public class HtmlRendererTest {
         assertEquals("<p>foo <a href=\"/url\">bars</a></p>\n", rendered);
     }
 
+    @Test
+    public void overrideStatelessNodeRender() {
+        int[] created = { 0 };
+        StatelessNodeRendererFactory nodeRendererFactory = options -> {
+            created[0]++;
+            return () -> {
+                HashSet<NodeRenderingHandler<?>> set = new HashSet<>();
+                set.add(new NodeRenderingHandler<>(Link.class, (node, context, html) -> {
+                    if (node.getText().equals("bar")) {
+                        context.getHtmlWriter().text("test");
+                    } else {
+                        context.delegateRender();
+                    }
+                }));
+
+                return set;
+            };
+        };
+
+        HtmlRenderer renderer = HtmlRenderer.builder().nodeRendererFactory(nodeRendererFactory).build();
+        String rendered = renderer.render(parse("foo [bar](/url)"));
+        assertEquals("<p>foo test</p>\n", rendered);
+
+        rendered = renderer.render(parse("foo [bars](/url)"));
+        assertEquals("<p>foo <a href=\"/url\">bars</a></p>\n", rendered);
+
+        // renderer is created once and shared by all render calls
+        assertEquals(1, created[0]);
+    }
+
+    @Test
+    public void flushTopLevelBlocks() {
+        String source = "# Heading\n" +
+                "\n" +
+                "paragraph *text*\n" +
+                "with lines\n" +
+                "\n" +
+                "- item 1\n" +
+                "\n" +
+                "  - item 2\n" +
+                "\n" +
+                "    ```\n" +
+                "    code\n" +
+                "\n" +
+                "    more code\n" +
+                "    ```\n" +
+                "\n" +
+                "> quote\n" +
+                "\n" +
+                "<div>\n" +
+                "html\n" +
+                "</div>\n" +
+                "\n" +
+                "    indented\n" +
+                "\n" +
+                "last [bar](/url)\n";
+
+        for (int maxTrailingBlankLines : new int[] { -1, 0, 1, 2 }) {
+            DataHolder options = new MutableDataSet().set(HtmlRenderer.MAX_TRAILING_BLANK_LINES, maxTrailingBlankLines).set(HtmlRenderer.INDENT_SIZE, 2);
+            String expected = HtmlRenderer.builder(options).build().render(parse(source));
+
+            StringBuilder out = new StringBuilder();
+            int[] flushedBeforeLast = { -1 };
+            NodeRendererFactory nodeRendererFactory = rendererOptions -> () -> {
+                HashSet<NodeRenderingHandler<?>> set = new HashSet<>();
+                set.add(new NodeRenderingHandler<>(Link.class, (node, context, html) -> {
+                    flushedBeforeLast[0] = out.length();
+                    context.delegateRender();
+                }));
+                return set;
+            };
+
+            HtmlRenderer renderer = HtmlRenderer.builder(new MutableDataSet(options).set(HtmlRenderer.FLUSH_TOP_LEVEL_BLOCKS, true)).nodeRendererFactory(nodeRendererFactory).build();
+            renderer.render(parse(source), out);
+
+            assertEquals(expected, out.toString());
+            Assert.assertTrue("output flushed before last block is rendered", flushedBeforeLast[0] > 0);
+        }
+    }
+
+    @Test
+    public void overrideStatelessAndDocumentNodeRender() {
+        int[] created = { 0, 0 };
+        NodeRendererFactory documentRendererFactory = options -> {
+            created[0]++;
+            return () -> {
+                HashSet<NodeRenderingHandler<?>> set = new HashSet<>();
+                set.add(new NodeRenderingHandler<>(Link.class, (node, context, html) -> {
+                    if (node.getText().equals("bar")) {
+                        context.getHtmlWriter().text("document");
+                    } else {
+                        context.delegateRender();
+                    }
+                }));
+
+                return set;
+            };
+        };
+
+        StatelessNodeRendererFactory statelessRendererFactory = options -> {
+            created[1]++;
+            return () -> {
+                HashSet<NodeRenderingHandler<?>> set = new HashSet<>();
+                set.add(new NodeRenderingHandler<>(Link.class, (node, context, html) -> {
+                    if (node.getText().equals("bar") || node.getText().equals("baz")) {
+                        context.getHtmlWriter().text("stateless");
+                    } else {
+                        context.delegateRender();
+                    }
+                }));
+
+                return set;
+            };
+        };
+
+        // document renderer is added last so it overrides the stateless one, which overrides core
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .nodeRendererFactory(statelessRendererFactory)
+                .nodeRendererFactory(documentRendererFactory)
+                .build();
+
+        assertEquals("<p>foo document</p>\n", renderer.render(parse("foo [bar](/url)")));
+        assertEquals("<p>foo stateless</p>\n", renderer.render(parse("foo [baz](/url)")));
+        assertEquals("<p>foo <a href=\"/url\">bars</a></p>\n", renderer.render(parse("foo [bars](/url)")));
+
+        assertEquals(3, created[0]);
+        assertEquals(1, created[1]);
+    }
+
+    @Test
+    public void coreNodeRendererUsesDocumentOptions() {
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+        String rendered = renderer.render(parse("mail <foo@example.com>"));
+        assertEquals("<p>mail <a href=\"mailto:foo@example.com\">foo@example.com</a></p>\n", rendered);
+
+        // core renderer is shared by all renders, options of each rendered document still apply
+        Parser parser = Parser.builder(new MutableDataSet().set(HtmlRenderer.OBFUSCATE_EMAIL, true)).build();
+        rendered = renderer.render(parser.parse("mail <foo@example.com>"));
+        Assert.assertFalse(rendered, rendered.contains("foo@example.com"));
+
+        rendered = renderer.render(parse("mail <foo@example.com>"));
+        assertEquals("<p>mail <a href=\"mailto:foo@example.com\">foo@example.com</a></p>\n", rendered);
+    }
+
     @Test
     public void overrideInheritNodeRenderSubContext() {
         NodeRendererFactory nodeRendererFactory = options -> () -> {
@@ -1,10 +1,21 @@
 package com.vladsch.flexmark.core.test.util.parser;
 
 import com.vladsch.flexmark.ast.*;
+import com.vladsch.flexmark.ast.util.Parsing;
 import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.InlineParser;
+import com.vladsch.flexmark.parser.InlineParserExtensionFactory;
+import com.vladsch.flexmark.parser.InlineParserFactory;
 import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.parser.ParserSession;
+import com.vladsch.flexmark.parser.TextEdit;
 import com.vladsch.flexmark.parser.block.*;
+import com.vladsch.flexmark.parser.delimiter.DelimiterProcessor;
+import com.vladsch.flexmark.parser.internal.DocumentParser;
+import com.vladsch.flexmark.parser.internal.LinkRefProcessorData;
 import com.vladsch.flexmark.test.specs.TestSpecLocator;
+import com.vladsch.flexmark.test.util.AstCollectingVisitor;
+import com.vladsch.flexmark.util.BatchResult;
 import com.vladsch.flexmark.util.SharedDataKeys;
 import com.vladsch.flexmark.util.ast.Block;
 import com.vladsch.flexmark.util.ast.Document;
@@ -25,8 +36,14 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -635,6 +652,230 @@ final public class ParserTest {
         assertEquals("2\\)abc", unEscape("2\\)abc", parser));
     }
 
+    @Test
+    public void test_sharedParsingPatterns() {
+        Parser parser1 = Parser.builder().build();
+        Parser parser2 = Parser.builder(new MutableDataSet().set(Parser.BLANK_LINES_IN_AST, true)).build();
+        Parser parser3 = Parser.builder(new MutableDataSet().set(Parser.SPACE_IN_LINK_URLS, true)).build();
+
+        Parsing parsing1 = parser1.getParsing();
+        Parsing parsing2 = parser2.getParsing();
+        Parsing parsing3 = parser3.getParsing();
+
+        assertSame(parser1.getOptions(), parsing1.options);
+        assertSame(parser2.getOptions(), parsing2.options);
+
+        // options not affecting patterns share compiled patterns
+        assertSame(parsing1.LINK_DESTINATION, parsing2.LINK_DESTINATION);
+        assertSame(parsing1.HTML_TAG, parsing2.HTML_TAG);
+        assertSame(parsing1.LINK_DESTINATION, new Parsing(parser1.getOptions()).LINK_DESTINATION);
+
+        // options affecting patterns do not
+        assertNotSame(parsing1.LINK_DESTINATION, parsing3.LINK_DESTINATION);
+        assertNotEquals(parsing1.LINK_DESTINATION.pattern(), parsing3.LINK_DESTINATION.pattern());
+
+        // parse results are not affected by sharing
+        String input = "[link](</url with space> \"title\") <a href=\"x\">html</a>";
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+        assertEquals(renderer.render(parser1.parse(input)), renderer.render(parser2.parse(input)));
+    }
+
+    @Test
+    public void test_parserSession() {
+        Parser parser = Parser.builder().build();
+        ParserSession session = parser.newSession();
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+        String spec = TestSpecLocator.DEFAULT_RESOURCE_LOCATION.getResourceText();
+        String input1 = "[ref]: /url\n\nuse [ref] and *emphasis*\n";
+        String input2 = "no [ref] defined here, but **strong**\n";
+
+        assertEquals(renderer.render(parser.parse(input1)), renderer.render(session.parse(input1)));
+        assertEquals(renderer.render(parser.parse(input2)), renderer.render(session.parse(input2)));
+        assertEquals(renderer.render(parser.parse(spec)), renderer.render(session.parse(spec)));
+        assertEquals(renderer.render(parser.parse(input1)), renderer.render(session.parse(input1)));
+    }
+
+    @Test
+    public void test_inlineParserUsesParserParsing() {
+        ArrayList<Parsing> used = new ArrayList<>();
+        InlineParserFactory inlineParserFactory = new InlineParserFactory() {
+            @Override
+            public InlineParser inlineParser(@NotNull DataHolder options, @NotNull BitSet specialCharacters, @NotNull BitSet delimiterCharacters, @NotNull Map<Character, DelimiterProcessor> delimiterProcessors, @NotNull LinkRefProcessorData linkRefProcessors, @NotNull List<InlineParserExtensionFactory> inlineParserExtensions) {
+                throw new IllegalStateException("parsing instance of the parser not used");
+            }
+
+            @Override
+            public InlineParser inlineParser(@NotNull Parsing parsing, @NotNull BitSet specialCharacters, @NotNull BitSet delimiterCharacters, @NotNull Map<Character, DelimiterProcessor> delimiterProcessors, @NotNull LinkRefProcessorData linkRefProcessors, @NotNull List<InlineParserExtensionFactory> inlineParserExtensions) {
+                used.add(parsing);
+                return DocumentParser.INLINE_PARSER_FACTORY.inlineParser(parsing, specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessors, inlineParserExtensions);
+            }
+        };
+
+        Parser parser = Parser.builder().customInlineParserFactory(inlineParserFactory).build();
+        Document document = parser.parse("text *emphasis*\n");
+
+        assertEquals(1, used.size());
+        assertSame(parser.getParsing(), used.get(0));
+        assertEquals("<p>text <em>emphasis</em></p>\n", HtmlRenderer.builder().build().render(document));
+    }
+
+    @Test
+    public void test_parallelInlineParsing() {
+        Parser parser = Parser.builder().build();
+        Parser parallelParser = Parser.builder(new MutableDataSet()
+                .set(Parser.PARALLEL_INLINE_PARSING, true)
+                .set(Parser.PARALLEL_INLINE_PARSING_THRESHOLD, 0)
+        ).build();
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+        String spec = TestSpecLocator.DEFAULT_RESOURCE_LOCATION.getResourceText();
+        String input = "[ref]: /url\n\nuse [ref] and *emphasis*\n\n- item `code`\n- **strong** <http://example.com>\n";
+
+        assertEquals(new AstCollectingVisitor().collectAndGetAstText(parser.parse(spec)), new AstCollectingVisitor().collectAndGetAstText(parallelParser.parse(spec)));
+        assertEquals(renderer.render(parser.parse(spec)), renderer.render(parallelParser.parse(spec)));
+        assertEquals(renderer.render(parser.parse(input)), renderer.render(parallelParser.parse(input)));
+        assertEquals(renderer.render(parser.parse(spec)), renderer.render(parallelParser.newSession().parse(spec)));
+    }
+
+    @Test
+    public void test_reparse() {
+        Parser parser = Parser.builder().build();
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+        String spec = TestSpecLocator.DEFAULT_RESOURCE_LOCATION.getResourceText();
+        String text = spec.substring(0, spec.indexOf('\n', 20000) + 1);
+        String[] insertions = { "*", "**", "_", "`", "\n", "\n\n", "# ", "- ", "1. ", "> ", "    ", "```\n", "---\n", "===\n", "[", "](/url)", "<div>\n", "text", "[foo]: /bar\n", };
+
+        Random random = new Random(1);
+        Document document = parser.parse(text);
+        int incremental = 0;
+
+        for (int i = 0; i < 200; i++) {
+            int start = random.nextInt(text.length() + 1);
+            String newText;
+            TextEdit edit;
+
+            if (random.nextBoolean()) {
+                String inserted = insertions[random.nextInt(insertions.length)];
+                newText = text.substring(0, start) + inserted + text.substring(start);
+                edit = TextEdit.insert(start, inserted.length());
+            } else {
+                int end = Math.min(text.length(), start + random.nextInt(20));
+                newText = text.substring(0, start) + text.substring(end);
+                edit = TextEdit.delete(start, end);
+            }
+
+            Document previous = document;
+            document = parser.reparse(document, newText, edit);
+            if (document == previous) incremental++;
+            Document expected = parser.parse(newText);
+
+            assertEquals("edit " + i + " " + edit, new AstCollectingVisitor().collectAndGetAstText(expected), new AstCollectingVisitor().collectAndGetAstText(document));
+            assertEquals("edit " + i + " " + edit, renderer.render(expected), renderer.render(document));
+            text = newText;
+        }
+
+        // structure changing edits fall back to a full parse, most edits must not
+        assertTrue("incremental re-parses " + incremental, incremental >= 150);
+    }
+
+    @Test
+    public void test_reparseReferences() {
+        Parser parser = Parser.builder().build();
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+        String text = "# Heading\n\n[foo]: /url\n\nuse [foo] and [bar]\n\n- item\n";
+        Document document = parser.parse(text);
+        Node list = document.getLastChild();
+        Reference foo = Parser.REFERENCES.get(document).get("foo");
+
+        // url of a definition does not change links of other blocks
+        String newText = text.replace("/url", "/other");
+        Document reparsed = parser.reparse(document, newText, TextEdit.diff(text, newText));
+
+        assertSame(document, reparsed);
+        assertSame(list, reparsed.getLastChild());
+        assertEquals("/other", Parser.REFERENCES.get(reparsed).get("foo").getUrl().toString());
+        assertEquals(1, Parser.REFERENCES.get(reparsed).values().size());
+        assertFalse(Parser.REFERENCES.get(reparsed).values().contains(foo));
+        assertEquals(renderer.render(parser.parse(newText)), renderer.render(reparsed));
+
+        // new label defines a link in another block
+        text = newText;
+        newText = text.replace("/other\n", "/other\n[bar]: /bar\n");
+        reparsed = parser.reparse(document, newText, TextEdit.diff(text, newText));
+
+        assertNotSame(document, reparsed);
+        assertEquals(renderer.render(parser.parse(newText)), renderer.render(reparsed));
+    }
+
+    @Test
+    public void test_textEditDiff() {
+        assertEquals(TextEdit.of(2, 4, 3), TextEdit.diff("abcdef", "abXYZef"));
+        assertEquals(TextEdit.insert(3, 2), TextEdit.diff("abc", "abcde"));
+        assertEquals(TextEdit.delete(0, 2), TextEdit.diff("abcd", "cd"));
+        assertEquals(TextEdit.insert(3, 0), TextEdit.diff("abc", "abc"));
+    }
+
+    @Test
+    public void test_parseAllRenderAll() {
+        Parser parser = Parser.builder().build();
+        HtmlRenderer renderer = HtmlRenderer.builder().build();
+
+        CharSequence failing = new CharSequence() {
+            @Override
+            public int length() {
+                throw new IllegalStateException("failing input");
+            }
+
+            @Override
+            public char charAt(int index) {
+                throw new IllegalStateException("failing input");
+            }
+
+            @NotNull
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                throw new IllegalStateException("failing input");
+            }
+        };
+
+        ArrayList<CharSequence> inputs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            inputs.add(i == 50 ? failing : "[ref]: /url" + i + "\n\nuse [ref] and *emphasis " + i + "*\n");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<BatchResult<Document>> documents = parser.parseAll(inputs.stream(), executor);
+            assertEquals(inputs.size(), documents.size());
+
+            for (int i = 0; i < inputs.size(); i++) {
+                BatchResult<Document> result = documents.get(i);
+                assertEquals(i, result.getIndex());
+
+                if (i == 50) {
+                    assertFalse(result.isSuccess());
+                    assertThat(result.getFailure(), instanceOf(IllegalStateException.class));
+                } else {
+                    assertTrue(result.isSuccess());
+                    assertEquals(inputs.get(i).toString(), result.getValue().getChars().toString());
+                }
+            }
+
+            List<BatchResult<String>> rendered = renderer.renderAll(documents.stream().filter(BatchResult::isSuccess).map(BatchResult::getValue), executor);
+            assertEquals(inputs.size() - 1, rendered.size());
+
+            for (int i = 0; i < rendered.size(); i++) {
+                int index = i < 50 ? i : i + 1;
+                assertEquals(renderer.render(parser.parse(inputs.get(index).toString())), rendered.get(i).getValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private String firstText(Node n) {
         while (!(n instanceof Text)) {
             assertThat(n, notNullValue());
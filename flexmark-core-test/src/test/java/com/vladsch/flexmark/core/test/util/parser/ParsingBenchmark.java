@@ -0,0 +1,56 @@
+package com.vladsch.flexmark.core.test.util.parser;
+
+import com.vladsch.flexmark.ast.util.Parsing;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.parser.ParserSession;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.data.DataHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Per parse cost of small, comment sized documents, dominated by parser setup when patterns are not shared
+ * <p>
+ * Run against previous version to compare with per parse compilation of {@link Parsing} patterns,
+ * {@link ParserSession} parsing shows the cost without per parse set up of block and inline parsers
+ */
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+    private static final String COMMENT = "Thanks for the *quick* fix, see [the docs](https://example.com/docs \"Docs\") and `code`.\n" +
+            "\n" +
+            "- one <b>item</b>\n" +
+            "- two &amp; three\n";
+
+    private static final Parser PARSER = Parser.builder().build();
+    private static final DataHolder OPTIONS = PARSER.getOptions();
+
+    private final ParserSession session = PARSER.newSession();
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ParsingBenchmark.class.getName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+
+    @Benchmark
+    public Document parseComment() {
+        return PARSER.parse(COMMENT);
+    }
+
+    @Benchmark
+    public Document sessionParseComment() {
+        return session.parse(COMMENT);
+    }
+
+    @Benchmark
+    public Parsing parsingOf() {
+        return Parsing.of(OPTIONS);
+    }
+}
@@ -4,6 +4,8 @@ import com.vladsch.flexmark.docx.converter.internal.CoreNodeDocxRenderer;
 import com.vladsch.flexmark.docx.converter.internal.DocxLinkResolver;
 import com.vladsch.flexmark.docx.converter.util.DocumentContentHandler;
 import com.vladsch.flexmark.docx.converter.util.DocxContextImpl;
+import com.vladsch.flexmark.docx.converter.util.ImageCache;
+import com.vladsch.flexmark.docx.converter.util.ImageLoader;
 import com.vladsch.flexmark.docx.converter.util.XmlDocxSorter;
 import com.vladsch.flexmark.docx.converter.util.XmlFormatter;
 import com.vladsch.flexmark.ext.emoji.EmojiExtension;
@@ -17,12 +19,14 @@ import com.vladsch.flexmark.util.collection.TwoWayHashMap;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.data.DataKey;
 import com.vladsch.flexmark.util.data.MutableDataHolder;
+import com.vladsch.flexmark.util.data.NullableDataKey;
 import com.vladsch.flexmark.util.data.ScopedDataSet;
 import com.vladsch.flexmark.util.dependency.FlatDependencyHandler;
 import com.vladsch.flexmark.util.html.Attributes;
 import com.vladsch.flexmark.util.html.Escaping;
 import org.docx4j.Docx4J;
 import org.docx4j.XmlUtils;
+import org.docx4j.convert.out.common.preprocess.PartialDeepCopy;
 import org.docx4j.openpackaging.exceptions.Docx4JException;
 import org.docx4j.openpackaging.exceptions.InvalidFormatException;
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
@@ -36,8 +40,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 
 /**
  * Renders a tree of nodes to docx4j API.
@@ -47,6 +55,23 @@ public class DocxRenderer implements IRender {
     public static final DataKey<String> STYLES_XML = new DataKey<>("STYLES_XML", getResourceString("/styles.xml"));
     public static final DataKey<String> NUMBERING_XML = new DataKey<>("NUMBERING_XML", getResourceString("/numbering.xml"));
 
+    private static final int MAX_CACHED_TEMPLATES = 16;
+    private static final int MAX_POOLED_TEMPLATES = 8;
+
+    // NOTE: templates as loaded from flat xml with default styles and numbering added, keyed on resource path,
+    //   styles and numbering xml, evicting least recently used ones. Each use gets a deep copy of the parts,
+    //   which saves parsing the flat xml and unmarshalling default styles and numbering.
+    //   Saving and loading a docx zip copy is not used because it rewrites mc:Ignorable of parts.
+    //   Copying reads binary part buffers of the template, which is not thread safe, so each key has a pool of
+    //   idle templates, one is taken for the copy and returned after. Concurrent copies load another template,
+    //   up to MAX_POOLED_TEMPLATES are kept for each key.
+    private static final LinkedHashMap<List<String>, ConcurrentLinkedQueue<WordprocessingMLPackage>> TEMPLATE_CACHE = new LinkedHashMap<List<String>, ConcurrentLinkedQueue<WordprocessingMLPackage>>(MAX_CACHED_TEMPLATES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<String>, ConcurrentLinkedQueue<WordprocessingMLPackage>> eldest) {
+            return size() > MAX_CACHED_TEMPLATES;
+        }
+    };
+
     public static final DataKey<Boolean> RENDER_BODY_ONLY = new DataKey<>("RENDER_BODY_ONLY", false);
     public static final DataKey<Integer> MAX_IMAGE_WIDTH = new DataKey<>("MAX_IMAGE_WIDTH", 0);
 
@@ -77,6 +102,10 @@ public class DocxRenderer implements IRender {
     public static final DataKey<Boolean> TOC_GENERATE = new DataKey<>("TOC_GENERATE", false);
     public static final DataKey<String> TOC_INSTRUCTION = new DataKey<>("TOC_INSTRUCTION", "TOC \\o \"1-3\" \\h \\z \\u ");
     public static final DataKey<Boolean> LOG_IMAGE_PROCESSING = new DataKey<>("LOG_IMAGE_PROCESSING", false);
+    public static final NullableDataKey<ImageLoader> IMAGE_LOADER = new NullableDataKey<>("IMAGE_LOADER"); // null to load file:, http: and https: urls, see ImageLoader.urlLoader()
+    public static final DataKey<ImageCache> IMAGE_CACHE = new DataKey<>("IMAGE_CACHE", ImageCache.DEFAULT); // cache of loaded images shared by renderers using the same cache, file: images are reloaded when changed, other urls stay cached until ImageCache.clear(), new ImageCache(0) to disable
+    public static final DataKey<Boolean> PRELOAD_IMAGES = new DataKey<>("PRELOAD_IMAGES", true); // load all images of the document concurrently before rendering
+    public static final NullableDataKey<Executor> IMAGE_LOAD_EXECUTOR = new NullableDataKey<>("IMAGE_LOAD_EXECUTOR"); // null to use ImageCache.getDefaultExecutor()
     public static final DataKey<Boolean> NO_CHARACTER_STYLES = new DataKey<>("NO_CHARACTER_STYLES", false);
     public static final DataKey<String> CODE_HIGHLIGHT_SHADING = new DataKey<>("CODE_HIGHLIGHT_SHADING", "");
     public static final DataKey<Boolean> ERRORS_TO_STDERR = new DataKey<>("ERRORS_TO_STDERR", false);
@@ -194,17 +223,61 @@ public class DocxRenderer implements IRender {
         return new Builder(options);
     }
 
+    /**
+     * Get a copy of the template given by {@link #DEFAULT_TEMPLATE_RESOURCE} with styles and numbering
+     * of {@link #STYLES_XML} and {@link #NUMBERING_XML} added if the template does not have them
+     * <p>
+     * NOTE: the template is loaded once and cached, each call returns a deep copy of the cached one
+     *
+     * @param options options for the template
+     * @return word processing package for the template or null if the template could not be loaded
+     */
     public static WordprocessingMLPackage getDefaultTemplate(DataHolder options) {
-        return getDefaultTemplate(DEFAULT_TEMPLATE_RESOURCE.get(options));
+        return getCachedTemplate(DEFAULT_TEMPLATE_RESOURCE.get(options), options);
     }
 
     public static WordprocessingMLPackage getDefaultTemplate() {
         return getDefaultTemplate((DataHolder) null);
     }
 
+    /**
+     * Get a copy of the template resource as loaded, the template is cached after first use
+     *
+     * @param emptyXMLResourcePath template resource path
+     * @return word processing package for the template or null if the template could not be loaded
+     */
     public static WordprocessingMLPackage getDefaultTemplate(String emptyXMLResourcePath) {
-        InputStream inputStream = getResourceInputStream(emptyXMLResourcePath);
-        return getDefaultTemplate(inputStream);
+        return getCachedTemplate(emptyXMLResourcePath, null);
+    }
+
+    private static WordprocessingMLPackage getCachedTemplate(String resourcePath, DataHolder options) {
+        List<String> key = options == null ? Arrays.asList(resourcePath, null, null)
+                : Arrays.asList(resourcePath, STYLES_XML.get(options), NUMBERING_XML.get(options));
+
+        ConcurrentLinkedQueue<WordprocessingMLPackage> templates;
+        synchronized (TEMPLATE_CACHE) {
+            templates = TEMPLATE_CACHE.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+        }
+
+        WordprocessingMLPackage master = templates.poll();
+        if (master == null) {
+            master = getDefaultTemplate(getResourceInputStream(resourcePath));
+            if (master == null) return null;
+
+            if (options != null) {
+                setDefaultStyleAndNumbering(master, options);
+            }
+        }
+
+        try {
+            return (WordprocessingMLPackage) PartialDeepCopy.process(master, null);
+        } catch (Docx4JException e) {
+            throw new IllegalStateException("Could not copy template " + resourcePath, e);
+        } finally {
+            if (templates.size() < MAX_POOLED_TEMPLATES) {
+                templates.offer(master);
+            }
+        }
     }
 
     public static WordprocessingMLPackage getDefaultTemplate(InputStream inputStream) {
@@ -285,6 +358,73 @@ public class DocxRenderer implements IRender {
         }
     }
 
+    /**
+     * Render the tree of nodes to a new package created from the {@link #DEFAULT_TEMPLATE_RESOURCE} template
+     *
+     * @param document the root node
+     * @return word processing package with rendered document
+     */
+    @NotNull
+    public WordprocessingMLPackage renderPackage(@NotNull Node document) {
+        WordprocessingMLPackage mlPackage = getDefaultTemplate(getOptions());
+        if (mlPackage == null) {
+            throw new IllegalStateException("Could not load template " + DEFAULT_TEMPLATE_RESOURCE.get(getOptions()));
+        }
+
+        render(document, mlPackage);
+        return mlPackage;
+    }
+
+    /**
+     * Render the tree of nodes to a .docx zip written directly to the output stream
+     * <p>
+     * Parts are written as they are saved, without the flat xml string and sorting of parts done by {@link #render(Node)}
+     * <p>
+     * NOTE: the output stream is closed when the zip is finished
+     *
+     * @param document the root node
+     * @param output   output stream for the zip
+     * @throws Docx4JException if the package could not be saved
+     */
+    public void renderDocx(@NotNull Node document, @NotNull OutputStream output) throws Docx4JException {
+        renderPackage(document).save(output, Docx4J.FLAG_SAVE_ZIP_FILE);
+    }
+
+    /**
+     * Render the tree of nodes to a .docx zip written directly to the channel
+     * <p>
+     * NOTE: the channel is closed when the zip is finished
+     *
+     * @param document the root node
+     * @param output   channel for the zip
+     * @throws Docx4JException if the package could not be saved
+     */
+    public void renderDocx(@NotNull Node document, @NotNull WritableByteChannel output) throws Docx4JException {
+        renderDocx(document, Channels.newOutputStream(output));
+    }
+
+    /**
+     * Render the tree of nodes to flat xml written directly to the output stream
+     * <p>
+     * Without sorting of parts the output is not held in memory, with sorting the output is the same as that of {@link #render(Node)}
+     *
+     * @param document  the root node
+     * @param output    output stream for the flat xml, UTF-8 encoded
+     * @param sortParts true to sort document parts and format the xml
+     * @throws Docx4JException if the package could not be saved
+     */
+    public void renderFlatXml(@NotNull Node document, @NotNull OutputStream output, boolean sortParts) throws Docx4JException {
+        if (sortParts) {
+            try {
+                output.write(render(document).getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new Docx4JException("Could not write flat xml", e);
+            }
+        } else {
+            renderPackage(document).save(output, Docx4J.FLAG_SAVE_FLAT_XML);
+        }
+    }
+
     /**
      * Render the tree of nodes to DocX.
      *
@@ -293,9 +433,7 @@ public class DocxRenderer implements IRender {
      */
     @NotNull
     public String render(@NotNull Node document) {
-        String resourcePath = DEFAULT_TEMPLATE_RESOURCE.get(getOptions());
-        WordprocessingMLPackage mlPackage = getDefaultTemplate(resourcePath);
-        render(document, mlPackage);
+        WordprocessingMLPackage mlPackage = renderPackage(document);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         try {
             mlPackage.save(outputStream, Docx4J.FLAG_SAVE_FLAT_XML);
@@ -1,5 +1,7 @@
 package com.vladsch.flexmark.docx.converter;
 
+import com.vladsch.flexmark.docx.converter.util.ImageCache;
+import com.vladsch.flexmark.docx.converter.util.ImageLoader;
 import com.vladsch.flexmark.util.Utils;
 import com.vladsch.flexmark.util.data.DataHolder;
 import org.docx4j.openpackaging.exceptions.Docx4JException;
@@ -10,6 +12,7 @@ import org.docx4j.wml.Styles;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 public class DocxRendererOptions {
     static private final HashMap<String, String> standardStyleNames = new HashMap<>();
@@ -58,6 +61,10 @@ public class DocxRendererOptions {
     public final boolean suppressInlineHtmlComments;
     public final boolean tocGenerate;
     public final boolean logImageProcessing;
+    public final ImageLoader imageLoader;
+    public final ImageCache imageCache;
+    public final boolean preloadImages;
+    public final Executor imageLoadExecutor;
     public final boolean noCharacterStyles;
     public final boolean prefixWwwLinks;
     public final int maxImageWidth;
@@ -143,6 +150,11 @@ public class DocxRendererOptions {
         tocInstruction = DocxRenderer.TOC_INSTRUCTION.get(options);
         tocGenerate = DocxRenderer.TOC_GENERATE.get(options);
         logImageProcessing = DocxRenderer.LOG_IMAGE_PROCESSING.get(options);
+        ImageLoader loader = DocxRenderer.IMAGE_LOADER.get(options);
+        imageLoader = loader != null ? loader : ImageLoader.urlLoader(logImageProcessing);
+        imageCache = DocxRenderer.IMAGE_CACHE.get(options);
+        preloadImages = DocxRenderer.PRELOAD_IMAGES.get(options);
+        imageLoadExecutor = DocxRenderer.IMAGE_LOAD_EXECUTOR.get(options);
         noCharacterStyles = DocxRenderer.NO_CHARACTER_STYLES.get(options);
         formControls = DocxRenderer.FORM_CONTROLS.get(options).trim();
         runningTests = Utils.RUNNING_TESTS.get(options);
@@ -221,6 +233,10 @@ public class DocxRendererOptions {
         tocInstruction = other.tocInstruction;
         tocGenerate = other.tocGenerate;
         logImageProcessing = other.logImageProcessing;
+        imageLoader = other.imageLoader;
+        imageCache = other.imageCache;
+        preloadImages = other.preloadImages;
+        imageLoadExecutor = other.imageLoadExecutor;
         noCharacterStyles = other.noCharacterStyles;
         codeHighlightShading = other.codeHighlightShading;
         localHyperlinkSuffix = other.localHyperlinkSuffix;
@@ -33,7 +33,6 @@ import com.vladsch.flexmark.ext.toc.TocBlockBase;
 import com.vladsch.flexmark.html.renderer.*;
 import com.vladsch.flexmark.parser.ListOptions;
 import com.vladsch.flexmark.parser.Parser;
-import com.vladsch.flexmark.util.ImageUtils;
 import com.vladsch.flexmark.util.Pair;
 import com.vladsch.flexmark.util.ast.Document;
 import com.vladsch.flexmark.util.ast.*;
@@ -66,14 +65,15 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.xml.bind.JAXBElement;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.math.BigInteger;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static com.vladsch.flexmark.html.renderer.LinkStatus.UNKNOWN;
 import static com.vladsch.flexmark.util.html.Attribute.CLASS_ATTR;
@@ -118,6 +118,7 @@ public class CoreNodeDocxRenderer implements PhasedNodeDocxRenderer {
     Runnable ordinalRunnable;
     private final HtmlIdGenerator headerIdGenerator; // used for enumerated text reference
     private HashMap<String, Integer> formControlCounts = new HashMap<>();
+    private final HashMap<String, CompletableFuture<ImageCache.CachedImage>> preloadedImages = new HashMap<>();
 
     private void ensureNumberedListLength(int level) {
         if (numberedLists.length < level) {
@@ -174,6 +175,10 @@ public class CoreNodeDocxRenderer implements PhasedNodeDocxRenderer {
                 // get resolved styles
                 options = docx.getDocxRendererOptions();
                 headerIdGenerator.generateIds(document);
+
+                if (options.preloadImages) {
+                    preloadImages(docx, document);
+                }
                 break;
 
             case DOCUMENT_TOP:
@@ -1530,9 +1535,14 @@ public class CoreNodeDocxRenderer implements PhasedNodeDocxRenderer {
     }
 
     public R newImage(DocxRendererContext docx, BufferedImage image, String filenameHint, Attributes attributes, int id1, int id2, double scale) {
+        ImageCache.CachedImage cachedImage = ImageCache.CachedImage.of(image);
+        return cachedImage == null ? null : newImage(docx, cachedImage, filenameHint, attributes, id1, id2, scale);
+    }
+
+    public R newImage(DocxRendererContext docx, ImageCache.CachedImage image, String filenameHint, Attributes attributes, int id1, int id2, double scale) {
         try {
             BinaryPartAbstractImage imagePart = null;
-            byte[] imageBytes = ImageUtils.getImageBytes(image);
+            byte[] imageBytes = image.getBytes();
             imagePart = BinaryPartAbstractImage.createImagePart(docx.getPackage(), docx.getContainerPart(), imageBytes);
             Inline inline = null;
             Anchor anchor = null;
@@ -1624,17 +1634,22 @@ public class CoreNodeDocxRenderer implements PhasedNodeDocxRenderer {
         return null;
     }
 
-    private void render(Image node, DocxRendererContext docx) {
-        String altText = new TextCollectingVisitor().collectAndGetText(node);
-        ResolvedLink resolvedLink = docx.resolveLink(LinkType.IMAGE, node.getUrl().unescape(), null, null);
+    private static String getImageUrl(Image node, ResolvedLink resolvedLink) {
         String url = resolvedLink.getUrl();
-        Attributes attributes = resolvedLink.getNonNullAttributes();
 
         if (!node.getUrlContent().isEmpty()) {
             // reverse URL encoding of =, &
             String content = Escaping.percentEncodeUrl(node.getUrlContent()).replace("+", "%2B").replace("%3D", "=").replace("%26", "&amp;");
             url += content;
         }
+        return url;
+    }
+
+    private void render(Image node, DocxRendererContext docx) {
+        String altText = new TextCollectingVisitor().collectAndGetText(node);
+        ResolvedLink resolvedLink = docx.resolveLink(LinkType.IMAGE, node.getUrl().unescape(), null, null);
+        String url = getImageUrl(node, resolvedLink);
+        Attributes attributes = resolvedLink.getNonNullAttributes();
 
         if (!altText.isEmpty()) {
             attributes.replaceValue("alt", altText);
@@ -1783,37 +1798,71 @@ public class CoreNodeDocxRenderer implements PhasedNodeDocxRenderer {
         }
     }
 
-    private R renderImage(DocxRendererContext docx, String url, Attributes attributes, double scale) {
-        BufferedImage image = null;
-        int id1 = imageId++;
-        int id2 = imageId++;
-        String filenameHint = String.format(Locale.US, "Image%d", id1);
-        int cx;
+    /**
+     * Start loading of all images of the document, images are loaded concurrently and taken from
+     * the image cache by {@link #renderImage(DocxRendererContext, String, Attributes, double)}
+     */
+    private void preloadImages(DocxRendererContext docx, Document document) {
+        for (Node node : document.getDescendants()) {
+            String url = null;
+
+            if (node instanceof Image) {
+                Image image = (Image) node;
+                url = getImageUrl(image, docx.resolveLink(LinkType.IMAGE, image.getUrl().unescape(), null, null));
+            } else if (node instanceof ImageRef) {
+                ImageRef imageRef = (ImageRef) node;
+                Reference reference = imageRef.isDefined() || recheckUndefinedReferences ? imageRef.getReferenceNode(referenceRepository) : null;
+
+                if (reference != null) {
+                    url = docx.resolveLink(LinkType.IMAGE, reference.getUrl().unescape(), null, null).getUrl();
+                } else if (!imageRef.isDefined()) {
+                    ResolvedLink resolvedLink = docx.resolveLink(LinkType.IMAGE_REF, referenceRepository.normalizeKey(imageRef.getReference()), null, null);
+                    if (resolvedLink.getStatus() != UNKNOWN) url = resolvedLink.getUrl();
+                }
+            }
+
+            if (url != null) {
+                preloadedImages.computeIfAbsent(getLoadableUrl(url), loadableUrl -> options.imageCache.loadAsync(loadableUrl, options.imageLoader, options.imageLoadExecutor));
+            }
+        }
+    }
 
+    private String getLoadableUrl(String url) {
         if (url.startsWith(DocxRenderer.EMOJI_RESOURCE_PREFIX)) {
             // we take it from resources
-            url = this.getClass().getResource("/emoji/" + url.substring(DocxRenderer.EMOJI_RESOURCE_PREFIX.length())).toString();
+            URL resource = this.getClass().getResource("/emoji/" + url.substring(DocxRenderer.EMOJI_RESOURCE_PREFIX.length()));
+            if (resource != null) return resource.toString();
         }
+        return url;
+    }
 
-        if (url.startsWith("http:") || url.startsWith("https:") || url.startsWith("file:")) {
-            // hyperlinked image  or file
-            if (url.startsWith("file:")) {
-                // try to load from file, from URL fails on some images while file load succeeds
-                try {
-                    File imageFile = new File(new URI(url));
-                    image = ImageUtils.loadImageFromFile(imageFile);
-                } catch (URISyntaxException e) {
+    private ImageCache.CachedImage loadImage(String url) {
+        CompletableFuture<ImageCache.CachedImage> preloaded = preloadedImages.get(url);
+        if (preloaded != null) {
+            try {
+                return preloaded.join();
+            } catch (CompletionException | CancellationException e) {
+                if (options.logImageProcessing) {
                     e.printStackTrace();
                 }
-            } else {
-                image = ImageUtils.loadImageFromURL(url, options.logImageProcessing);
+                return null;
             }
+        }
 
-            if (image == null && options.logImageProcessing) {
-                System.out.println("loadImageFromURL(" + url + ") returned null");
-            }
-        } else if (options.logImageProcessing) {
-            System.out.println("renderImage of \"" + url + "\") skipped (not file:, http: or https:)");
+        return options.imageCache.load(url, options.imageLoader);
+    }
+
+    private R renderImage(DocxRendererContext docx, String url, Attributes attributes, double scale) {
+        int id1 = imageId++;
+        int id2 = imageId++;
+        String filenameHint = String.format(Locale.US, "Image%d", id1);
+        int cx;
+
+        url = getLoadableUrl(url);
+        ImageCache.CachedImage image = loadImage(url);
+
+        if (image == null && options.logImageProcessing) {
+            System.out.println("loadImage(" + url + ") returned null");
         }
 
         if (image != null) {
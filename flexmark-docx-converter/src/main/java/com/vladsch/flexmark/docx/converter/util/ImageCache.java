@@ -0,0 +1,238 @@
+package com.vladsch.flexmark.docx.converter.util;
+
+import com.vladsch.flexmark.util.ImageUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Least recently used cache of loaded images, bounded by total size of encoded image bytes
+ * <p>
+ * The cache is keyed on image url and shared by renderers using the same cache, see {@link com.vladsch.flexmark.docx.converter.DocxRenderer#IMAGE_CACHE}.
+ * Failed loads are not cached.
+ * <p>
+ * Images of file: urls are validated on lookup against the file's last modified time and length, a changed file is loaded again.
+ * Images of other urls, including http: and https:, are not validated and stay cached until evicted or {@link #clear()} is called.
+ * Use a cache with 0 max bytes to disable caching.
+ */
+public class ImageCache {
+    public static final int DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * Process wide cache, the default for {@link com.vladsch.flexmark.docx.converter.DocxRenderer#IMAGE_CACHE},
+     * call {@link #clear()} when http: or https: images may have changed
+     */
+    public static final ImageCache DEFAULT = new ImageCache(DEFAULT_MAX_BYTES);
+
+    private static ExecutorService defaultExecutor;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * @param maxBytes maximum total size of cached image bytes, 0 to disable caching
+     */
+    public ImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized @Nullable CachedImage get(@NotNull String url) {
+        Entry entry = images.get(url);
+        if (entry == null) return null;
+
+        if (!entry.fileStamp.equals(FileStamp.of(url))) {
+            // file changed since it was loaded
+            images.remove(url);
+            totalBytes -= entry.image.getBytes().length;
+            return null;
+        }
+        return entry.image;
+    }
+
+    public void put(@NotNull String url, @NotNull CachedImage image) {
+        put(url, image, FileStamp.of(url));
+    }
+
+    private synchronized void put(@NotNull String url, @NotNull CachedImage image, @NotNull FileStamp fileStamp) {
+        int length = image.getBytes().length;
+        if (maxBytes <= 0 || length > maxBytes) return;
+
+        Entry previous = images.put(url, new Entry(image, fileStamp));
+        if (previous != null) totalBytes -= previous.image.getBytes().length;
+        totalBytes += length;
+
+        Iterator<Entry> iterator = images.values().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            totalBytes -= iterator.next().image.getBytes().length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Get cached image or load it with the given loader and add it to the cache
+     *
+     * @param url    image url
+     * @param loader image loader
+     * @return image or null if it could not be loaded
+     */
+    public @Nullable CachedImage load(@NotNull String url, @NotNull ImageLoader loader) {
+        CachedImage image = get(url);
+        if (image != null) return image;
+
+        // NOTE: concurrent loads of the same url are not merged, the images are the same so the last one stays cached
+        //  file stamp is taken before loading so a file changed during the load is not cached as current
+        FileStamp fileStamp = FileStamp.of(url);
+        BufferedImage bufferedImage = loader.loadImage(url);
+        if (bufferedImage == null) return null;
+
+        image = CachedImage.of(bufferedImage);
+        if (image != null) put(url, image, fileStamp);
+        return image;
+    }
+
+    /**
+     * Load image asynchronously, see {@link #load(String, ImageLoader)}
+     *
+     * @param url      image url
+     * @param loader   image loader
+     * @param executor executor for loading or null to use the default image loading executor
+     * @return future of image or null if it could not be loaded
+     */
+    public @NotNull CompletableFuture<CachedImage> loadAsync(@NotNull String url, @NotNull ImageLoader loader, @Nullable Executor executor) {
+        CachedImage image = get(url);
+        if (image != null) return CompletableFuture.completedFuture(image);
+
+        return CompletableFuture.supplyAsync(() -> load(url, loader), executor != null ? executor : getDefaultExecutor());
+    }
+
+    /**
+     * @return executor for loading images, with daemon threads so it does not keep the application running
+     */
+    public static synchronized @NotNull Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            defaultExecutor = Executors.newFixedThreadPool(8, runnable -> {
+                Thread thread = new Thread(runnable, "docx-image-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return defaultExecutor;
+    }
+
+    private static class Entry {
+        final @NotNull CachedImage image;
+        final @NotNull FileStamp fileStamp;
+
+        Entry(@NotNull CachedImage image, @NotNull FileStamp fileStamp) {
+            this.image = image;
+            this.fileStamp = fileStamp;
+        }
+    }
+
+    /**
+     * Last modified time and length of the file of a file: url, NONE for other urls
+     */
+    private static class FileStamp {
+        static final FileStamp NONE = new FileStamp(0, 0);
+
+        final long lastModified;
+        final long length;
+
+        FileStamp(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        static @NotNull FileStamp of(@NotNull String url) {
+            if (!url.startsWith("file:")) return NONE;
+
+            try {
+                File file = new File(new URI(url));
+                return new FileStamp(file.lastModified(), file.length());
+            } catch (URISyntaxException | IllegalArgumentException ignored) {
+                return NONE;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FileStamp)) return false;
+            FileStamp other = (FileStamp) o;
+            return lastModified == other.lastModified && length == other.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(lastModified) + Long.hashCode(length);
+        }
+    }
+
+    /**
+     * Image encoded as PNG with its dimensions in pixels
+     */
+    public static class CachedImage {
+        private final byte[] bytes;
+        private final int width;
+        private final int height;
+
+        public CachedImage(byte[] bytes, int width, int height) {
+            this.bytes = bytes;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * @param image image to encode
+         * @return encoded image or null if the image could not be encoded
+         */
+        public static @Nullable CachedImage of(@NotNull BufferedImage image) {
+            byte[] bytes = ImageUtils.getImageBytes(image);
+            return bytes == null ? null : new CachedImage(bytes, image.getWidth(), image.getHeight());
+        }
+
+        /**
+         * @return encoded image bytes, must not be modified
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.vladsch.flexmark.docx.converter.util;
+
+import com.vladsch.flexmark.util.ImageUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+/**
+ * Loader of images referenced by the document, set with {@link com.vladsch.flexmark.docx.converter.DocxRenderer#IMAGE_LOADER}
+ * <p>
+ * NOTE: loaders are called concurrently from image loading threads
+ */
+@FunctionalInterface
+public interface ImageLoader {
+    /**
+     * @param url url of the image, with emoji resource urls already converted to resource urls
+     * @return image or null if it could not be loaded
+     */
+    @Nullable BufferedImage loadImage(@NotNull String url);
+
+    /**
+     * Loader for file:, http: and https: urls, the default loader
+     *
+     * @param logImageProcessing true if errors are to print to console
+     * @return loader
+     */
+    static @NotNull ImageLoader urlLoader(boolean logImageProcessing) {
+        return url -> {
+            if (url.startsWith("file:")) {
+                // try to load from file, from URL fails on some images while file load succeeds
+                try {
+                    return ImageUtils.loadImageFromFile(new File(new URI(url)));
+                } catch (URISyntaxException | IllegalArgumentException e) {
+                    if (logImageProcessing) e.printStackTrace();
+                    return null;
+                }
+            } else if (url.startsWith("http:") || url.startsWith("https:")) {
+                return ImageUtils.loadImageFromURL(url, logImageProcessing);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Loader mapping http: and https: urls to files under a root directory, for offline rendering and testing
+     * <p>
+     * {@code https://host/path/image.png} is loaded from {@code rootDir/host/path/image.png},
+     * file: urls are loaded from their file
+     *
+     * @param rootDir root directory of host directories
+     * @return loader
+     */
+    static @NotNull ImageLoader fileSystemLoader(@NotNull File rootDir) {
+        return url -> {
+            try {
+                URI uri = new URI(url);
+                String scheme = uri.getScheme();
+
+                if ("file".equals(scheme)) {
+                    return ImageUtils.loadImageFromFile(new File(uri));
+                } else if (("http".equals(scheme) || "https".equals(scheme)) && uri.getHost() != null && uri.getPath() != null) {
+                    File hostDir = new File(rootDir, uri.getHost());
+                    File imageFile = new File(hostDir, uri.getPath());
+
+                    // do not load files outside of the host directory
+                    if (!imageFile.getCanonicalPath().startsWith(hostDir.getCanonicalPath() + File.separator)) return null;
+                    return ImageUtils.loadImageFromFile(imageFile);
+                }
+            } catch (URISyntaxException | IllegalArgumentException | java.io.IOException ignored) {
+            }
+            return null;
+        };
+    }
+}
@@ -15,6 +15,7 @@ import org.junit.runners.Suite;
         ComboDocxConverterIssuesSpecTest.class,
         ComboDocxConverterAttributeSpecTest.class,
         ComboDocxConverterFormSpecTest.class,
+        DocxRendererTest.class,
         //ComboDocxUserSpecDisabled.class, // added to test suite so it runs locally but not  on the travis
 })
 public class DocxConverterTestSuite {
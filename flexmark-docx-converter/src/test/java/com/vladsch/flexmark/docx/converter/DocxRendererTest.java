@@ -0,0 +1,223 @@
+package com.vladsch.flexmark.docx.converter;
+
+import com.vladsch.flexmark.docx.converter.util.ImageCache;
+import com.vladsch.flexmark.docx.converter.util.ImageLoader;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.openpackaging.parts.Part;
+import org.docx4j.openpackaging.parts.WordprocessingML.BinaryPartAbstractImage;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.*;
+
+public class DocxRendererTest {
+    private static final String MARKDOWN = "# Heading\n\nParagraph with **bold** text\n\n* item 1\n* item 2\n";
+
+    private final DocxRenderer renderer = DocxRenderer.builder().build();
+    private final Node document = Parser.builder().build().parse(MARKDOWN);
+
+    @Test
+    public void test_renderDocx() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        renderer.renderDocx(document, outputStream);
+        assertDocx(outputStream.toByteArray());
+    }
+
+    @Test
+    public void test_renderDocxChannel() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        renderer.renderDocx(document, Channels.newChannel(outputStream));
+        assertDocx(outputStream.toByteArray());
+    }
+
+    private static void assertDocx(byte[] docx) throws Exception {
+        HashSet<String> entries = new HashSet<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(docx))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+
+        assertTrue(entries.contains("[Content_Types].xml"));
+        assertTrue(entries.contains("word/document.xml"));
+        assertTrue(entries.contains("word/styles.xml"));
+
+        WordprocessingMLPackage mlPackage = WordprocessingMLPackage.load(new ByteArrayInputStream(docx));
+        String documentXml = mlPackage.getMainDocumentPart().getXML();
+        assertTrue(documentXml.contains("Heading"));
+        assertTrue(documentXml.contains("item 2"));
+    }
+
+    @Test
+    public void test_renderFlatXml() throws Exception {
+        ByteArrayOutputStream sortedOutput = new ByteArrayOutputStream();
+        renderer.renderFlatXml(document, sortedOutput, true);
+        assertArrayEquals(renderer.render(document).getBytes(StandardCharsets.UTF_8), sortedOutput.toByteArray());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        renderer.renderFlatXml(document, outputStream, false);
+        String flatXml = outputStream.toString("UTF-8");
+        assertTrue(flatXml.contains("pkg:package"));
+        assertTrue(flatXml.contains("Paragraph with "));
+    }
+
+    @Test
+    public void test_concurrentTemplates() throws Exception {
+        String expected = renderer.render(document);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ArrayList<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> renderer.render(document)));
+            }
+
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void writeImage(File file, int width, int height) throws Exception {
+        //noinspection ResultOfMethodCallIgnored
+        file.getParentFile().mkdirs();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "PNG", file);
+    }
+
+    private static int countImageParts(WordprocessingMLPackage mlPackage) {
+        int count = 0;
+        for (Part part : mlPackage.getParts().getParts().values()) {
+            if (part instanceof BinaryPartAbstractImage) count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void test_fileSystemImageLoader() throws Exception {
+        File root = folder.getRoot();
+        writeImage(new File(root, "example.com/images/first.png"), 20, 10);
+        writeImage(new File(root, "example.com/images/second.png"), 30, 15);
+
+        ConcurrentHashMap<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+        ImageLoader fileSystemLoader = ImageLoader.fileSystemLoader(root);
+        ImageLoader countingLoader = url -> {
+            loads.computeIfAbsent(url, key -> new AtomicInteger()).incrementAndGet();
+            return fileSystemLoader.loadImage(url);
+        };
+
+        MutableDataSet options = new MutableDataSet()
+                .set(DocxRenderer.IMAGE_LOADER, countingLoader)
+                .set(DocxRenderer.IMAGE_CACHE, new ImageCache(1024 * 1024));
+
+        DocxRenderer imageRenderer = DocxRenderer.builder(options).build();
+        Node imageDocument = Parser.builder(options).build().parse("" +
+                "![first](https://example.com/images/first.png) ![first again](https://example.com/images/first.png)\n" +
+                "\n" +
+                "![second][ref] ![missing](https://example.com/images/missing.png) ![outside](https://example.com/../outside.png)\n" +
+                "\n" +
+                "[ref]: https://example.com/images/second.png\n" +
+                "");
+
+        WordprocessingMLPackage mlPackage = imageRenderer.renderPackage(imageDocument);
+        assertEquals(3, countImageParts(mlPackage));
+        assertEquals(1, loads.get("https://example.com/images/first.png").get());
+        assertEquals(1, loads.get("https://example.com/images/second.png").get());
+        assertEquals(1, loads.get("https://example.com/images/missing.png").get());
+
+        // loaded images are taken from the cache, failed ones are loaded again
+        mlPackage = imageRenderer.renderPackage(imageDocument);
+        assertEquals(3, countImageParts(mlPackage));
+        assertEquals(1, loads.get("https://example.com/images/first.png").get());
+        assertEquals(1, loads.get("https://example.com/images/second.png").get());
+        assertEquals(2, loads.get("https://example.com/images/missing.png").get());
+    }
+
+    @Test
+    public void test_imageCacheEviction() throws Exception {
+        ImageCache.CachedImage image = new ImageCache.CachedImage(new byte[100], 10, 10);
+        ImageCache cache = new ImageCache(250);
+
+        cache.put("a", image);
+        cache.put("b", image);
+        assertEquals(200, cache.getTotalBytes());
+
+        // a is most recently used
+        assertSame(image, cache.get("a"));
+
+        cache.put("c", image);
+        assertEquals(2, cache.size());
+        assertEquals(200, cache.getTotalBytes());
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+
+        // larger than the cache is not cached
+        cache.put("d", new ImageCache.CachedImage(new byte[300], 10, 10));
+        assertNull(cache.get("d"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void test_imageCacheFileChanged() throws Exception {
+        File file = folder.newFile("changed.png");
+        writeImage(file, 20, 10);
+        String url = file.toURI().toString();
+
+        AtomicInteger loads = new AtomicInteger();
+        ImageLoader fileLoader = ImageLoader.urlLoader(false);
+        ImageLoader countingLoader = imageUrl -> {
+            loads.incrementAndGet();
+            return fileLoader.loadImage(imageUrl);
+        };
+
+        ImageCache cache = new ImageCache(1024 * 1024);
+        assertEquals(20, cache.load(url, countingLoader).getWidth());
+        assertEquals(20, cache.load(url, countingLoader).getWidth());
+        assertEquals(1, loads.get());
+
+        // changed file is loaded again
+        writeImage(file, 30, 15);
+        assertTrue(file.setLastModified(file.lastModified() + 2000));
+        assertEquals(30, cache.load(url, countingLoader).getWidth());
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalBytes());
+
+        // 0 max bytes disables caching
+        ImageCache disabled = new ImageCache(0);
+        disabled.load(url, countingLoader);
+        disabled.load(url, countingLoader);
+        assertEquals(4, loads.get());
+        assertEquals(0, disabled.size());
+    }
+}
@@ -9,7 +9,7 @@ import org.jetbrains.annotations.NotNull;
  * A node containing the abbreviated text that will be rendered as an abbr tag or a link with title attribute
  */
 public class Abbreviation extends Node implements DoNotDecorate, DoNotLinkDecorate, ReferencingNode<AbbreviationRepository, AbbreviationBlock> {
-    protected final BasedSequence abbreviation;
+    protected BasedSequence abbreviation;
 
     public Abbreviation(BasedSequence chars, BasedSequence abbreviation) {
         super(chars);
@@ -20,6 +20,12 @@ public class Abbreviation extends Node implements DoNotDecorate, DoNotLinkDecora
         return abbreviation;
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        abbreviation = rebase.rebase(abbreviation);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -4,6 +4,7 @@ import com.vladsch.flexmark.ext.abbreviation.internal.AbbreviationRepository;
 import com.vladsch.flexmark.util.ast.Block;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.ast.ReferenceNode;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -36,6 +37,15 @@ public class AbbreviationBlock extends Block implements ReferenceNode<Abbreviati
         segmentSpan(out, abbreviation, "abbreviation");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+        abbreviation = rebase.rebase(abbreviation);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -0,0 +1,209 @@
+package com.vladsch.flexmark.ext.abbreviation.internal;
+
+import com.vladsch.flexmark.util.sequence.Range;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable trie of abbreviations used to find abbreviations in text
+ * <p>
+ * Matches are the same as those of an alternation regex of all abbreviations sorted in reverse order,
+ * with {@code \b} guards on abbreviations which start or end with a letter or digit:
+ * the left most match is found and of all abbreviations matching at that position the longest one is used.
+ * <p>
+ * Children of each trie node are stored as a sorted range of the child arrays so matching does not allocate.
+ * Matchers are shared by documents which define the same set of abbreviations, see {@link #of(Collection)}
+ */
+public class AbbreviationMatcher {
+    private static final int MAX_CACHED_MATCHERS = 32;
+
+    // NOTE: access order map evicting least recently used matchers when more than MAX_CACHED_MATCHERS sets of abbreviations are used
+    private static final LinkedHashMap<List<String>, AbbreviationMatcher> SHARED_MATCHERS = new LinkedHashMap<List<String>, AbbreviationMatcher>(MAX_CACHED_MATCHERS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<String>, AbbreviationMatcher> eldest) {
+            return size() > MAX_CACHED_MATCHERS;
+        }
+    };
+
+    private final @NotNull List<String> abbreviations;
+
+    // trie node i has children childChars/childNodes[childStart[i], childStart[i + 1]) sorted by char
+    private final int[] childStart;
+    private final char[] childChars;
+    private final int[] childNodes;
+    private final int[] terminal;       // index of abbreviation ending at node or -1
+    private final boolean[] guardStart; // abbreviation needs word boundary before its start
+    private final boolean[] guardEnd;   // abbreviation needs word boundary after its end
+
+    private AbbreviationMatcher(@NotNull List<String> abbreviations) {
+        this.abbreviations = abbreviations;
+
+        int iMax = abbreviations.size();
+        guardStart = new boolean[iMax];
+        guardEnd = new boolean[iMax];
+
+        // build with tree maps, then flatten breadth first into arrays
+        BuildNode root = new BuildNode();
+        int nodeCount = 1;
+
+        for (int i = 0; i < iMax; i++) {
+            String abbr = abbreviations.get(i);
+            guardStart[i] = Character.isLetterOrDigit(abbr.charAt(0));
+            guardEnd[i] = Character.isLetterOrDigit(abbr.charAt(abbr.length() - 1));
+
+            BuildNode node = root;
+            for (int j = 0; j < abbr.length(); j++) {
+                BuildNode child = node.children.get(abbr.charAt(j));
+                if (child == null) {
+                    child = new BuildNode();
+                    node.children.put(abbr.charAt(j), child);
+                    nodeCount++;
+                }
+                node = child;
+            }
+            node.terminal = i;
+        }
+
+        childStart = new int[nodeCount + 1];
+        childChars = new char[nodeCount - 1];
+        childNodes = new int[nodeCount - 1];
+        terminal = new int[nodeCount];
+
+        ArrayList<BuildNode> queue = new ArrayList<>(nodeCount);
+        queue.add(root);
+        int children = 0;
+
+        for (int n = 0; n < queue.size(); n++) {
+            BuildNode node = queue.get(n);
+            terminal[n] = node.terminal;
+            childStart[n] = children;
+
+            for (Map.Entry<Character, BuildNode> entry : node.children.entrySet()) {
+                childChars[children] = entry.getKey();
+                childNodes[children] = queue.size();
+                queue.add(entry.getValue());
+                children++;
+            }
+        }
+        childStart[nodeCount] = children;
+    }
+
+    private static class BuildNode {
+        final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        int terminal = -1;
+    }
+
+    /**
+     * Get matcher for given abbreviations, matchers are shared for equal sets of abbreviations
+     *
+     * @param abbreviations abbreviations to match, must not contain empty strings
+     * @return matcher or null if there are no abbreviations
+     */
+    public static @Nullable AbbreviationMatcher of(@NotNull Collection<String> abbreviations) {
+        if (abbreviations.isEmpty()) return null;
+
+        ArrayList<String> key = new ArrayList<>(abbreviations);
+        Collections.sort(key);
+
+        synchronized (SHARED_MATCHERS) {
+            AbbreviationMatcher matcher = SHARED_MATCHERS.get(key);
+            if (matcher != null) return matcher;
+        }
+
+        AbbreviationMatcher matcher = new AbbreviationMatcher(Collections.unmodifiableList(key));
+
+        synchronized (SHARED_MATCHERS) {
+            AbbreviationMatcher other = SHARED_MATCHERS.putIfAbsent(key, matcher);
+            return other != null ? other : matcher;
+        }
+    }
+
+    public @NotNull List<String> getAbbreviations() {
+        return abbreviations;
+    }
+
+    /**
+     * Find next abbreviation in text
+     *
+     * @param text      text to search
+     * @param fromIndex index from which to search
+     * @return range of matched abbreviation or null if none found
+     */
+    public @Nullable Range find(@NotNull CharSequence text, int fromIndex) {
+        int length = text.length();
+
+        for (int start = fromIndex; start < length; start++) {
+            int end = matchAt(text, start);
+            if (end != -1) return Range.of(start, end);
+        }
+        return null;
+    }
+
+    /**
+     * Get end of longest abbreviation at given index
+     *
+     * @param text  text to match
+     * @param start index at which the abbreviation starts
+     * @return end of the matched abbreviation or -1 if none matched
+     */
+    public int matchAt(@NotNull CharSequence text, int start) {
+        int length = text.length();
+        int node = 0;
+        int matchEnd = -1;
+        boolean wordBefore = start > 0 && isWordBefore(text, start);
+
+        for (int i = start; i < length; i++) {
+            node = child(node, text.charAt(i));
+            if (node == -1) break;
+
+            int index = terminal[node];
+            if (index != -1 && !(guardStart[index] && wordBefore) && !(guardEnd[index] && isWordAt(text, i + 1))) {
+                matchEnd = i + 1;
+            }
+        }
+        return matchEnd;
+    }
+
+    private int child(int node, char c) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = childChars[mid];
+
+            if (midChar < c) low = mid + 1;
+            else if (midChar > c) high = mid - 1;
+            else return childNodes[mid];
+        }
+        return -1;
+    }
+
+    // NOTE: same as word tests of regex \b, non spacing marks are part of a word if they follow a letter or digit
+    private static boolean isWord(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) || codePoint == '_';
+    }
+
+    private static boolean isWordBefore(@NotNull CharSequence text, int index) {
+        int codePoint = Character.codePointBefore(text, index);
+        if (isWord(codePoint)) return true;
+
+        for (int i = index - Character.charCount(codePoint); Character.getType(codePoint) == Character.NON_SPACING_MARK; ) {
+            if (i <= 0) return false;
+            codePoint = Character.codePointBefore(text, i);
+            if (Character.isLetterOrDigit(codePoint)) return true;
+            i -= Character.charCount(codePoint);
+        }
+        return false;
+    }
+
+    private static boolean isWordAt(@NotNull CharSequence text, int index) {
+        if (index >= text.length()) return false;
+
+        // non spacing mark after the abbreviation follows its last letter or digit
+        int codePoint = Character.codePointAt(text, index);
+        return isWord(codePoint) || Character.getType(codePoint) == Character.NON_SPACING_MARK;
+    }
+}
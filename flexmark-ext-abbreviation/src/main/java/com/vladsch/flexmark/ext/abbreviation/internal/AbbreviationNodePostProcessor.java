@@ -11,56 +11,25 @@ import com.vladsch.flexmark.parser.block.NodePostProcessorFactory;
 import com.vladsch.flexmark.util.ast.*;
 import com.vladsch.flexmark.util.html.Escaping;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
+import com.vladsch.flexmark.util.sequence.Range;
 import com.vladsch.flexmark.util.sequence.ReplacedTextMapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.HashSet;
+import java.util.Set;
 
 public class AbbreviationNodePostProcessor extends NodePostProcessor {
     //public static final String SINGLE_QUOTES = "'’‘";
     //public static final String DOUBLE_QUOTES = "\"“”";
     //private static final Pattern QUOTES = Pattern.compile("(?:[" + SINGLE_QUOTES + DOUBLE_QUOTES + "])");
 
-    private Pattern abbreviations = null;
-    private HashMap<String, BasedSequence> abbreviationMap = null;
+    private final AbbreviationRepository abbrRepository;
+    private final @Nullable AbbreviationMatcher abbreviations;
 
     private AbbreviationNodePostProcessor(Document document) {
-        computeAbbreviations(document);
-    }
-
-    private void computeAbbreviations(Document document) {
-        AbbreviationRepository abbrRepository = AbbreviationExtension.ABBREVIATIONS.get(document);
-
-        if (!abbrRepository.isEmpty()) {
-            abbreviationMap = new HashMap<>();
-            StringBuilder sb = new StringBuilder();
-
-            // sort reverse alphabetical order so longer ones match first. for sdk7
-            ArrayList<String> abbreviations = new ArrayList<>(abbrRepository.keySet());
-            Collections.sort(abbreviations, Comparator.reverseOrder());
-
-            for (String abbr : abbreviations) {
-                AbbreviationBlock abbreviationBlock = abbrRepository.get(abbr);
-                // Issue #198, test for empty abbr
-                if (!abbr.isEmpty()) {
-                    BasedSequence abbreviation = abbreviationBlock.getAbbreviation();
-                    if (!abbreviation.isEmpty()) {
-                        abbreviationMap.put(abbr, abbreviation);
-
-                        if (sb.length() > 0) sb.append("|");
-
-                        if (Character.isLetterOrDigit(abbr.charAt(0))) sb.append("\\b");
-                        sb.append("\\Q").append(abbr).append("\\E");
-                        if (Character.isLetterOrDigit(abbr.charAt(abbr.length() - 1))) sb.append("\\b");
-                    }
-                }
-            }
-
-            if (sb.length() > 0) this.abbreviations = Pattern.compile(sb.toString());
-        }
+        abbrRepository = AbbreviationExtension.ABBREVIATIONS.get(document);
+        abbreviations = abbrRepository.getMatcher();
     }
 
     @Override
@@ -71,19 +40,18 @@ public class AbbreviationNodePostProcessor extends NodePostProcessor {
         ReplacedTextMapper textMapper = new ReplacedTextMapper(original);
         BasedSequence literal = Escaping.unescape(original, textMapper);
 
-        Matcher m = abbreviations.matcher(literal);
         int lastEscaped = 0;
         boolean wrapInTextBase = !(node.getParent() instanceof TextBase);
         TextBase textBase = wrapInTextBase ? null : (TextBase) node.getParent();
 
-        while (m.find()) {
-            //String found = m.group();
-            if (abbreviationMap.containsKey(m.group(0))) {
-                BasedSequence abbreviation = abbreviationMap.get(m.group(0));
+        Range m = abbreviations.find(literal, 0);
+        while (m != null) {
+            AbbreviationBlock abbreviationBlock = abbrRepository.get(literal.subSequence(m.getStart(), m.getEnd()).toString());
+            if (abbreviationBlock != null) {
+                BasedSequence abbreviation = abbreviationBlock.getAbbreviation();
 
-                BasedSequence toDecorateText = literal.subSequence(m.start(0), m.end(0));
-                int startOffset = textMapper.originalOffset(m.start(0));
-                int endOffset = textMapper.originalOffset(m.end(0));
+                int startOffset = textMapper.originalOffset(m.getStart());
+                int endOffset = textMapper.originalOffset(m.getEnd());
 
                 if (wrapInTextBase) {
                     wrapInTextBase = false;
@@ -109,6 +77,8 @@ public class AbbreviationNodePostProcessor extends NodePostProcessor {
 
                 lastEscaped = endOffset;
             }
+
+            m = abbreviations.find(literal, m.getEnd());
         }
 
         if (lastEscaped > 0) {
@@ -9,17 +9,70 @@ import com.vladsch.flexmark.util.ast.NodeRepository;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.data.DataKey;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @SuppressWarnings("WeakerAccess")
 public class AbbreviationRepository extends NodeRepository<AbbreviationBlock> {
+    private @Nullable AbbreviationMatcher matcher;
+    private boolean matcherComputed;
 
     public AbbreviationRepository(DataHolder options) {
         super(AbbreviationExtension.ABBREVIATIONS_KEEP.get(options));
     }
 
+    /**
+     * Get matcher for abbreviations in this repository which have a non-empty expansion
+     * <p>
+     * NOTE: computed on first use and recomputed after the repository is modified
+     *
+     * @return matcher or null if there are no abbreviations to match
+     */
+    public @Nullable AbbreviationMatcher getMatcher() {
+        if (!matcherComputed) {
+            ArrayList<String> abbreviations = new ArrayList<>(size());
+
+            for (Map.Entry<String, AbbreviationBlock> entry : entrySet()) {
+                // Issue #198, test for empty abbr
+                if (!entry.getKey().isEmpty() && !entry.getValue().getAbbreviation().isEmpty()) {
+                    abbreviations.add(entry.getKey());
+                }
+            }
+
+            matcher = AbbreviationMatcher.of(abbreviations);
+            matcherComputed = true;
+        }
+        return matcher;
+    }
+
+    @Override
+    public @Nullable AbbreviationBlock put(@NotNull String s, @NotNull AbbreviationBlock abbreviationBlock) {
+        matcherComputed = false;
+        return super.put(s, abbreviationBlock);
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends String, ? extends AbbreviationBlock> map) {
+        matcherComputed = false;
+        super.putAll(map);
+    }
+
+    @Override
+    public @Nullable AbbreviationBlock remove(@NotNull Object o) {
+        matcherComputed = false;
+        return super.remove(o);
+    }
+
+    @Override
+    public void clear() {
+        matcherComputed = false;
+        super.clear();
+    }
+
     @NotNull
     @Override
     public DataKey<AbbreviationRepository> getDataKey() {
@@ -0,0 +1,95 @@
+package com.vladsch.flexmark.ext.abbreviation;
+
+import com.vladsch.flexmark.ext.abbreviation.internal.AbbreviationMatcher;
+import com.vladsch.flexmark.util.sequence.Range;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class AbbreviationMatcherTest {
+    // previous implementation of abbreviation matching
+    private static Pattern alternationPattern(List<String> abbreviations) {
+        ArrayList<String> sorted = new ArrayList<>(abbreviations);
+        sorted.sort(Comparator.reverseOrder());
+        StringBuilder sb = new StringBuilder();
+
+        for (String abbr : sorted) {
+            if (sb.length() > 0) sb.append("|");
+
+            if (Character.isLetterOrDigit(abbr.charAt(0))) sb.append("\\b");
+            sb.append("\\Q").append(abbr).append("\\E");
+            if (Character.isLetterOrDigit(abbr.charAt(abbr.length() - 1))) sb.append("\\b");
+        }
+        return Pattern.compile(sb.toString());
+    }
+
+    private static List<Range> regexMatches(Pattern pattern, String text) {
+        ArrayList<Range> ranges = new ArrayList<>();
+        Matcher m = pattern.matcher(text);
+        while (m.find()) {
+            ranges.add(Range.of(m.start(), m.end()));
+        }
+        return ranges;
+    }
+
+    private static List<Range> matcherMatches(AbbreviationMatcher matcher, String text) {
+        ArrayList<Range> ranges = new ArrayList<>();
+        Range m = matcher.find(text, 0);
+        while (m != null) {
+            ranges.add(m);
+            m = matcher.find(text, m.getEnd());
+        }
+        return ranges;
+    }
+
+    private static void assertSameMatches(List<String> abbreviations, String text) {
+        AbbreviationMatcher matcher = AbbreviationMatcher.of(abbreviations);
+        assertNotNull(matcher);
+        assertEquals(text, regexMatches(alternationPattern(abbreviations), text), matcherMatches(matcher, text));
+    }
+
+    @Test
+    public void test_boundaries() {
+        List<String> abbreviations = Arrays.asList("HTML", "HTML5", "W3C", "C++", "-x-", "x", "_a", "é", "ab");
+
+        assertSameMatches(abbreviations, "HTML and HTML5 by W3C, not XHTML or HTMLs");
+        assertSameMatches(abbreviations, "C++ and C+++ or aC++ -x- -x-x- x_x x1 (x) _a a_a");
+        assertSameMatches(abbreviations, "é aé é́ áab ab́ ́ab ab_ab ab");
+        assertSameMatches(abbreviations, "");
+    }
+
+    @Test
+    public void test_random() {
+        Random random = new Random(1);
+        String chars = "ab1_ -.+é́";
+
+        for (int n = 0; n < 200; n++) {
+            HashSet<String> abbreviations = new HashSet<>();
+            int count = 1 + random.nextInt(20);
+            while (abbreviations.size() < count) {
+                StringBuilder sb = new StringBuilder();
+                int length = 1 + random.nextInt(4);
+                for (int i = 0; i < length; i++) sb.append(chars.charAt(random.nextInt(chars.length())));
+                abbreviations.add(sb.toString());
+            }
+
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(100);
+            for (int i = 0; i < length; i++) text.append(chars.charAt(random.nextInt(chars.length())));
+
+            assertSameMatches(new ArrayList<>(abbreviations), text.toString());
+        }
+    }
+
+    @Test
+    public void test_shared() {
+        AbbreviationMatcher matcher1 = AbbreviationMatcher.of(Arrays.asList("b", "a"));
+        AbbreviationMatcher matcher2 = AbbreviationMatcher.of(Arrays.asList("a", "b"));
+        assertSame(matcher1, matcher2);
+        assertNull(AbbreviationMatcher.of(Collections.emptyList()));
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.runners.Suite;
         ComboAbbreviationSpecTest.class,
         ComboAbbreviationFormatterSpecTest.class,
         MergeAbbreviationsTest.class,
+        AbbreviationMatcherTest.class,
 })
 public class ExtAbbreviationTestSuite {
 }
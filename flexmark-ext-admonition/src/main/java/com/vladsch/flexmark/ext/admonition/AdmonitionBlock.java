@@ -3,6 +3,7 @@ package com.vladsch.flexmark.ext.admonition;
 import com.vladsch.flexmark.ast.Paragraph;
 import com.vladsch.flexmark.ast.ParagraphContainer;
 import com.vladsch.flexmark.util.ast.Block;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -18,6 +19,16 @@ public class AdmonitionBlock extends Block implements ParagraphContainer {
     protected BasedSequence title = BasedSequence.NULL;
     protected BasedSequence titleClosingMarker = BasedSequence.NULL;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        info = rebase.rebase(info);
+        titleOpeningMarker = rebase.rebase(titleOpeningMarker);
+        title = rebase.rebase(title);
+        titleClosingMarker = rebase.rebase(titleClosingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
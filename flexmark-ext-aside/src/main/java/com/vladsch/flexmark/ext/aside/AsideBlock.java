@@ -3,6 +3,7 @@ package com.vladsch.flexmark.ext.aside;
 import com.vladsch.flexmark.util.ast.Block;
 import com.vladsch.flexmark.util.ast.BlockContent;
 import com.vladsch.flexmark.util.ast.KeepTrailingBlankLineContainer;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,6 +20,12 @@ public class AsideBlock extends Block implements KeepTrailingBlankLineContainer
         segmentSpanChars(out, openingMarker, "marker");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
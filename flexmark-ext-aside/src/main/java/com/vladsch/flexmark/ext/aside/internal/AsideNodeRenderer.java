@@ -4,8 +4,8 @@ import com.vladsch.flexmark.ext.aside.AsideBlock;
 import com.vladsch.flexmark.html.HtmlWriter;
 import com.vladsch.flexmark.html.renderer.NodeRenderer;
 import com.vladsch.flexmark.html.renderer.NodeRendererContext;
-import com.vladsch.flexmark.html.renderer.NodeRendererFactory;
 import com.vladsch.flexmark.html.renderer.NodeRenderingHandler;
+import com.vladsch.flexmark.html.renderer.StatelessNodeRendererFactory;
 import com.vladsch.flexmark.util.data.DataHolder;
 import org.jetbrains.annotations.NotNull;
 
@@ -13,10 +13,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 public class AsideNodeRenderer implements NodeRenderer {
-    private final AsideOptions options;
-
     public AsideNodeRenderer(DataHolder options) {
-        this.options = new AsideOptions(options);
+
     }
 
     @Override
@@ -30,7 +28,7 @@ public class AsideNodeRenderer implements NodeRenderer {
         html.withAttr().withCondIndent().tagLine("aside", () -> context.renderChildren(node));
     }
 
-    public static class Factory implements NodeRendererFactory {
+    public static class Factory implements StatelessNodeRendererFactory {
         @NotNull
         @Override
         public NodeRenderer apply(@NotNull DataHolder options) {
@@ -2,6 +2,7 @@ package com.vladsch.flexmark.ext.attributes;
 
 import com.vladsch.flexmark.util.ast.DoNotDecorate;
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.html.Attribute;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
@@ -16,6 +17,16 @@ public class AttributeNode extends Node implements DoNotDecorate {
     protected BasedSequence value = BasedSequence.NULL;
     protected BasedSequence closingMarker = BasedSequence.NULL;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        name = rebase.rebase(name);
+        attributeSeparator = rebase.rebase(attributeSeparator);
+        openingMarker = rebase.rebase(openingMarker);
+        value = rebase.rebase(value);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -4,6 +4,7 @@ import com.vladsch.flexmark.util.ast.DelimitedNode;
 import com.vladsch.flexmark.util.ast.DoNotDecorate;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.ast.NonRenderingInline;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -15,6 +16,14 @@ public class AttributesNode extends Node implements DelimitedNode, DoNotDecorate
     protected BasedSequence text = BasedSequence.NULL;
     protected BasedSequence closingMarker = BasedSequence.NULL;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -3,6 +3,7 @@ package com.vladsch.flexmark.ext.emoji;
 import com.vladsch.flexmark.util.ast.DelimitedNode;
 import com.vladsch.flexmark.util.ast.DoNotCollectText;
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -14,6 +15,14 @@ public class Emoji extends Node implements DelimitedNode, DoNotCollectText {
     protected BasedSequence text = BasedSequence.NULL;
     protected BasedSequence closingMarker = BasedSequence.NULL;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -10,30 +10,73 @@ import com.vladsch.flexmark.ext.emoji.internal.EmojiReference.Emoji;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 
 public class EmojiShortcuts {
     public static final String gitHubUrlPrefix = EmojiReference.githubUrl;
 
-    private static final HashMap<String, Emoji> emojiShortcuts = new HashMap<>();
-    private static final HashMap<String, Emoji> emojiURIs = new HashMap<>();
-    private static final HashMap<Emoji, String> emojiUnicodeChars = new HashMap<>();
+    /**
+     * Tables are built from {@link EmojiReference#getEmojiList()} when the holder class is initialized
+     * and not modified afterwards, lookups do not need synchronization
+     */
+    private static class EmojiTables {
+        static final HashMap<String, Emoji> emojiShortcuts = new HashMap<>();
+        static final HashMap<String, Emoji> emojiURIs = new HashMap<>();
+        static final IdentityHashMap<Emoji, String> emojiUnicodeChars = new IdentityHashMap<>();
 
-    synchronized public static String getUnicodeChars(Emoji emoji) {
+        static {
+            for (Emoji emoji : EmojiReference.getEmojiList()) {
+                if (emoji.shortcut != null) {
+                    emojiShortcuts.put(emoji.shortcut, emoji);
+                }
+
+                if (emoji.emojiCheatSheetFile != null) {
+                    emojiURIs.put(extractFileName(emoji.emojiCheatSheetFile), emoji);
+                }
+                if (emoji.githubFile != null) {
+                    emojiURIs.put(extractFileName(emoji.githubFile), emoji);
+                }
+                if (emoji.unicodeSampleFile != null) {
+                    emojiURIs.put(extractFileName(emoji.unicodeSampleFile), emoji);
+                }
+
+                if (emoji.unicodeChars != null) {
+                    emojiUnicodeChars.put(emoji, parseUnicodeChars(emoji.unicodeChars));
+                }
+            }
+        }
+    }
+
+    public static String getUnicodeChars(Emoji emoji) {
         if (emoji == null || emoji.unicodeChars == null) {
             return null;
         }
 
-        String value = emojiUnicodeChars.get(emoji);
-        if (value == null) {
-            String[] unicodePoints = emoji.unicodeChars.replace("U+", "").split(" ");
-            StringBuilder sb = new StringBuilder(16);
-            for (String unicodePoint : unicodePoints) {
-                sb.appendCodePoint(Integer.parseInt(unicodePoint, 16));
-            }
-            value = sb.toString();
-            emojiUnicodeChars.put(emoji, value);
+        String value = EmojiTables.emojiUnicodeChars.get(emoji);
+        // NOTE: emoji not from reference list are converted on every call
+        return value != null ? value : parseUnicodeChars(emoji.unicodeChars);
+    }
+
+    /**
+     * Convert space separated list of code points, each with optional U+ prefix, to a string
+     *
+     * @param unicodeChars code points
+     * @return string of code point characters
+     */
+    static String parseUnicodeChars(String unicodeChars) {
+        StringBuilder sb = new StringBuilder(16);
+        int iMax = unicodeChars.length();
+        int i = 0;
+
+        while (i < iMax) {
+            int end = unicodeChars.indexOf(' ', i);
+            if (end == -1) end = iMax;
+
+            int start = unicodeChars.startsWith("U+", i) ? i + 2 : i;
+            sb.appendCodePoint(Integer.parseInt(unicodeChars.substring(start, end), 16));
+            i = end + 1;
         }
-        return value;
+        return sb.toString();
     }
 
     public static String extractFileName(String emojiURI) {
@@ -46,50 +89,18 @@ public class EmojiShortcuts {
     }
 
     public static HashMap<String, Emoji> getEmojiShortcuts() {
-        updateEmojiShortcuts();
-        return emojiShortcuts;
+        return EmojiTables.emojiShortcuts;
     }
 
     public static HashMap<String, Emoji> getEmojiURIs() {
-        updateEmojiShortcuts();
-        return emojiURIs;
+        return EmojiTables.emojiURIs;
     }
 
     public static Emoji getEmojiFromShortcut(String shortcut) {
-        updateEmojiShortcuts();
-        return emojiShortcuts.get(shortcut);
+        return EmojiTables.emojiShortcuts.get(shortcut);
     }
 
     public static Emoji getEmojiFromURI(String imageURI) {
-        updateEmojiURIs();
-        return emojiURIs.get(extractFileName(imageURI));
-    }
-
-    synchronized private static void updateEmojiShortcuts() {
-        if (emojiShortcuts.isEmpty()) {
-            for (Emoji emoji : EmojiReference.getEmojiList()) {
-                if (emoji.shortcut != null) {
-                    emojiShortcuts.put(emoji.shortcut, emoji);
-                }
-            }
-        }
-    }
-
-    synchronized private static void updateEmojiURIs() {
-        if (emojiURIs.isEmpty()) {
-            // create it
-            for (Emoji emoji : EmojiReference.getEmojiList()) {
-                if (emoji.emojiCheatSheetFile != null) {
-                    emojiURIs.put(extractFileName(emoji.emojiCheatSheetFile), emoji);
-                }
-                if (emoji.githubFile != null) {
-                    emojiURIs.put(extractFileName(emoji.githubFile), emoji);
-                }
-                if (emoji.unicodeSampleFile != null) {
-                    emojiURIs.put(extractFileName(emoji.unicodeSampleFile), emoji);
-                }
-            }
-        }
+        return EmojiTables.emojiURIs.get(extractFileName(imageURI));
     }
 }
-
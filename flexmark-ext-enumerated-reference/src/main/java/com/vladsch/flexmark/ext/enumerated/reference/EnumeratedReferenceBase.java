@@ -47,6 +47,14 @@ public class EnumeratedReferenceBase extends Node implements DelimitedNode, DoNo
         this.enumeratedReferenceBlock = enumeratedReferenceBlock;
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
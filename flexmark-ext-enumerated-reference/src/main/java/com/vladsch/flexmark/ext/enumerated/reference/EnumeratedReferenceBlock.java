@@ -6,6 +6,7 @@ import com.vladsch.flexmark.parser.ListOptions;
 import com.vladsch.flexmark.util.ast.Block;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.ast.ReferenceNode;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
@@ -39,6 +40,15 @@ public class EnumeratedReferenceBlock extends Block implements ReferenceNode<Enu
         segmentSpan(out, enumeratedReference, "enumeratedReference");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+        enumeratedReference = rebase.rebase(enumeratedReference);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -4,8 +4,8 @@ import com.vladsch.flexmark.ext.escaped.character.EscapedCharacter;
 import com.vladsch.flexmark.html.HtmlWriter;
 import com.vladsch.flexmark.html.renderer.NodeRenderer;
 import com.vladsch.flexmark.html.renderer.NodeRendererContext;
-import com.vladsch.flexmark.html.renderer.NodeRendererFactory;
 import com.vladsch.flexmark.html.renderer.NodeRenderingHandler;
+import com.vladsch.flexmark.html.renderer.StatelessNodeRendererFactory;
 import com.vladsch.flexmark.util.data.DataHolder;
 import org.jetbrains.annotations.NotNull;
 
@@ -13,10 +13,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 public class EscapedCharacterNodeRenderer implements NodeRenderer {
-    private final EscapedCharacterOptions options;
-
     public EscapedCharacterNodeRenderer(DataHolder options) {
-        this.options = new EscapedCharacterOptions(options);
+
     }
 
     @Override
@@ -31,7 +29,7 @@ public class EscapedCharacterNodeRenderer implements NodeRenderer {
         html.text(node.getChars().unescape());
     }
 
-    public static class Factory implements NodeRendererFactory {
+    public static class Factory implements StatelessNodeRendererFactory {
         @NotNull
         @Override
         public NodeRenderer apply(@NotNull DataHolder options) {
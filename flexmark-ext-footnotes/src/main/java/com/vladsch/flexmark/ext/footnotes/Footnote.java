@@ -60,6 +60,14 @@ public class Footnote extends Node implements DelimitedNode, DoNotDecorate, Refe
         this.footnoteBlock = footnoteBlock;
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
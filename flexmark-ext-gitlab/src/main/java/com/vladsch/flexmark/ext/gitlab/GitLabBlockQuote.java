@@ -4,6 +4,7 @@ import com.vladsch.flexmark.ast.Paragraph;
 import com.vladsch.flexmark.ast.ParagraphContainer;
 import com.vladsch.flexmark.util.ast.Block;
 import com.vladsch.flexmark.util.ast.BlockContent;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -26,6 +27,15 @@ public class GitLabBlockQuote extends Block implements ParagraphContainer {
         segmentSpanChars(out, closingTrailing, "closeTrail");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        openingTrailing = rebase.rebase(openingTrailing);
+        closingMarker = rebase.rebase(closingMarker);
+        closingTrailing = rebase.rebase(closingTrailing);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -5,6 +5,7 @@ import com.vladsch.flexmark.util.ast.Block;
 import com.vladsch.flexmark.util.ast.BlockContent;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.util.ast.ReferenceNode;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -74,6 +75,16 @@ public class MacroDefinitionBlock extends Block implements ReferenceNode<MacroDe
         segmentSpanChars(out, closingTrailing, "closeTrail");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        name = rebase.rebase(name);
+        openingTrailing = rebase.rebase(openingTrailing);
+        closingMarker = rebase.rebase(closingMarker);
+        closingTrailing = rebase.rebase(closingTrailing);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -51,6 +51,14 @@ public class MacroReference extends Node implements DelimitedNode, DoNotDecorate
         this.myMacroDefinitionBlock = macroDefinitionBlock;
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -1,6 +1,7 @@
 package com.vladsch.flexmark.ext.spec.example;
 
 import com.vladsch.flexmark.util.ast.Block;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -56,6 +57,28 @@ public class SpecExampleBlock extends Block {
         if (closingMarker.isNotNull()) segmentSpan(out, closingMarker, "closingMarker");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        exampleKeyword = rebase.rebase(exampleKeyword);
+        coordOpeningMarker = rebase.rebase(coordOpeningMarker);
+        section = rebase.rebase(section);
+        numberSeparator = rebase.rebase(numberSeparator);
+        number = rebase.rebase(number);
+        coordClosingMarker = rebase.rebase(coordClosingMarker);
+        optionsKeyword = rebase.rebase(optionsKeyword);
+        optionsOpeningMarker = rebase.rebase(optionsOpeningMarker);
+        options = rebase.rebase(options);
+        optionsClosingMarker = rebase.rebase(optionsClosingMarker);
+        source = rebase.rebase(source);
+        htmlSeparator = rebase.rebase(htmlSeparator);
+        html = rebase.rebase(html);
+        astSeparator = rebase.rebase(astSeparator);
+        ast = rebase.rebase(ast);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -106,16 +106,137 @@ public class TableParagraphPreProcessor implements ParagraphPreProcessor {
                 return null;
             }
 
+            // options of the last parser, parsing options are the same instance for all documents parsed by a parser
+            private volatile CachedOptions cachedOptions;
+
             @Override
             public ParagraphPreProcessor apply(ParserState state) {
-                return new TableParagraphPreProcessor(state.getProperties());
+                DataHolder parserOptions = state.getParsing().options;
+                CachedOptions cached = cachedOptions;
+
+                if (cached == null || cached.parserOptions != parserOptions) {
+                    cached = new CachedOptions(parserOptions, new TableParserOptions(state.getProperties()));
+                    cachedOptions = cached;
+                }
+                return new TableParagraphPreProcessor(cached.options);
             }
         };
     }
 
+    private static class CachedOptions {
+        final DataHolder parserOptions;
+        final TableParserOptions options;
+
+        CachedOptions(DataHolder parserOptions, TableParserOptions options) {
+            this.parserOptions = parserOptions;
+            this.options = options;
+        }
+    }
+
     private final TableParserOptions options;
-    Pattern TABLE_HEADER_SEPARATOR;
 
+    /**
+     * Test if line is a table header separator line
+     * <p>
+     * Linear scan of the line, same as matching the line against {@link #getTableHeaderSeparator(int, String)}
+     * with {@link TableFormatOptions#INTELLIJ_DUMMY_IDENTIFIER} when intellijDummyIdentifier is true or an empty string otherwise.
+     *
+     * @param line                    line to test
+     * @param minSeparatorDashes      minimum dashes in a column, including alignment colons
+     * @param intellijDummyIdentifier true if IntelliJ dummy identifier can follow whitespace and dashes or surround pipes
+     * @return true if line is a separator line
+     */
+    public static boolean isTableHeaderSeparator(CharSequence line, int minSeparatorDashes, boolean intellijDummyIdentifier) {
+        int iMax = line.length();
+        int columns = 0;
+        boolean leadingPipe = false;
+        boolean trailingPipe = false;
+
+        int i = skipPipe(line, 0, intellijDummyIdentifier);
+        if (i > 0) {
+            leadingPipe = true;
+        } else {
+            i = 0;
+        }
+
+        while (true) {
+            i = skipWhitespace(line, i, intellijDummyIdentifier);
+
+            int colons = 0;
+            if (i < iMax && line.charAt(i) == ':') {
+                colons++;
+                i++;
+            }
+
+            int dashes = 0;
+            while (i < iMax && line.charAt(i) == '-') {
+                dashes++;
+                i++;
+                if (intellijDummyIdentifier && i < iMax && line.charAt(i) == TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER_CHAR) i++;
+            }
+
+            if (dashes == 0) return false;
+
+            if (i < iMax && line.charAt(i) == ':') {
+                colons++;
+                i++;
+            }
+
+            if (dashes < Math.max(minSeparatorDashes - colons, 1)) return false;
+
+            columns++;
+            i = skipWhitespace(line, i, intellijDummyIdentifier);
+            if (i == iMax) break;
+
+            i = skipPipe(line, i, intellijDummyIdentifier);
+            if (i == -1) return false;
+
+            i = skipWhitespace(line, i, intellijDummyIdentifier);
+            if (i == iMax) {
+                trailingPipe = true;
+                break;
+            }
+        }
+
+        // single column needs a leading or trailing pipe
+        return columns > 1 || leadingPipe || trailingPipe;
+    }
+
+    private static int skipPipe(CharSequence line, int index, boolean intellijDummyIdentifier) {
+        int iMax = line.length();
+        int i = index;
+
+        if (intellijDummyIdentifier && i < iMax && line.charAt(i) == TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER_CHAR) i++;
+        if (i == iMax || line.charAt(i) != '|') return -1;
+        i++;
+        if (intellijDummyIdentifier && i < iMax && line.charAt(i) == TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER_CHAR) i++;
+        return i;
+    }
+
+    private static int skipWhitespace(CharSequence line, int index, boolean intellijDummyIdentifier) {
+        int iMax = line.length();
+        int i = index;
+
+        while (i < iMax) {
+            char c = line.charAt(i);
+            // NOTE: same characters as regex \s
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r') break;
+            i++;
+            if (intellijDummyIdentifier && i < iMax && line.charAt(i) == TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER_CHAR) i++;
+        }
+        return i;
+    }
+
+    /**
+     * Regular expression for table header separator lines
+     * <p>
+     * Table paragraph pre-processor uses {@link #isTableHeaderSeparator(CharSequence, int, boolean)}
+     * which does not backtrack on lines with many pipes.
+     *
+     * @param minColumnDashes         minimum dashes in a column, including alignment colons
+     * @param intellijDummyIdentifier IntelliJ dummy identifier or empty string
+     * @return pattern matching a table header separator line
+     */
     public static Pattern getTableHeaderSeparator(int minColumnDashes, String intellijDummyIdentifier) {
         int minCol = minColumnDashes >= 1 ? minColumnDashes : 1;
         int minColDash = minColumnDashes >= 2 ? minColumnDashes - 1 : 1;
@@ -139,11 +260,8 @@ public class TableParagraphPreProcessor implements ParagraphPreProcessor {
         return Pattern.compile(withIntelliJ);
     }
 
-    private TableParagraphPreProcessor(DataHolder options) {
-        this.options = new TableParserOptions(options);
-        //isIntellijDummyIdentifier = Parser.INTELLIJ_DUMMY_IDENTIFIER.getFrom(options);
-        //intellijDummyIdentifier = isIntellijDummyIdentifier ? INTELLIJ_DUMMY_IDENTIFIER : "";
-        this.TABLE_HEADER_SEPARATOR = getTableHeaderSeparator(this.options.minSeparatorDashes, "");
+    private TableParagraphPreProcessor(TableParserOptions options) {
+        this.options = options;
     }
 
     private static class TableSeparatorRow extends TableRow implements DoNotDecorate {
@@ -189,7 +307,7 @@ public class TableParagraphPreProcessor implements ParagraphPreProcessor {
 
             if (separatorLineNumber == -1) {
                 if (rowNumber >= options.minHeaderRows
-                        && TABLE_HEADER_SEPARATOR.matcher(rowLine).matches()) {
+                        && isTableHeaderSeparator(rowLine, options.minSeparatorDashes, false)) {
                     // must start with | or cell, whitespace means its not a separator line
                     if (fullRowLine.charAt(0) != ' ' && fullRowLine.charAt(0) != '\t' || rowLine.charAt(0) != '|') {
                         separatorLineNumber = rowNumber;
@@ -11,6 +11,7 @@ import org.junit.runners.Suite;
         TableTextCollectingVisitorTest.class,
         MarkdownTableTest.class,
         TableCellOffsetInfoTest.class,
+        TableHeaderSeparatorTest.class,
         //JiraTablesSpecTest.class,
 })
 public class ExtTablesTestSuite {
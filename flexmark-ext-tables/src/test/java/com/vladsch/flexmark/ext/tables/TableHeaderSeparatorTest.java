@@ -0,0 +1,65 @@
+package com.vladsch.flexmark.ext.tables;
+
+import com.vladsch.flexmark.ext.tables.internal.TableParagraphPreProcessor;
+import com.vladsch.flexmark.util.format.TableFormatOptions;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TableHeaderSeparatorTest {
+    private static final String[] FRAGMENTS = {
+            "|", "-", "--", "---", ":", " ", "\t", "\n", "a", TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER,
+    };
+
+    @Test
+    public void test_sameAsRegex() {
+        Random random = new Random(1);
+
+        for (int minDashes = 0; minDashes <= 4; minDashes++) {
+            Pattern pattern = TableParagraphPreProcessor.getTableHeaderSeparator(minDashes, "");
+            Pattern intellijPattern = TableParagraphPreProcessor.getTableHeaderSeparator(minDashes, TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER);
+
+            for (int i = 0; i < 20000; i++) {
+                StringBuilder sb = new StringBuilder();
+                int count = random.nextInt(12);
+                for (int j = 0; j < count; j++) {
+                    // favour separator characters so that matching lines are generated
+                    sb.append(FRAGMENTS[random.nextInt(random.nextBoolean() ? 5 : FRAGMENTS.length)]);
+                }
+
+                String line = sb.toString();
+                String message = "minDashes: " + minDashes + " line: '" + line.replace(TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER, "⎮") + "'";
+                assertEquals(message, pattern.matcher(line).matches(), TableParagraphPreProcessor.isTableHeaderSeparator(line, minDashes, false));
+                assertEquals(message, intellijPattern.matcher(line).matches(), TableParagraphPreProcessor.isTableHeaderSeparator(line, minDashes, true));
+            }
+        }
+    }
+
+    @Test
+    public void test_separators() {
+        assertTrue(TableParagraphPreProcessor.isTableHeaderSeparator("|---|:---|---:|:---:|\n", 3, false));
+        assertTrue(TableParagraphPreProcessor.isTableHeaderSeparator("---|---", 3, false));
+        assertTrue(TableParagraphPreProcessor.isTableHeaderSeparator("|---", 3, false));
+        assertTrue(TableParagraphPreProcessor.isTableHeaderSeparator("---|", 3, false));
+        assertFalse(TableParagraphPreProcessor.isTableHeaderSeparator("---", 3, false));
+        assertFalse(TableParagraphPreProcessor.isTableHeaderSeparator("|--|", 3, false));
+        assertTrue(TableParagraphPreProcessor.isTableHeaderSeparator("|:-:|", 3, false));
+        assertFalse(TableParagraphPreProcessor.isTableHeaderSeparator(" |---|", 3, false));
+    }
+
+    @Test
+    public void test_manyPipes() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append("| - ");
+        }
+        sb.append("| x |");
+
+        assertFalse(TableParagraphPreProcessor.isTableHeaderSeparator(sb, 1, false));
+    }
+}
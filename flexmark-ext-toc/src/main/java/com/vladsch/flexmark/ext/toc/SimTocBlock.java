@@ -1,5 +1,6 @@
 package com.vladsch.flexmark.ext.toc;
 
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -21,6 +22,15 @@ public class SimTocBlock extends TocBlockBase {
         segmentSpanChars(out, closingTitleMarker, "closingTitleMarker");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        anchorMarker = rebase.rebase(anchorMarker);
+        openingTitleMarker = rebase.rebase(openingTitleMarker);
+        title = rebase.rebase(title);
+        closingTitleMarker = rebase.rebase(closingTitleMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
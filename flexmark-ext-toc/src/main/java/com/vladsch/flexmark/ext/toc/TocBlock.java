@@ -1,5 +1,6 @@
 package com.vladsch.flexmark.ext.toc;
 
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -20,6 +21,15 @@ public class TocBlock extends TocBlockBase {
         segmentSpan(out, closingMarker, "closingMarker");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        tocKeyword = rebase.rebase(tocKeyword);
+        style = rebase.rebase(style);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Function;
 
 @SuppressWarnings("WeakerAccess")
 public class TocUtils {
@@ -227,6 +228,19 @@ public class TocUtils {
     }
 
     public static Paired<List<Heading>, List<String>> htmlHeadingTexts(NodeRendererContext context, List<Heading> headings, TocOptions tocOptions) {
+        return htmlHeadingTexts(headings, tocOptions, heading -> getHeadingContent(context, heading), TocUtils::getHeadingText);
+    }
+
+    /**
+     * Get headings in TOC order with their HTML content
+     *
+     * @param headings       filtered headings in document order
+     * @param tocOptions     TOC options
+     * @param contentGetter  function returning rendered HTML content of a heading
+     * @param textGetter     function returning escaped text of a heading, used for text only and sorted TOC
+     * @return headings and their content, in TOC order
+     */
+    public static Paired<List<Heading>, List<String>> htmlHeadingTexts(List<Heading> headings, TocOptions tocOptions, Function<Heading, String> contentGetter, Function<Heading, String> textGetter) {
         final List<String> headingContents = new ArrayList<>(headings.size());
         final boolean isReversed = tocOptions.listType == TocOptions.ListType.SORTED_REVERSED || tocOptions.listType == TocOptions.ListType.FLAT_REVERSED;
         final boolean isSorted = tocOptions.listType == TocOptions.ListType.SORTED || tocOptions.listType == TocOptions.ListType.SORTED_REVERSED;
@@ -238,12 +252,12 @@ public class TocUtils {
             String headingContent;
             // need to skip anchor links but render emphasis
             if (tocOptions.isTextOnly) {
-                headingContent = getHeadingText(heading);
+                headingContent = textGetter.apply(heading);
             } else {
-                headingContent = getHeadingContent(context, heading);
+                headingContent = contentGetter.apply(heading);
 
                 if (needText) {
-                    headingTexts.put(headingContent, getHeadingText(heading));
+                    headingTexts.put(headingContent, textGetter.apply(heading));
                 }
             }
 
@@ -282,11 +296,11 @@ public class TocUtils {
         return Pair.of(headings, headingContents);
     }
 
-    private static String getHeadingText(Heading header) {
+    public static String getHeadingText(Heading header) {
         return Escaping.escapeHtml(new TextCollectingVisitor().collectAndGetText(header), false);
     }
 
-    private static String getHeadingContent(NodeRendererContext context, Heading header) {
+    public static String getHeadingContent(NodeRendererContext context, Heading header) {
         NodeRendererContext subContext = context.getSubContext(false);
         subContext.doNotRenderLinks();
         subContext.renderChildren(header);
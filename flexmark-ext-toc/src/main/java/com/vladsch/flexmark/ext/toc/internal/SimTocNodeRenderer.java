@@ -1,7 +1,6 @@
 package com.vladsch.flexmark.ext.toc.internal;
 
 import com.vladsch.flexmark.ast.Heading;
-import com.vladsch.flexmark.ast.util.HeadingCollectingVisitor;
 import com.vladsch.flexmark.ext.toc.*;
 import com.vladsch.flexmark.html.HtmlWriter;
 import com.vladsch.flexmark.html.renderer.NodeRenderer;
@@ -21,6 +20,7 @@ import java.util.Set;
 
 public class SimTocNodeRenderer implements NodeRenderer {
     private final TocOptions options;
+    private final TocRenderCache renderCache = new TocRenderCache();
 
     public SimTocNodeRenderer(DataHolder options) {
         this.options = new TocOptions(options, true);
@@ -49,8 +49,7 @@ public class SimTocNodeRenderer implements NodeRenderer {
     }
 
     private void render(SimTocBlock node, NodeRendererContext context, HtmlWriter html) {
-        HeadingCollectingVisitor visitor = new HeadingCollectingVisitor();
-        List<Heading> headings = visitor.collectAndGetHeadings(node.getDocument());
+        List<Heading> headings = renderCache.getHeadings(node.getDocument());
         if (headings != null) {
             SimTocOptionsParser optionsParser = new SimTocOptionsParser();
             TocOptions options = optionsParser.parseOption(node.getStyle(), this.options, null).getFirst();
@@ -58,13 +57,11 @@ public class SimTocNodeRenderer implements NodeRenderer {
             if (node.getTitle().isNotNull()) {
                 options = options.withTitle(node.getTitle().unescape());
             }
-            renderTocHeaders(context, html, node, headings, options);
+            renderTocHeaders(context, html, node, renderCache.getTocHeadings(context, headings, options), options);
         }
     }
 
-    private void renderTocHeaders(NodeRendererContext context, HtmlWriter html, Node node, List<Heading> headings, TocOptions options) {
-        List<Heading> filteredHeadings = TocUtils.filteredHeadings(headings, options);
-        Paired<List<Heading>, List<String>> paired = TocUtils.htmlHeadingTexts(context, filteredHeadings, options);
+    private void renderTocHeaders(NodeRendererContext context, HtmlWriter html, Node node, Paired<List<Heading>, List<String>> paired, TocOptions options) {
         TocUtils.renderHtmlToc(html, context.getHtmlOptions().sourcePositionAttribute.isEmpty() ? BasedSequence.NULL : node.getChars(), paired.getFirst(), paired.getSecond(), options);
     }
 
@@ -1,7 +1,6 @@
 package com.vladsch.flexmark.ext.toc.internal;
 
 import com.vladsch.flexmark.ast.Heading;
-import com.vladsch.flexmark.ast.util.HeadingCollectingVisitor;
 import com.vladsch.flexmark.ext.toc.TocBlock;
 import com.vladsch.flexmark.ext.toc.TocExtension;
 import com.vladsch.flexmark.ext.toc.TocUtils;
@@ -22,6 +21,7 @@ import java.util.Set;
 
 public class TocNodeRenderer implements NodeRenderer {
     private final TocOptions options;
+    private final TocRenderCache renderCache = new TocRenderCache();
     private final boolean haveTitle;
 
     public TocNodeRenderer(DataHolder options) {
@@ -37,19 +37,16 @@ public class TocNodeRenderer implements NodeRenderer {
     }
 
     private void render(TocBlock node, NodeRendererContext context, HtmlWriter html) {
-        HeadingCollectingVisitor visitor = new HeadingCollectingVisitor();
-        List<Heading> headings = visitor.collectAndGetHeadings(node.getDocument());
+        List<Heading> headings = renderCache.getHeadings(node.getDocument());
         if (headings != null) {
             TocOptionsParser optionsParser = new TocOptionsParser();
             TocOptions titleOptions = haveTitle ? this.options : this.options.withTitle("");
             TocOptions options = optionsParser.parseOption(node.getStyle(), titleOptions, null).getFirst();
-            renderTocHeaders(context, html, node, headings, options);
+            renderTocHeaders(context, html, node, renderCache.getTocHeadings(context, headings, options), options);
         }
     }
 
-    private void renderTocHeaders(NodeRendererContext context, HtmlWriter html, Node node, List<Heading> headings, TocOptions options) {
-        List<Heading> filteredHeadings = TocUtils.filteredHeadings(headings, options);
-        final Paired<List<Heading>, List<String>> paired = TocUtils.htmlHeadingTexts(context, filteredHeadings, options);
+    private void renderTocHeaders(NodeRendererContext context, HtmlWriter html, Node node, Paired<List<Heading>, List<String>> paired, TocOptions options) {
         TocUtils.renderHtmlToc(html, context.getHtmlOptions().sourcePositionAttribute.isEmpty() ? BasedSequence.NULL : node.getChars(), paired.getFirst(), paired.getSecond(), options);
     }
 
@@ -0,0 +1,60 @@
+package com.vladsch.flexmark.ext.toc.internal;
+
+import com.vladsch.flexmark.ast.Heading;
+import com.vladsch.flexmark.ast.util.HeadingCollectingVisitor;
+import com.vladsch.flexmark.ext.toc.TocUtils;
+import com.vladsch.flexmark.html.renderer.NodeRendererContext;
+import com.vladsch.flexmark.util.Paired;
+import com.vladsch.flexmark.util.ast.Document;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Document headings and their rendered content for TOC blocks of one render
+ * <p>
+ * Content of a heading is rendered once, TOC heading lists are computed once for each combination of
+ * levels, list type and text only options, so documents with several TOC blocks do not render headings for each of them.
+ * <p>
+ * Owned by a TOC node renderer, node renderers are created for each render so the cache does not outlive the render.
+ */
+class TocRenderCache {
+    private @Nullable List<Heading> headings;
+    private final @NotNull HashMap<Heading, String> headingContents = new HashMap<>();
+    private final @NotNull HashMap<Heading, String> headingTexts = new HashMap<>();
+    private final @NotNull HashMap<List<Object>, Paired<List<Heading>, List<String>>> tocHeadings = new HashMap<>();
+
+    /**
+     * @param document document being rendered
+     * @return headings of the document or null if it has none
+     */
+    @Nullable List<Heading> getHeadings(@NotNull Document document) {
+        if (headings == null) {
+            headings = new HeadingCollectingVisitor().collectAndGetHeadings(document);
+        }
+        return headings;
+    }
+
+    /**
+     * @param context    node renderer context
+     * @param headings   document headings
+     * @param tocOptions TOC options
+     * @return headings included in the TOC and their content, in TOC order
+     */
+    @NotNull Paired<List<Heading>, List<String>> getTocHeadings(@NotNull NodeRendererContext context, @NotNull List<Heading> headings, @NotNull TocOptions tocOptions) {
+        List<Object> key = Arrays.asList(tocOptions.levels, tocOptions.listType, tocOptions.isTextOnly);
+
+        Paired<List<Heading>, List<String>> paired = tocHeadings.get(key);
+        if (paired == null) {
+            List<Heading> filteredHeadings = TocUtils.filteredHeadings(headings, tocOptions);
+            paired = TocUtils.htmlHeadingTexts(filteredHeadings, tocOptions,
+                    heading -> headingContents.computeIfAbsent(heading, h -> TocUtils.getHeadingContent(context, h)),
+                    heading -> headingTexts.computeIfAbsent(heading, TocUtils::getHeadingText));
+            tocHeadings.put(key, paired);
+        }
+        return paired;
+    }
+}
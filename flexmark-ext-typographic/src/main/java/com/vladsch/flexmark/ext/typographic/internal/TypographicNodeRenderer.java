@@ -5,8 +5,8 @@ import com.vladsch.flexmark.ext.typographic.TypographicSmarts;
 import com.vladsch.flexmark.html.HtmlWriter;
 import com.vladsch.flexmark.html.renderer.NodeRenderer;
 import com.vladsch.flexmark.html.renderer.NodeRendererContext;
-import com.vladsch.flexmark.html.renderer.NodeRendererFactory;
 import com.vladsch.flexmark.html.renderer.NodeRenderingHandler;
+import com.vladsch.flexmark.html.renderer.StatelessNodeRendererFactory;
 import com.vladsch.flexmark.util.data.DataHolder;
 import org.jetbrains.annotations.NotNull;
 
@@ -14,10 +14,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 public class TypographicNodeRenderer implements NodeRenderer {
-    private final TypographicOptions options;
-
     public TypographicNodeRenderer(DataHolder options) {
-        this.options = new TypographicOptions(options);
+
     }
 
     @Override
@@ -38,7 +36,7 @@ public class TypographicNodeRenderer implements NodeRenderer {
         html.raw(node.getTypographicText());
     }
 
-    public static class Factory implements NodeRendererFactory {
+    public static class Factory implements StatelessNodeRendererFactory {
         @NotNull
         @Override
         public NodeRenderer apply(@NotNull DataHolder options) {
@@ -2,6 +2,7 @@ package com.vladsch.flexmark.ext.wikilink;
 
 import com.vladsch.flexmark.util.ast.DoNotDecorate;
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import com.vladsch.flexmark.util.sequence.SequenceUtils;
 import org.jetbrains.annotations.NotNull;
@@ -17,6 +18,19 @@ public class WikiNode extends Node implements DoNotDecorate {
     protected BasedSequence closingMarker = BasedSequence.NULL;
     protected final boolean linkIsFirst;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        link = rebase.rebase(link);
+        pageRef = rebase.rebase(pageRef);
+        anchorMarker = rebase.rebase(anchorMarker);
+        anchorRef = rebase.rebase(anchorRef);
+        textSeparatorMarker = rebase.rebase(textSeparatorMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
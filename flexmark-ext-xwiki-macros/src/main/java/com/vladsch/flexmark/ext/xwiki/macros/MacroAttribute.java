@@ -2,6 +2,7 @@ package com.vladsch.flexmark.ext.xwiki.macros;
 
 import com.vladsch.flexmark.util.ast.DoNotDecorate;
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -15,6 +16,16 @@ public class MacroAttribute extends Node implements DoNotDecorate {
     protected BasedSequence value = BasedSequence.NULL;
     protected BasedSequence closingMarker = BasedSequence.NULL;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        attribute = rebase.rebase(attribute);
+        separator = rebase.rebase(separator);
+        openingMarker = rebase.rebase(openingMarker);
+        value = rebase.rebase(value);
+        closingMarker = rebase.rebase(closingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -1,6 +1,7 @@
 package com.vladsch.flexmark.ext.yaml.front.matter;
 
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -11,6 +12,12 @@ public class YamlFrontMatterNode extends Node {
     private BasedSequence key;
     //private List<BasedSequence> values;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        key = rebase.rebase(key);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
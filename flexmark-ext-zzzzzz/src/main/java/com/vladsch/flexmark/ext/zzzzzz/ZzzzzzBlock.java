@@ -2,6 +2,7 @@ package com.vladsch.flexmark.ext.zzzzzz;
 
 import com.vladsch.flexmark.util.ast.Block;
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -49,6 +50,15 @@ public class ZzzzzzBlock extends Block {
         segmentSpan(out, zzzzzz, "zzzzzz");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        text = rebase.rebase(text);
+        closingMarker = rebase.rebase(closingMarker);
+        zzzzzz = rebase.rebase(zzzzzz);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -5,12 +5,13 @@ import com.vladsch.flexmark.html.renderer.HeaderIdGeneratorFactory;
 import com.vladsch.flexmark.html.renderer.LinkStatus;
 import com.vladsch.flexmark.html.renderer.LinkType;
 import com.vladsch.flexmark.html.renderer.ResolvedLink;
-import com.vladsch.flexmark.html2md.converter.internal.HtmlConverterCoreNodeRenderer;
+import com.vladsch.flexmark.html2md.converter.internal.HtmlChunkReader;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.Ref;
 import com.vladsch.flexmark.util.Utils;
 import com.vladsch.flexmark.util.builder.BuilderBase;
 import com.vladsch.flexmark.util.builder.Extension;
+import com.vladsch.flexmark.util.collection.ArrayStack;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.data.DataKey;
 import com.vladsch.flexmark.util.data.MutableDataHolder;
@@ -31,7 +32,10 @@ import org.jsoup.nodes.Element;
 import org.jsoup.nodes.Node;
 import org.jsoup.nodes.TextNode;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -52,6 +56,7 @@ public class FlexmarkHtmlConverter {
     public static final DataKey<Integer> FORMAT_FLAGS = new DataKey<>("FORMAT_FLAGS", LineAppendable.F_TRIM_TRAILING_WHITESPACE | LineAppendable.F_TRIM_LEADING_WHITESPACE | LineAppendable.F_COLLAPSE_WHITESPACE | LineAppendable.F_PREFIX_PRE_FORMATTED);
     public static final DataKey<Integer> MAX_BLANK_LINES = new DataKey<>("MAX_BLANK_LINES", 2);
     public static final DataKey<Integer> MAX_TRAILING_BLANK_LINES = new DataKey<>("MAX_TRAILING_BLANK_LINES", 1);
+    public static final DataKey<Integer> STREAMING_CHUNK_LENGTH = new DataKey<>("STREAMING_CHUNK_LENGTH", 64 * 1024);
 
     public static final DataKey<Boolean> LIST_CONTENT_INDENT = new DataKey<>("LIST_CONTENT_INDENT", true);
     public static final DataKey<Boolean> SETEXT_HEADINGS = new DataKey<>("SETEXT_HEADINGS", true);
@@ -248,6 +253,15 @@ public class FlexmarkHtmlConverter {
     private final DataHolder options;
     private final List<DelegatingNodeRendererFactoryWrapper> nodeRendererFactories;
     private final List<HtmlLinkResolverFactory> linkResolverFactories;
+    private final Pattern specialCharsPattern;
+
+    // dispatch plan, created once: renderers from StatelessHtmlNodeRendererFactory by factory index, null for renderers created
+    //  for every conversion, with the tag handlers and phased renderers of all renderers when all of them are stateless
+    final HtmlNodeRenderer[] sharedNodeRenderers;
+    final boolean hasConversionNodeRenderers;
+    final Map<String, HtmlNodeRendererHandler> sharedRenderers;
+    final List<PhasedHtmlNodeRenderer> sharedPhasedFormatters;
+    final Set<HtmlConverterPhase> sharedRenderingPhases;
 
     FlexmarkHtmlConverter(Builder builder) {
         this.options = builder.toImmutable();
@@ -273,9 +287,83 @@ public class FlexmarkHtmlConverter {
         nodeRendererFactories = resolver.resolveDependencies(nodeRenderers).getNodeRendererFactories();
 
         // Add as last. This means clients can override the rendering of core nodes if they want.
-        this.nodeConverterFactories.add(HtmlConverterCoreNodeRenderer::new);
+        this.nodeConverterFactories.add(new HtmlConverterCoreNodeRendererFactory());
 
         this.linkResolverFactories = FlatDependencyHandler.computeDependencies(builder.linkResolverFactories);
+
+        this.specialCharsPattern = getSpecialCharsPattern(htmlConverterOptions);
+
+        int iMax = nodeConverterFactories.size();
+        this.sharedNodeRenderers = new HtmlNodeRenderer[iMax];
+        boolean hasConversionNodeRenderers = false;
+        for (int i = 0; i < iMax; i++) {
+            HtmlNodeRendererFactory factory = nodeConverterFactories.get(i);
+            if (factory instanceof StatelessHtmlNodeRendererFactory) {
+                sharedNodeRenderers[i] = factory.apply(this.options);
+            } else {
+                hasConversionNodeRenderers = true;
+            }
+        }
+        this.hasConversionNodeRenderers = hasConversionNodeRenderers;
+
+        if (hasConversionNodeRenderers) {
+            this.sharedRenderers = null;
+            this.sharedPhasedFormatters = null;
+            this.sharedRenderingPhases = null;
+        } else {
+            HashMap<String, HtmlNodeRendererHandler> renderers = new HashMap<>(128);
+            ArrayList<PhasedHtmlNodeRenderer> phasedFormatters = new ArrayList<>(iMax);
+            HashSet<HtmlConverterPhase> renderingPhases = new HashSet<>(HtmlConverterPhase.values().length);
+            addNodeRenderers(sharedNodeRenderers, renderers, phasedFormatters, renderingPhases);
+
+            this.sharedRenderers = Collections.unmodifiableMap(renderers);
+            this.sharedPhasedFormatters = Collections.unmodifiableList(phasedFormatters);
+            this.sharedRenderingPhases = Collections.unmodifiableSet(renderingPhases);
+        }
+    }
+
+    /**
+     * Add handlers and phased renderers of node renderers, the first node renderer for a tag "wins"
+     *
+     * @param nodeRenderers    node renderers by factory index
+     * @param renderers        handlers by tag name
+     * @param phasedFormatters phased node renderers
+     * @param renderingPhases  phases of phased node renderers
+     */
+    static void addNodeRenderers(HtmlNodeRenderer[] nodeRenderers, Map<String, HtmlNodeRendererHandler> renderers, List<PhasedHtmlNodeRenderer> phasedFormatters, Set<HtmlConverterPhase> renderingPhases) {
+        for (int i = nodeRenderers.length - 1; i >= 0; i--) {
+            HtmlNodeRenderer htmlNodeRenderer = nodeRenderers[i];
+            Set<HtmlNodeRendererHandler<?>> formattingHandlers = htmlNodeRenderer.getHtmlNodeRendererHandlers();
+            if (formattingHandlers == null) continue;
+
+            for (HtmlNodeRendererHandler nodeType : formattingHandlers) {
+                // Overwrite existing renderer
+                renderers.put(nodeType.getTagName(), nodeType);
+            }
+
+            if (htmlNodeRenderer instanceof PhasedHtmlNodeRenderer) {
+                Set<HtmlConverterPhase> phases = ((PhasedHtmlNodeRenderer) htmlNodeRenderer).getHtmlConverterPhases();
+                if (phases != null) {
+                    if (phases.isEmpty()) throw new IllegalStateException("PhasedNodeFormatter with empty Phases");
+                    renderingPhases.addAll(phases);
+                    phasedFormatters.add((PhasedHtmlNodeRenderer) htmlNodeRenderer);
+                } else {
+                    throw new IllegalStateException("PhasedNodeFormatter with null Phases");
+                }
+            }
+        }
+    }
+
+    static Pattern getSpecialCharsPattern(HtmlConverterOptions htmlConverterOptions) {
+        if (htmlConverterOptions.typographicQuotes && htmlConverterOptions.typographicSmarts) {
+            return Pattern.compile(TYPOGRAPHIC_QUOTES_PIPED + "|" + TYPOGRAPHIC_SMARTS_PIPED);
+        } else if (htmlConverterOptions.typographicQuotes) {
+            return Pattern.compile(TYPOGRAPHIC_QUOTES_PIPED);
+        } else if (htmlConverterOptions.typographicSmarts) {
+            return Pattern.compile(TYPOGRAPHIC_SMARTS_PIPED);
+        } else {
+            return null;
+        }
     }
 
     public DataHolder getOptions() {
@@ -309,13 +397,7 @@ public class FlexmarkHtmlConverter {
      */
     public void convert(String html, Appendable output) {
         Document document = Jsoup.parse(html);
-
-        if (DUMP_HTML_TREE.get(getOptions())) {
-            LineFormattingAppendableImpl trace = new LineFormattingAppendableImpl(0);
-            trace.setIndentPrefix("  ");
-            dumpHtmlTree(trace, document.body());
-            System.out.println(trace.toString(0));
-        }
+        dumpHtmlBody(document);
 
         MainHtmlConverter converter = new MainHtmlConverter(options, new HtmlMarkdownWriter(htmlConverterOptions.formatFlags), document, null);
         converter.render(document);
@@ -341,13 +423,7 @@ public class FlexmarkHtmlConverter {
      */
     public String convert(String html, int maxBlankLines) {
         Document document = Jsoup.parse(html);
-
-        if (DUMP_HTML_TREE.get(getOptions())) {
-            LineFormattingAppendableImpl trace = new LineFormattingAppendableImpl(0);
-            trace.setIndentPrefix("  ");
-            dumpHtmlTree(trace, document.body());
-            System.out.println(trace.toString(0));
-        }
+        dumpHtmlBody(document);
 
         MainHtmlConverter converter = new MainHtmlConverter(options, new HtmlMarkdownWriter(htmlConverterOptions.formatFlags), document, null);
         converter.render(document);
@@ -357,6 +433,49 @@ public class FlexmarkHtmlConverter {
         return eolEnd ? s : Utils.removeSuffix(s, "\n");
     }
 
+    /**
+     * Convert HTML read from the reader, markdown is output while HTML is being read
+     * <p>
+     * HTML is split into chunks of complete top level elements of the body, see {@link #STREAMING_CHUNK_LENGTH}.
+     * Each chunk is parsed and converted on its own so neither the whole HTML text nor its tree are kept in memory.
+     * <p>
+     * NOTE: conversion is the same as {@link #convert(String, Appendable)} except for converters which use content of
+     *   sibling elements, top level siblings in other chunks are seen as empty elements. Content of head is not read.
+     *   Body content in a single wrapper element is one chunk, so it is read into memory as a whole.
+     *
+     * @param html   reader of html to convert to markdown
+     * @param output appendable to use for the output
+     * @throws IOException if thrown by reader or output
+     */
+    public void convert(Reader html, Appendable output) throws IOException {
+        convert(html, output, htmlConverterOptions.maxTrailingBlankLines);
+    }
+
+    /**
+     * Convert HTML read from the reader, markdown is output while HTML is being read
+     *
+     * @param html                  reader of html to convert to markdown
+     * @param output                appendable to use for the output
+     * @param maxTrailingBlankLines max blank lines allowed at end of output
+     * @throws IOException if thrown by reader or output
+     * @see #convert(Reader, Appendable)
+     */
+    public void convert(Reader html, Appendable output, int maxTrailingBlankLines) throws IOException {
+        HtmlChunkReader chunkReader = new HtmlChunkReader(html, STREAMING_CHUNK_LENGTH.get(getOptions()));
+        MainHtmlConverter converter = new MainHtmlConverter(options, new HtmlMarkdownWriter(htmlConverterOptions.formatFlags), Document.createShell(""), null);
+        converter.renderChunks(chunkReader, output);
+        converter.flushTo(output, maxTrailingBlankLines);
+    }
+
+    private void dumpHtmlBody(Document document) {
+        if (DUMP_HTML_TREE.get(getOptions())) {
+            LineFormattingAppendableImpl trace = new LineFormattingAppendableImpl(0);
+            trace.setIndentPrefix("  ");
+            dumpHtmlTree(trace, document.body());
+            System.out.println(trace.toString(0));
+        }
+    }
+
     public static void dumpHtmlTree(LineAppendable out, Node node) {
         out.line().append(node.nodeName());
         for (org.jsoup.nodes.Attribute attribute : node.attributes().asList()) {
@@ -561,9 +680,10 @@ public class FlexmarkHtmlConverter {
     }
 
     private class MainHtmlConverter extends HtmlNodeConverterSubContext {
-        private final Document document;
+        private Document document;
         private final com.vladsch.flexmark.util.ast.Document myForDocument;
         private final Map<String, HtmlNodeRendererHandler> renderers;
+        private final HtmlNodeRendererHandler defaultRenderer;
 
         private final List<PhasedHtmlNodeRenderer> phasedFormatters;
         private final Set<HtmlConverterPhase> renderingPhases;
@@ -573,7 +693,7 @@ public class FlexmarkHtmlConverter {
         private final HtmlConverterOptions myHtmlConverterOptions;
         private final Pattern specialCharsPattern;
 
-        private Stack<HtmlConverterState> myStateStack;
+        private ArrayStack<HtmlConverterState> myStateStack;
         private Map<String, String> mySpecialCharsMap;
         private HtmlConverterState myState;
         private boolean myTrace;
@@ -583,6 +703,7 @@ public class FlexmarkHtmlConverter {
         private HtmlLinkResolver[] myHtmlLinkResolvers;
         private HashMap<String, Reference> myReferenceUrlToReferenceMap;  // map of URL to reference node
         private HashSet<Reference> myExternalReferences;  // map of URL to reference node
+        private HashMap<Class<?>, Object> myConversionStates;
 
         @Override
         public HtmlConverterState getState() {
@@ -592,28 +713,22 @@ public class FlexmarkHtmlConverter {
         MainHtmlConverter(DataHolder options, HtmlMarkdownWriter out, Document document, DataHolder parentOptions) {
             super(out);
             this.myOptions = new ScopedDataSet(parentOptions, options);
-            this.renderers = new HashMap<>(32);
-            this.renderingPhases = new HashSet<>(HtmlConverterPhase.values().length);
-            this.phasedFormatters = new ArrayList<>(nodeConverterFactories.size());
             this.resolvedLinkMap = null;
             this.myHtmlLinkResolvers = new HtmlLinkResolver[linkResolverFactories.size()];
 
             out.setContext(this);
 
-            myHtmlConverterOptions = new HtmlConverterOptions(myOptions);
-
-            if (myHtmlConverterOptions.typographicQuotes && myHtmlConverterOptions.typographicSmarts) {
-                specialCharsPattern = Pattern.compile(TYPOGRAPHIC_QUOTES_PIPED + "|" + TYPOGRAPHIC_SMARTS_PIPED);
-            } else if (myHtmlConverterOptions.typographicQuotes) {
-                specialCharsPattern = Pattern.compile(TYPOGRAPHIC_QUOTES_PIPED);
-            } else if (myHtmlConverterOptions.typographicSmarts) {
-                specialCharsPattern = Pattern.compile(TYPOGRAPHIC_SMARTS_PIPED);
+            if (parentOptions == null) {
+                // NOTE: options are public mutable fields, each conversion gets its own copy
+                myHtmlConverterOptions = new HtmlConverterOptions(htmlConverterOptions);
+                specialCharsPattern = FlexmarkHtmlConverter.this.specialCharsPattern;
             } else {
-                specialCharsPattern = null;
+                myHtmlConverterOptions = new HtmlConverterOptions(myOptions);
+                specialCharsPattern = getSpecialCharsPattern(myHtmlConverterOptions);
             }
 
             //myTrace = true;
-            myStateStack = new Stack<>();
+            myStateStack = new ArrayStack<>();
             myReferenceUrlToReferenceMap = new HashMap<>();
             myExternalReferences = new HashSet<>();
             myState = null;
@@ -625,34 +740,28 @@ public class FlexmarkHtmlConverter {
                 mySpecialCharsMap = SPECIAL_CHARS_MAP;
             }
 
-            // The first node renderer for a node type "wins".
-            for (int i = nodeConverterFactories.size() - 1; i >= 0; i--) {
-                HtmlNodeRendererFactory htmlNodeRendererFactory = nodeConverterFactories.get(i);
-                HtmlNodeRenderer htmlNodeRenderer = htmlNodeRendererFactory.apply(this.myOptions);
-                Set<HtmlNodeRendererHandler<?>> formattingHandlers = htmlNodeRenderer.getHtmlNodeRendererHandlers();
-                if (formattingHandlers == null) continue;
-
-                for (HtmlNodeRendererHandler nodeType : formattingHandlers) {
-                    // Overwrite existing renderer
-                    renderers.put(nodeType.getTagName(), nodeType);
+            if (!hasConversionNodeRenderers) {
+                this.renderers = sharedRenderers;
+                this.phasedFormatters = sharedPhasedFormatters;
+                this.renderingPhases = sharedRenderingPhases;
+            } else {
+                // NOTE: only renderers which are not stateless are created for the conversion
+                HtmlNodeRenderer[] nodeRenderers = new HtmlNodeRenderer[sharedNodeRenderers.length];
+                for (int i = 0; i < nodeRenderers.length; i++) {
+                    nodeRenderers[i] = sharedNodeRenderers[i] != null ? sharedNodeRenderers[i] : nodeConverterFactories.get(i).apply(this.myOptions);
                 }
 
-                if (htmlNodeRenderer instanceof PhasedHtmlNodeRenderer) {
-                    Set<HtmlConverterPhase> phases = ((PhasedHtmlNodeRenderer) htmlNodeRenderer).getHtmlConverterPhases();
-                    if (phases != null) {
-                        if (phases.isEmpty()) throw new IllegalStateException("PhasedNodeFormatter with empty Phases");
-                        this.renderingPhases.addAll(phases);
-                        this.phasedFormatters.add((PhasedHtmlNodeRenderer) htmlNodeRenderer);
-                    } else {
-                        throw new IllegalStateException("PhasedNodeFormatter with null Phases");
-                    }
-                }
+                this.renderers = new HashMap<>(128);
+                this.phasedFormatters = new ArrayList<>(nodeRenderers.length);
+                this.renderingPhases = new HashSet<>(HtmlConverterPhase.values().length);
+                addNodeRenderers(nodeRenderers, renderers, phasedFormatters, renderingPhases);
             }
 
             for (int i = 0; i < linkResolverFactories.size(); i++) {
                 myHtmlLinkResolvers[i] = linkResolverFactories.get(i).apply(this);
             }
 
+            this.defaultRenderer = renderers.get(DEFAULT_NODE);
             this.document = document;
             this.myForDocument = FlexmarkHtmlConverter.FOR_DOCUMENT.get(options).value;
         }
@@ -672,8 +781,16 @@ public class FlexmarkHtmlConverter {
             return myTrace;
         }
 
+        @Deprecated
         @Override
         public Stack<HtmlConverterState> getStateStack() {
+            Stack<HtmlConverterState> stack = new Stack<>();
+            stack.addAll(myStateStack.toList());
+            return stack;
+        }
+
+        @Override
+        public ArrayStack<HtmlConverterState> getConverterStateStack() {
             return myStateStack;
         }
 
@@ -682,6 +799,18 @@ public class FlexmarkHtmlConverter {
             myTrace = trace;
         }
 
+        @Override
+        public <T> T getConversionState(Class<T> stateClass, Function<HtmlNodeConverterContext, T> factory) {
+            if (myConversionStates == null) myConversionStates = new HashMap<>();
+
+            Object state = myConversionStates.get(stateClass);
+            if (state == null) {
+                state = factory.apply(this);
+                myConversionStates.put(stateClass, state);
+            }
+            return stateClass.cast(state);
+        }
+
         @Override
         public com.vladsch.flexmark.util.ast.Node parseMarkdown(String markdown) {
             if (myParser == null) {
@@ -859,21 +988,14 @@ public class FlexmarkHtmlConverter {
                         //    subContext.myRenderingNode = null;
                         //}
                     } else {
-                        // go through all renderers that want this phase
-                        for (PhasedHtmlNodeRenderer phasedFormatter : phasedFormatters) {
-                            if (phasedFormatter.getHtmlConverterPhases().contains(phase)) {
-                                subContext.myRenderingNode = node;
-                                phasedFormatter.renderDocument(subContext, subContext.markdown, (Document) node, phase);
-                                subContext.myRenderingNode = null;
-                            }
-                        }
+                        renderPhase(subContext, (Document) node);
                     }
                 }
             } else {
                 HtmlNodeRendererHandler nodeRenderer = renderers.get(node.nodeName().toLowerCase());
 
                 if (nodeRenderer == null) {
-                    nodeRenderer = renderers.get(DEFAULT_NODE); // get default renderer
+                    nodeRenderer = defaultRenderer; // get default renderer
                 }
 
                 if (nodeRenderer != null) {
@@ -888,6 +1010,68 @@ public class FlexmarkHtmlConverter {
             }
         }
 
+        void renderPhase(HtmlNodeConverterSubContext subContext, Document node) {
+            // go through all renderers that want this phase
+            for (PhasedHtmlNodeRenderer phasedFormatter : phasedFormatters) {
+                if (phasedFormatter.getHtmlConverterPhases().contains(phase)) {
+                    subContext.myRenderingNode = node;
+                    phasedFormatter.renderDocument(subContext, subContext.markdown, node, phase);
+                    subContext.myRenderingNode = null;
+                }
+            }
+        }
+
+        void renderChunks(HtmlChunkReader chunkReader, Appendable output) throws IOException {
+            for (HtmlConverterPhase phase : HtmlConverterPhase.values()) {
+                if (phase != HtmlConverterPhase.DOCUMENT && !renderingPhases.contains(phase)) { continue; }
+                this.phase = phase;
+
+                if (this.phase == HtmlConverterPhase.DOCUMENT) {
+                    String chunk = chunkReader.readChunk();
+                    Document nextDocument = chunk == null ? null : Jsoup.parse(chunk);
+                    Element previous = null;
+
+                    while (nextDocument != null) {
+                        document = nextDocument;
+                        chunk = chunkReader.readChunk();
+                        nextDocument = chunk == null ? null : Jsoup.parse(chunk);
+
+                        Element body = document.body();
+                        Element last = body.children().isEmpty() ? null : body.child(body.children().size() - 1);
+                        Element next = nextDocument == null || nextDocument.body().children().isEmpty() ? null : nextDocument.body().child(0);
+
+                        dumpHtmlBody(document);
+
+                        // NOTE: empty elements in place of last element of previous chunk and first element of next chunk,
+                        //  renderers which check sibling elements see the same siblings as in the complete document
+                        if (previous != null) body.prependElement(previous.tagName());
+                        Element nextPlaceholder = next == null ? null : body.appendElement(next.tagName());
+
+                        pushState(body);
+                        HtmlConverterState oldState = getState();
+                        if (previous != null) skip();
+
+                        Node node;
+                        while ((node = next()) != null && node != nextPlaceholder) {
+                            render(node);
+                        }
+
+                        if (oldState != getState()) {
+                            throw new IllegalStateException("State not equal after process " + dumpState());
+                        }
+
+                        oldState.runPrePopActions();
+                        popState(null);
+                        markdown.flushLinesTo(output);
+
+                        if (last != null) previous = last;
+                    }
+                } else {
+                    renderPhase(this, document);
+                }
+            }
+        }
+
         @Override
         public void renderChildren(Node parent, boolean outputAttributes, Runnable prePopAction) {
             processHtmlTree(this, parent, outputAttributes, prePopAction);
@@ -1537,10 +1721,21 @@ public class FlexmarkHtmlConverter {
                 myMainNodeRenderer.setTrace(trace);
             }
 
+            @Override
+            public <T> T getConversionState(Class<T> stateClass, Function<HtmlNodeConverterContext, T> factory) {
+                return myMainNodeRenderer.getConversionState(stateClass, factory);
+            }
+
+            @Deprecated
             @Override
             public Stack<HtmlConverterState> getStateStack() {
                 return myMainNodeRenderer.getStateStack();
             }
+
+            @Override
+            public ArrayStack<HtmlConverterState> getConverterStateStack() {
+                return myMainNodeRenderer.getConverterStateStack();
+            }
         }
     }
 
@@ -1715,13 +1910,13 @@ public class FlexmarkHtmlConverter {
     }
 
     static String dumpState(HtmlNodeConverterContext context) {
-        Stack<HtmlConverterState> stateStack = context.getStateStack();
+        ArrayStack<HtmlConverterState> stateStack = context.getConverterStateStack();
 
         if (!stateStack.isEmpty()) {
             StringBuilder sb = new StringBuilder();
 
-            while (!stateStack.isEmpty()) {
-                HtmlConverterState state = stateStack.pop();
+            for (int i = stateStack.size(); i-- > 0; ) {
+                HtmlConverterState state = stateStack.get(i);
                 sb.append("\n").append(state == null ? "null" : state.toString());
             }
 
@@ -3,7 +3,7 @@ package com.vladsch.flexmark.html2md.converter;
 import com.vladsch.flexmark.html2md.converter.internal.HtmlConverterCoreNodeRenderer;
 import com.vladsch.flexmark.util.data.DataHolder;
 
-public class HtmlConverterCoreNodeRendererFactory implements HtmlNodeRendererFactory {
+public class HtmlConverterCoreNodeRendererFactory implements StatelessHtmlNodeRendererFactory {
     @Override
     public HtmlNodeRenderer apply(DataHolder options) {
         return new HtmlConverterCoreNodeRenderer(options);
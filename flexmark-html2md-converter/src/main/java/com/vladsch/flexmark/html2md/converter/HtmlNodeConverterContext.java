@@ -3,6 +3,7 @@ package com.vladsch.flexmark.html2md.converter;
 import com.vladsch.flexmark.ast.Reference;
 import com.vladsch.flexmark.html.renderer.LinkType;
 import com.vladsch.flexmark.html.renderer.ResolvedLink;
+import com.vladsch.flexmark.util.collection.ArrayStack;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.format.NodeContext;
 import com.vladsch.flexmark.util.html.Attributes;
@@ -13,6 +14,7 @@ import org.jsoup.nodes.Node;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Stack;
+import java.util.function.Function;
 
 /**
  * The context for node rendering, including configuration and functionality for the node renderer to use.
@@ -90,8 +92,30 @@ public interface HtmlNodeConverterContext extends NodeContext<Node, HtmlNodeConv
     HashMap<String, Reference> getReferenceUrlToReferenceMap();
     HashSet<Reference> getExternalReferences();
     boolean isTrace();
+    /**
+     * @return copy of state stack from outermost to innermost state, changes to the returned stack do not affect the converter
+     * @deprecated returns a copy, use {@link #getConverterStateStack()} for the state stack of the converter
+     */
+    @Deprecated
     Stack<HtmlConverterState> getStateStack();
+    /**
+     * @return state stack of the converter, from outermost to innermost state
+     */
+    ArrayStack<HtmlConverterState> getConverterStateStack();
     void setTrace(boolean trace);
+
+    /**
+     * Get conversion state for the document being converted, created on first request and shared by all sub-contexts of the conversion.
+     * <p>
+     * Allows renderers of a {@link StatelessHtmlNodeRendererFactory}, which are shared by all conversions, to keep per document state.
+     *
+     * @param stateClass class of the state, used as its key
+     * @param factory    creates the state from the main context of the conversion
+     * @param <T>        type of the state
+     * @return conversion state of the class for the document being converted
+     */
+    <T> T getConversionState(Class<T> stateClass, Function<HtmlNodeConverterContext, T> factory);
+
     com.vladsch.flexmark.util.ast.Node parseMarkdown(String markdown);
     Reference getOrCreateReference(String url, String text, String title);
     ResolvedLink resolveLink(LinkType linkType, CharSequence url, Boolean urlEncode);
@@ -0,0 +1,14 @@
+package com.vladsch.flexmark.html2md.converter;
+
+/**
+ * Marker for html node renderer factories whose renderers keep no per-document state.
+ * <p>
+ * Renderers of such factories are created once per {@link FlexmarkHtmlConverter} instance from its options
+ * and their handlers are shared by all conversions instead of being created for every converted document.
+ * <p>
+ * NOTE: handlers which need per-document state get it from {@link HtmlNodeConverterContext#getConversionState(Class, java.util.function.Function)}
+ * while converting. Only mark factories whose renderers can be used by multiple threads at the same time.
+ */
+public interface StatelessHtmlNodeRendererFactory extends HtmlNodeRendererFactory {
+
+}
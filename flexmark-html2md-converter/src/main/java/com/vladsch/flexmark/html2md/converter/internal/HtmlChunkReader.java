@@ -0,0 +1,356 @@
+package com.vladsch.flexmark.html2md.converter.internal;
+
+import com.vladsch.flexmark.util.collection.ArrayStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+
+/**
+ * Splits HTML read from a reader into chunks of complete top level elements of the body
+ * <p>
+ * A stack of open elements is kept while reading, a chunk ends after a top level block element is closed
+ * once the chunk has at least the minimum length. Each chunk can be parsed on its own and gives the same
+ * body elements as they have when the whole HTML is parsed.
+ * <p>
+ * Doctype, html and body tags are not part of chunks, content of head is skipped.
+ * Elements implicitly closed by HTML parsers are popped when the closing element is opened:
+ * paragraphs by block elements, list items, definition terms, table rows and cells by their siblings.
+ * When elements cannot be matched the chunk continues to the end of the input.
+ * <p>
+ * NOTE: chunks are only split between top level elements, body content in a single wrapper element, like a
+ *   {@code <div>} or {@code <article>} around the whole page, is one chunk. Splitting inside the wrapper would
+ *   convert it once per chunk and change output of converters which check first and last child elements.
+ */
+public class HtmlChunkReader {
+    private static final HashSet<String> VOID_ELEMENTS = new HashSet<>(Arrays.asList(
+            "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "param", "source", "track", "wbr"
+    ));
+
+    private static final HashSet<String> RAW_TEXT_ELEMENTS = new HashSet<>(Arrays.asList(
+            "script", "style", "textarea", "title", "xmp"
+    ));
+
+    private static final HashSet<String> HEAD_ELEMENTS = new HashSet<>(Arrays.asList(
+            "base", "basefont", "bgsound", "link", "meta", "noscript", "script", "style", "template", "title"
+    ));
+
+    private static final HashSet<String> BLOCK_ELEMENTS = new HashSet<>(Arrays.asList(
+            "address", "article", "aside", "blockquote", "dd", "details", "dir", "div", "dl", "dt", "fieldset", "figcaption", "figure",
+            "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hgroup", "hr", "li", "main", "menu", "nav", "ol", "p",
+            "pre", "section", "summary", "table", "ul"
+    ));
+
+    private final @NotNull Reader reader;
+    private final int minChunkLength;
+    private final char[] buffer = new char[8192];
+    private int bufferPos;
+    private int bufferLength;
+    private boolean eof;
+
+    private final @NotNull ArrayStack<String> openElements = new ArrayStack<>();
+    private final @NotNull StringBuilder chunk = new StringBuilder();
+    private final @NotNull StringBuilder markup = new StringBuilder();
+
+    /**
+     * @param reader         reader of HTML
+     * @param minChunkLength minimum length of a chunk, except for the last chunk
+     */
+    public HtmlChunkReader(@NotNull Reader reader, int minChunkLength) {
+        this.reader = reader;
+        this.minChunkLength = minChunkLength;
+    }
+
+    /**
+     * Read next chunk
+     *
+     * @return chunk of HTML or null if no more HTML
+     * @throws IOException if thrown by reader
+     */
+    public @Nullable String readChunk() throws IOException {
+        chunk.setLength(0);
+
+        int c;
+        while ((c = read()) != -1) {
+            if (c != '<') {
+                chunk.append((char) c);
+            } else if (readMarkup() && openElements.isEmpty() && chunk.length() >= minChunkLength) {
+                break;
+            }
+        }
+
+        if (chunk.length() == 0) return null;
+
+        String text = chunk.toString();
+        if (chunk.capacity() > minChunkLength * 4) {
+            // NOTE: do not keep large buffer of unmatched elements for following chunks
+            chunk.setLength(0);
+            chunk.trimToSize();
+        }
+        return text;
+    }
+
+    /**
+     * Read markup following '&lt;'
+     *
+     * @return true if markup closed a block element at top level
+     */
+    private boolean readMarkup() throws IOException {
+        markup.setLength(0);
+        markup.append('<');
+
+        int c = read();
+        if (c == -1) {
+            chunk.append(markup);
+            return false;
+        }
+
+        markup.append((char) c);
+
+        if (c == '!') {
+            if (readIf('-') && readIf('-')) {
+                readUntil("-->");
+            } else {
+                readUntil(">");
+            }
+
+            // doctype is not part of the chunk
+            if (!markup.toString().regionMatches(true, 0, "<!doctype", 0, 9)) chunk.append(markup);
+            return false;
+        } else if (c == '?') {
+            readUntil(">");
+            chunk.append(markup);
+            return false;
+        } else if (c == '/') {
+            String name = readTag();
+            if (name.isEmpty() || name.equals("html") || name.equals("body") || name.equals("head")) {
+                if (name.isEmpty()) chunk.append(markup);
+                return false;
+            }
+
+            chunk.append(markup);
+            return closeElement(name);
+        } else if (isAsciiLetter((char) c)) {
+            String name = readTag();
+
+            if (name.equals("html") || name.equals("body")) return false;
+
+            if (name.equals("head")) {
+                return skipHead();
+            }
+
+            return startElement(name);
+        } else {
+            // literal '<'
+            chunk.append(markup);
+            return false;
+        }
+    }
+
+    /**
+     * Add start tag in markup to chunk
+     *
+     * @return true if the element is a void or raw text block element at top level
+     */
+    private boolean startElement(@NotNull String name) throws IOException {
+        boolean selfClosing = markup.length() >= 2 && markup.charAt(markup.length() - 2) == '/';
+
+        closeImplied(name);
+        chunk.append(markup);
+
+        if (RAW_TEXT_ELEMENTS.contains(name)) {
+            readRawText(name);
+            return openElements.isEmpty() && BLOCK_ELEMENTS.contains(name);
+        }
+
+        if (VOID_ELEMENTS.contains(name) || selfClosing) {
+            return openElements.isEmpty() && BLOCK_ELEMENTS.contains(name);
+        }
+
+        openElements.push(name);
+        return false;
+    }
+
+    private boolean closeElement(@NotNull String name) {
+        int iMax = openElements.size();
+        for (int i = iMax; i-- > 0; ) {
+            if (openElements.get(i).equals(name)) {
+                while (openElements.size() > i) openElements.pop();
+                return openElements.isEmpty() && BLOCK_ELEMENTS.contains(name);
+            }
+        }
+
+        // NOTE: close tag without open element is ignored, same as by HTML parsers
+        return false;
+    }
+
+    private void closeImplied(@NotNull String name) {
+        if (openElements.isEmpty()) return;
+
+        String top = openElements.peek();
+        if (top.equals("p") && BLOCK_ELEMENTS.contains(name)
+                || top.equals(name) && (name.equals("li") || name.equals("dt") || name.equals("dd") || name.equals("tr") || name.equals("td") || name.equals("th") || name.equals("option"))
+                || (top.equals("dt") || top.equals("dd")) && (name.equals("dt") || name.equals("dd"))
+                || (top.equals("td") || top.equals("th")) && (name.equals("td") || name.equals("th") || name.equals("tr"))) {
+            openElements.pop();
+            closeImplied(name);
+        }
+    }
+
+    /**
+     * Read rest of tag into markup
+     *
+     * @return lowercase tag name
+     */
+    private @NotNull String readTag() throws IOException {
+        int nameStart = markup.charAt(1) == '/' ? 2 : 1;
+        int nameEnd = -1;
+        char quote = 0;
+
+
+        int c;
+        while ((c = read()) != -1) {
+            markup.append((char) c);
+
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+                continue;
+            }
+
+            if (nameEnd == -1 && !isNameChar((char) c)) nameEnd = markup.length() - 1;
+
+            if (c == '>') {
+                break;
+            } else if ((c == '"' || c == '\'') && nameEnd != -1 && markup.length() >= 2 && isAfterEquals()) {
+                quote = (char) c;
+            }
+        }
+
+        if (nameEnd == -1) nameEnd = markup.length();
+        return markup.substring(nameStart, nameEnd).toLowerCase(Locale.ROOT);
+    }
+
+    private boolean isAfterEquals() {
+        for (int i = markup.length() - 2; i > 0; i--) {
+            char c = markup.charAt(i);
+            if (c == '=') return true;
+            if (!Character.isWhitespace(c)) return false;
+        }
+        return false;
+    }
+
+    private void readRawText(@NotNull String name) throws IOException {
+        String closeTag = "</" + name;
+        int matched = 0;
+        int c;
+
+        while ((c = read()) != -1) {
+            chunk.append((char) c);
+
+            if (Character.toLowerCase((char) c) == closeTag.charAt(matched)) {
+                matched++;
+                if (matched == closeTag.length()) {
+                    while ((c = read()) != -1) {
+                        chunk.append((char) c);
+                        if (c == '>') break;
+                    }
+                    return;
+                }
+            } else {
+                matched = c == '<' ? 1 : 0;
+            }
+        }
+    }
+
+    /**
+     * Skip content of head, head ends with its close tag, body tag or an element which is not head content
+     *
+     * @return true if element ending the head is a void block element
+     */
+    private boolean skipHead() throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '<') {
+                markup.setLength(0);
+                markup.append('<');
+
+                c = read();
+                if (c == -1) break;
+                markup.append((char) c);
+
+                if (c == '/') {
+                    if (readTag().equals("head")) break;
+                } else if (isAsciiLetter((char) c)) {
+                    String name = readTag();
+                    if (name.equals("body")) break;
+                    if (!HEAD_ELEMENTS.contains(name)) return startElement(name);
+
+                    if (RAW_TEXT_ELEMENTS.contains(name)) {
+                        int length = chunk.length();
+                        readRawText(name);
+                        chunk.setLength(length);
+                    }
+                } else if (c == '!') {
+                    if (readIf('-') && readIf('-')) readUntil("-->");
+                    else readUntil(">");
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean readIf(char expected) throws IOException {
+        int c = read();
+        if (c == -1) return false;
+
+        markup.append((char) c);
+        return c == expected;
+    }
+
+    private void readUntil(@NotNull String end) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            markup.append((char) c);
+
+            if (endsWith(markup, end)) return;
+        }
+    }
+
+    private int read() throws IOException {
+        if (bufferPos == bufferLength) {
+            if (eof) return -1;
+
+            bufferLength = reader.read(buffer, 0, buffer.length);
+            bufferPos = 0;
+
+            if (bufferLength <= 0) {
+                bufferLength = 0;
+                eof = true;
+                return -1;
+            }
+        }
+        return buffer[bufferPos++];
+    }
+
+    private static boolean endsWith(@NotNull StringBuilder text, @NotNull String suffix) {
+        int offset = text.length() - suffix.length();
+        if (offset < 2) return false;
+
+        for (int i = suffix.length(); i-- > 0; ) {
+            if (text.charAt(offset + i) != suffix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isNameChar(char c) {
+        return isAsciiLetter(c) || c >= '0' && c <= '9' || c == '-' || c == '_' || c == ':' || c == '.';
+    }
+}
@@ -38,17 +38,25 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
 
     public static HashSet<String> explicitLinkTextTags = new HashSet<>(Arrays.asList(FlexmarkHtmlConverter.EXPLICIT_LINK_TEXT_TAGS));
 
-    private HashMap<String, String> myAbbreviations;
-    private HashMap<String, String> myMacrosMap;               // macro name to macro content
     final private HtmlConverterOptions myHtmlConverterOptions;
-    private MarkdownTable myTable;
-    private boolean myTableSuppressColumns = false;
+
+    /**
+     * State collected while converting a document, created for every conversion so the renderer and its handlers
+     * can be shared by all conversions
+     */
+    static class ConversionState {
+        final HashMap<String, String> myAbbreviations = new HashMap<>();
+        final HashMap<String, String> myMacrosMap = new HashMap<>();               // macro name to macro content
+        MarkdownTable myTable;
+        boolean myTableSuppressColumns = false;
+    }
 
     public HtmlConverterCoreNodeRenderer(DataHolder options) {
         myHtmlConverterOptions = new HtmlConverterOptions(options);
+    }
 
-        myAbbreviations = new HashMap<>();
-        myMacrosMap = new HashMap<>();
+    private static ConversionState state(HtmlNodeConverterContext context) {
+        return context.getConversionState(ConversionState.class, c -> new ConversionState());
     }
 
     @Override
@@ -146,10 +154,12 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
             break;
 
             case DOCUMENT_BOTTOM: {
+                ConversionState state = state(context);
+
                 // output abbreviations if any
-                if (!myAbbreviations.isEmpty()) {
+                if (!state.myAbbreviations.isEmpty()) {
                     out.blankLine();
-                    for (Map.Entry<String, String> entry : myAbbreviations.entrySet()) {
+                    for (Map.Entry<String, String> entry : state.myAbbreviations.entrySet()) {
                         out.line().append("*[").append(entry.getKey()).append("]: ").append(entry.getValue()).line();
                     }
                     out.blankLine();
@@ -176,8 +186,8 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
                 }
 
                 // output macros if any
-                if (!myMacrosMap.isEmpty()) {
-                    for (Map.Entry<String, String> entry : myMacrosMap.entrySet()) {
+                if (!state.myMacrosMap.isEmpty()) {
+                    for (Map.Entry<String, String> entry : state.myMacrosMap.entrySet()) {
                         out.blankLine();
                         out.append(">>>").append(entry.getKey()).line();
                         CharSequence charSequence = entry.getValue();
@@ -336,10 +346,11 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
     }
 
     private void processAbbr(Element element, HtmlNodeConverterContext context, HtmlMarkdownWriter out) {
+        ConversionState state = state(context);
         // see if it is an anchor or a link
         if (element.hasAttr("title")) {
             String text = context.processTextNodes(element).trim();
-            myAbbreviations.put(text, element.attr("title"));
+            state.myAbbreviations.put(text, element.attr("title"));
         }
     }
 
@@ -1013,12 +1024,13 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
     }
 
     private void processTable(Element table, HtmlNodeConverterContext context, HtmlMarkdownWriter out) {
-        MarkdownTable oldTable = myTable;
+        ConversionState state = state(context);
+        MarkdownTable oldTable = state.myTable;
 
         context.pushState(table);
 
-        myTable = new MarkdownTable(myHtmlConverterOptions.tableOptions);
-        myTableSuppressColumns = false;
+        state.myTable = new MarkdownTable(myHtmlConverterOptions.tableOptions);
+        state.myTableSuppressColumns = false;
 
         Node item;
         while ((item = context.next()) != null) {
@@ -1028,36 +1040,37 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
                     handleTableCaption((Element) item, context, out);
                     break;
                 case FlexmarkHtmlConverter.TBODY_NODE:
-                    myTable.setHeader(false);
+                    state.myTable.setHeader(false);
                     handleTableSection(context, out, (Element) item);
                     break;
                 case FlexmarkHtmlConverter.THEAD_NODE:
-                    myTable.setHeader(true);
+                    state.myTable.setHeader(true);
                     handleTableSection(context, out, (Element) item);
                     break;
                 case FlexmarkHtmlConverter.TR_NODE:
                     Element tableRow = (Element) item;
                     Elements children = tableRow.children();
-                    myTable.setHeader(!children.isEmpty() && children.get(0).tagName().equalsIgnoreCase("th"));
+                    state.myTable.setHeader(!children.isEmpty() && children.get(0).tagName().equalsIgnoreCase("th"));
                     handleTableRow(context, out, (Element) item);
                     break;
             }
         }
 
-        myTable.finalizeTable();
-        int sepColumns = myTable.getMaxColumns();
+        state.myTable.finalizeTable();
+        int sepColumns = state.myTable.getMaxColumns();
 
         if (sepColumns > 0) {
             out.blankLine();
-            myTable.appendTable(out);
+            state.myTable.appendTable(out);
             out.tailBlankLine();
         }
 
-        myTable = oldTable;
+        state.myTable = oldTable;
         context.popState(out);
     }
 
     private void handleTableSection(HtmlNodeConverterContext context, HtmlMarkdownWriter out, Element element) {
+        ConversionState state = state(context);
         context.pushState(element);
 
         Node node;
@@ -1065,23 +1078,23 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
             if (node.nodeName().equalsIgnoreCase(FlexmarkHtmlConverter.TR_NODE)) {
                 Element tableRow = (Element) node;
                 Elements children = tableRow.children();
-                boolean wasHeading = myTable.getHeader();
+                boolean wasHeading = state.myTable.getHeader();
                 if (!children.isEmpty()) {
                     if (children.get(0).tagName().equalsIgnoreCase(FlexmarkHtmlConverter.TH_NODE)) {
-                        myTable.setHeader(true);
+                        state.myTable.setHeader(true);
                     }
                 }
-                if (myTable.getHeader() && myTable.body.rows.size() > 0) {
+                if (state.myTable.getHeader() && state.myTable.body.rows.size() > 0) {
                     if (myHtmlConverterOptions.ignoreTableHeadingAfterRows) {
                         // ignore it
-                        myTableSuppressColumns = true;
+                        state.myTableSuppressColumns = true;
                     } else {
-                        myTable.setHeader(false);
+                        state.myTable.setHeader(false);
                     }
                 }
                 handleTableRow(context, out, tableRow);
-                myTableSuppressColumns = false;
-                myTable.setHeader(wasHeading);
+                state.myTableSuppressColumns = false;
+                state.myTable.setHeader(wasHeading);
             }
         }
 
@@ -1089,6 +1102,7 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
     }
 
     private void handleTableRow(HtmlNodeConverterContext context, HtmlMarkdownWriter out, Element element) {
+        ConversionState state = state(context);
         context.pushState(element);
 
         Node node;
@@ -1105,15 +1119,17 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
             }
         }
 
-        myTable.nextRow();
+        state.myTable.nextRow();
         context.popState(out);
     }
 
     private void handleTableCaption(Element element, HtmlNodeConverterContext context, HtmlMarkdownWriter out) {
-        myTable.setCaption(context.processTextNodes(element).trim());
+        ConversionState state = state(context);
+        state.myTable.setCaption(context.processTextNodes(element).trim());
     }
 
     private void handleTableCell(Element element, HtmlNodeConverterContext context, HtmlMarkdownWriter out) {
+        ConversionState state = state(context);
         String cellText = context.processTextNodes(element).trim().replaceAll("\\s*\n\\s*", " ");
         int colSpan = 1;
         int rowSpan = 1;
@@ -1170,8 +1186,8 @@ public class HtmlConverterCoreNodeRenderer implements PhasedHtmlNodeRenderer {
         }
 
         // skip cells defined by row spans in previous rows
-        if (!myTableSuppressColumns) {
-            myTable.addCell(new TableCell(null, BasedSequence.NULL, cellText.replace("\n", " "), BasedSequence.NULL, rowSpan, colSpan, alignment));
+        if (!state.myTableSuppressColumns) {
+            state.myTable.addCell(new TableCell(null, BasedSequence.NULL, cellText.replace("\n", " "), BasedSequence.NULL, rowSpan, colSpan, alignment));
         }
     }
 
@@ -0,0 +1,96 @@
+package com.vladsch.flexmark.html2md.converter;
+
+import com.vladsch.flexmark.html2md.converter.internal.HtmlChunkReader;
+import com.vladsch.flexmark.test.util.spec.SpecExample;
+import com.vladsch.flexmark.test.util.spec.SpecReader;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class HtmlConverterStreamingTest {
+    private static String convertReader(FlexmarkHtmlConverter converter, String html) throws IOException {
+        StringBuilder out = new StringBuilder();
+        converter.convert(new StringReader(html), out);
+        return out.toString();
+    }
+
+    private static String convertString(FlexmarkHtmlConverter converter, String html) {
+        StringBuilder out = new StringBuilder();
+        converter.convert(html, out);
+        return out.toString();
+    }
+
+    @Test
+    public void test_specExamples() throws IOException {
+        FlexmarkHtmlConverter converter = FlexmarkHtmlConverter.builder(new MutableDataSet().set(FlexmarkHtmlConverter.STREAMING_CHUNK_LENGTH, 1)).build();
+        for (SpecExample example : SpecReader.createAndReadExamples(ComboFlexmarkHtmlConverterTest.RESOURCE_LOCATION, true).getExamples()) {
+            String html = example.getSource();
+            assertEquals(example.getFileUrlWithLineNumber() + "\n" + html, convertString(converter, html), convertReader(converter, html));
+        }
+    }
+
+    @Test
+    public void test_chunks() throws IOException {
+        String html = "<!DOCTYPE html><html><head><title>a <p> title</title><style>p > a {}</style></head><body class='x'>" +
+                "<p>a</p>\n<ul><li>1<li>2</ul><hr><div>x <p>y</div><script>if (a < b) '</div>';</script><!-- <p> -->text</body></html>\n";
+
+        HtmlChunkReader reader = new HtmlChunkReader(new StringReader(html), 1);
+        ArrayList<String> chunks = new ArrayList<>();
+        String chunk;
+        while ((chunk = reader.readChunk()) != null) chunks.add(chunk);
+
+        assertEquals(Arrays.asList(
+                "<p>a</p>",
+                "\n<ul><li>1<li>2</ul>",
+                "<hr>",
+                "<div>x <p>y</div>",
+                "<script>if (a < b) '</div>';</script><!-- <p> -->text\n"
+        ), chunks);
+        assertNull(reader.readChunk());
+    }
+
+    @Test
+    public void test_chunksHeadWithoutClose() throws IOException {
+        HtmlChunkReader reader = new HtmlChunkReader(new StringReader("<head><meta charset='utf-8'><p>a</p>"), 1);
+        assertEquals("<p>a</p>", reader.readChunk());
+        assertNull(reader.readChunk());
+    }
+
+    @Test
+    public void test_chunksWrapperElement() throws IOException {
+        String html = "<body><article class='post'>\n<h1>Title</h1>\n<p>a</p>\n<div><p>b</p></div>\n</article>\n<p>after</p></body>\n";
+
+        HtmlChunkReader reader = new HtmlChunkReader(new StringReader(html), 1);
+        assertEquals("<article class='post'>\n<h1>Title</h1>\n<p>a</p>\n<div><p>b</p></div>\n</article>", reader.readChunk());
+        assertEquals("\n<p>after</p>", reader.readChunk());
+        assertEquals("\n", reader.readChunk());
+        assertNull(reader.readChunk());
+
+        FlexmarkHtmlConverter converter = FlexmarkHtmlConverter.builder(new MutableDataSet().set(FlexmarkHtmlConverter.STREAMING_CHUNK_LENGTH, 1)).build();
+        assertEquals(convertString(converter, html), convertReader(converter, html));
+    }
+
+    @Test
+    public void test_convertDocument() throws IOException {
+        String html = "<html><head><title>Title</title></head><body>\n" +
+                "<h1>Heading</h1>\n" +
+                "<p>Paragraph with <a href=\"http://example.com\">link</a> and <em>emphasis</em></p>\n" +
+                "<ol><li>one</li><li>two<ul><li>nested</li></ul></li></ol>\n" +
+                "<blockquote><p>quote</p></blockquote>\n" +
+                "<table><tr><th>a</th><th>b</th></tr><tr><td>1</td><td>2</td></tr></table>\n" +
+                "<pre><code>code &lt; block\n</code></pre>\n" +
+                "</body></html>\n";
+
+        for (int chunkLength : new int[] { 1, 100, 64 * 1024 }) {
+            FlexmarkHtmlConverter converter = FlexmarkHtmlConverter.builder(new MutableDataSet().set(FlexmarkHtmlConverter.STREAMING_CHUNK_LENGTH, chunkLength)).build();
+            assertEquals(convertString(converter, html), convertReader(converter, html));
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.vladsch.flexmark.pdf.converter;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html.HtmlWriter;
+import com.vladsch.flexmark.util.html.Attribute;
+import com.vladsch.flexmark.util.html.Attributes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jsoup.parser.Parser;
+import org.w3c.dom.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+
+/**
+ * Html writer which builds W3C DOM nodes from rendered tags, text and raw html instead of html text
+ * <p>
+ * Used with {@link HtmlRenderer#render(com.vladsch.flexmark.util.ast.Node, HtmlWriter)} to get a DOM document
+ * for PDF conversion without serializing the HTML and parsing it back.
+ * <p>
+ * Raw html is tokenized into elements and text. An element opened by raw html is closed by its close tag
+ * or when an enclosing element is closed, close tags without an open element are ignored.
+ * Same as {@link com.openhtmltopdf.DOMBuilder}: element names are lowercase, comments are dropped,
+ * content of style and script elements is a CDATA section.
+ */
+public class DomHtmlWriter extends HtmlWriter {
+    private static final HashSet<String> VOID_ELEMENTS = new HashSet<>(Arrays.asList(
+            "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "param", "source", "track", "wbr"
+    ));
+
+    private static final HashSet<String> DATA_ELEMENTS = new HashSet<>(Arrays.asList("script", "style"));
+
+    private final @NotNull Document document;
+    private final @NotNull Element root;
+    private @NotNull Node current;
+
+    /**
+     * @param root element to which rendered nodes are added, usually the body element
+     */
+    public DomHtmlWriter(@NotNull Element root) {
+        super(0, 0);
+        this.document = root.getOwnerDocument();
+        this.root = root;
+        this.current = root;
+    }
+
+    public @NotNull Document getDocument() {
+        return document;
+    }
+
+    public @NotNull Element getRoot() {
+        return root;
+    }
+
+    @Override
+    protected void appendOpenTag(@NotNull CharSequence tagName, @Nullable Attributes attributes, boolean voidElement) {
+        Element element = createElement(String.valueOf(tagName));
+        if (element == null) return;
+
+        if (attributes != null) {
+            for (Attribute attribute : attributes.values()) {
+                if (attribute.isNonRendering()) continue;
+                setAttribute(element, attribute.getName(), attribute.getValue());
+            }
+        }
+
+        current.appendChild(element);
+        if (!voidElement) current = element;
+    }
+
+    @Override
+    protected void appendCloseTag(@NotNull CharSequence tagName) {
+        closeElement(String.valueOf(tagName));
+    }
+
+    @Override
+    public @NotNull HtmlWriter text(@NotNull CharSequence s) {
+        appendText(s.toString());
+        return this;
+    }
+
+    @Override
+    public @NotNull HtmlWriter raw(@NotNull CharSequence s) {
+        appendHtml(s.toString());
+        return this;
+    }
+
+    @Override
+    public @NotNull HtmlWriter raw(@NotNull CharSequence s, int count) {
+        String html = s.toString();
+        for (int i = 0; i < count; i++) appendHtml(html);
+        return this;
+    }
+
+    @Override
+    public @NotNull HtmlWriter rawPre(@NotNull CharSequence s) {
+        appendHtml(s.toString());
+        return this;
+    }
+
+    @Override
+    public @NotNull HtmlWriter rawIndentedPre(@NotNull CharSequence s) {
+        appendHtml(s.toString());
+        return this;
+    }
+
+    @Override
+    public @NotNull HtmlWriter append(char c) {
+        appendHtml(String.valueOf(c));
+        return this;
+    }
+
+    @Override
+    public @NotNull HtmlWriter append(char c, int count) {
+        if (count > 0) {
+            char[] chars = new char[count];
+            Arrays.fill(chars, c);
+            appendHtml(new String(chars));
+        }
+        return this;
+    }
+
+    @Override
+    public @NotNull HtmlWriter append(@NotNull CharSequence csq) {
+        appendHtml(csq.toString());
+        return this;
+    }
+
+    @Override
+    public @NotNull HtmlWriter append(@NotNull CharSequence csq, int start, int end) {
+        appendHtml(csq.subSequence(start, end).toString());
+        return this;
+    }
+
+    private @Nullable Element createElement(@NotNull String name) {
+        try {
+            return document.createElement(name);
+        } catch (DOMException ignored) {
+            return null;
+        }
+    }
+
+    private static void setAttribute(@NotNull Element element, @NotNull String name, @NotNull String value) {
+        try {
+            element.setAttribute(name, value);
+            if (name.equals("id")) element.setIdAttribute(name, true);
+        } catch (DOMException ignored) {
+            // NOTE: attribute names which are not valid XML names are dropped
+        }
+    }
+
+    private void closeElement(@NotNull String name) {
+        for (Node node = current; node != null && node != root; node = node.getParentNode()) {
+            if (node instanceof Element && ((Element) node).getTagName().equalsIgnoreCase(name)) {
+                current = node.getParentNode();
+                return;
+            }
+        }
+    }
+
+    private void appendText(@NotNull String text) {
+        if (text.isEmpty()) return;
+
+        if (current instanceof Element && DATA_ELEMENTS.contains(((Element) current).getTagName())) {
+            current.appendChild(document.createCDATASection(text));
+            return;
+        }
+
+        Node lastChild = current.getLastChild();
+        if (lastChild instanceof Text && !(lastChild instanceof CDATASection)) {
+            ((Text) lastChild).appendData(text);
+        } else {
+            current.appendChild(document.createTextNode(text));
+        }
+    }
+
+    private void appendHtml(@NotNull String html) {
+        int length = html.length();
+        int pos = 0;
+
+        while (pos < length) {
+            int lt = html.indexOf('<', pos);
+            if (lt == -1) {
+                appendText(unescape(html.substring(pos), false));
+                break;
+            }
+
+            if (lt > pos) appendText(unescape(html.substring(pos, lt), false));
+            pos = appendMarkup(html, lt);
+        }
+    }
+
+    /**
+     * Append markup starting at given '&lt;'
+     *
+     * @return index after the markup
+     */
+    private int appendMarkup(@NotNull String html, int lt) {
+        int length = html.length();
+
+        if (html.startsWith("<!--", lt)) {
+            int end = html.indexOf("-->", lt + 4);
+            return end == -1 ? length : end + 3;
+        }
+
+        if (lt + 1 < length) {
+            char c = html.charAt(lt + 1);
+
+            if (c == '!' || c == '?') {
+                int end = html.indexOf('>', lt);
+                return end == -1 ? length : end + 1;
+            } else if (c == '/') {
+                int nameEnd = nameEnd(html, lt + 2);
+                if (nameEnd > lt + 2) {
+                    closeElement(html.substring(lt + 2, nameEnd));
+                    int end = html.indexOf('>', nameEnd);
+                    return end == -1 ? length : end + 1;
+                }
+            } else if (isAsciiLetter(c)) {
+                return appendStartTag(html, lt);
+            }
+        }
+
+        // not markup, literal '<'
+        appendText("<");
+        return lt + 1;
+    }
+
+    private int appendStartTag(@NotNull String html, int lt) {
+        int length = html.length();
+        int nameEnd = nameEnd(html, lt + 1);
+        String name = html.substring(lt + 1, nameEnd).toLowerCase(Locale.ROOT);
+        Element element = createElement(name);
+        boolean selfClosing = false;
+        int pos = nameEnd;
+
+        while (pos < length) {
+            char c = html.charAt(pos);
+
+            if (c == '>') {
+                pos++;
+                break;
+            } else if (c == '/') {
+                selfClosing = pos + 1 < length && html.charAt(pos + 1) == '>';
+                pos++;
+            } else if (Character.isWhitespace(c) || c == '=') {
+                pos++;
+            } else {
+                int attrEnd = pos;
+                while (attrEnd < length && !isAttributeNameEnd(html.charAt(attrEnd))) attrEnd++;
+
+                String attrName = html.substring(pos, attrEnd).toLowerCase(Locale.ROOT);
+                String value = "";
+                pos = skipWhitespace(html, attrEnd);
+
+                if (pos < length && html.charAt(pos) == '=') {
+                    pos = skipWhitespace(html, pos + 1);
+
+                    if (pos < length && (html.charAt(pos) == '"' || html.charAt(pos) == '\'')) {
+                        int end = html.indexOf(html.charAt(pos), pos + 1);
+                        if (end == -1) end = length;
+                        value = html.substring(pos + 1, end);
+                        pos = Math.min(end + 1, length);
+                    } else {
+                        int end = pos;
+                        while (end < length && !Character.isWhitespace(html.charAt(end)) && html.charAt(end) != '>') end++;
+                        value = html.substring(pos, end);
+                        pos = end;
+                    }
+                }
+
+                if (element != null) setAttribute(element, attrName, unescape(value, true));
+            }
+        }
+
+        if (element == null) return pos;
+
+        current.appendChild(element);
+
+        if (DATA_ELEMENTS.contains(name)) {
+            // content up to close tag is data, if not in this html then following raw html is added as data
+            int end = indexOfCloseTag(html, name, pos);
+            if (end == -1) {
+                if (pos < length) element.appendChild(document.createCDATASection(html.substring(pos)));
+                current = element;
+                return length;
+            }
+
+            if (end > pos) element.appendChild(document.createCDATASection(html.substring(pos, end)));
+            int gt = html.indexOf('>', end);
+            return gt == -1 ? length : gt + 1;
+        }
+
+        if (!selfClosing && !VOID_ELEMENTS.contains(name)) current = element;
+        return pos;
+    }
+
+    private static int indexOfCloseTag(@NotNull String html, @NotNull String name, int fromIndex) {
+        int length = html.length();
+        int nameLength = name.length();
+
+        for (int pos = html.indexOf("</", fromIndex); pos != -1; pos = html.indexOf("</", pos + 2)) {
+            if (pos + 2 + nameLength <= length && html.regionMatches(true, pos + 2, name, 0, nameLength)) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private static int nameEnd(@NotNull String html, int start) {
+        int length = html.length();
+        int pos = start;
+
+        while (pos < length) {
+            char c = html.charAt(pos);
+            if (!(isAsciiLetter(c) || c >= '0' && c <= '9' || c == '-' || c == '_' || c == ':' || c == '.')) break;
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipWhitespace(@NotNull String html, int pos) {
+        int length = html.length();
+        while (pos < length && Character.isWhitespace(html.charAt(pos))) pos++;
+        return pos;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAttributeNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '=' || c == '>' || c == '/';
+    }
+
+    private static @NotNull String unescape(@NotNull String text, boolean inAttribute) {
+        return text.indexOf('&') == -1 ? text : Parser.unescapeEntities(text, inAttribute);
+    }
+}
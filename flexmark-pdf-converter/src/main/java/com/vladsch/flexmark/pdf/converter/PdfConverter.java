@@ -0,0 +1,350 @@
+package com.vladsch.flexmark.pdf.converter;
+
+import com.openhtmltopdf.DOMBuilder;
+import com.openhtmltopdf.bidi.BidiSplitterFactory;
+import com.openhtmltopdf.bidi.support.ICUBidiReorderer;
+import com.openhtmltopdf.bidi.support.ICUBidiSplitter;
+import com.openhtmltopdf.extend.FSCacheEx;
+import com.openhtmltopdf.extend.FSCacheValue;
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder;
+import com.openhtmltopdf.pdfboxout.PdfBoxRenderer;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.util.BatchResult;
+import com.vladsch.flexmark.util.data.DataHolder;
+import org.apache.pdfbox.pdmodel.encryption.ProtectionPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jsoup.Jsoup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reusable HTML to PDF converter
+ * <p>
+ * Options are resolved once when the converter is created: default CSS, text direction, protection policy and fonts.
+ * Font files are read once and their metrics are cached by the converter,
+ * the ICU bidi splitter factory is shared by all conversions, it creates a new splitter for each use.
+ * Each conversion uses its own bidi reorderer, it is not documented to be thread-safe.
+ * <p>
+ * A converter can be used by multiple threads, each conversion uses its own PDF renderer.
+ * Unlike {@link PdfConverterExtension} exportToPdf methods, failures are thrown to the caller.
+ * <p>
+ * Flexmark documents can be converted without HTML text, see {@link #renderDocument(com.vladsch.flexmark.util.ast.Node, HtmlRenderer)}
+ */
+public class PdfConverter {
+    private static final BidiSplitterFactory BIDI_SPLITTER_FACTORY = new ICUBidiSplitter.ICUBidiSplitterFactory();
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+
+    private final @NotNull String css;
+    private final @Nullable PdfRendererBuilder.TextDirection defaultTextDirection;
+    private final @Nullable ProtectionPolicy protectionPolicy;
+    private final @NotNull List<FontData> fonts;
+    private final @NotNull FSCacheEx<String, FSCacheValue> fontMetricsCache;
+
+    public PdfConverter(@Nullable DataHolder options) {
+        this(PdfConverterExtension.DEFAULT_CSS.get(options), PdfConverterExtension.DEFAULT_TEXT_DIRECTION.get(options), PdfConverterExtension.PROTECTION_POLICY.get(options), PdfConverterExtension.FONTS.get(options));
+    }
+
+    public PdfConverter(@Nullable String css, @Nullable PdfRendererBuilder.TextDirection defaultTextDirection, @Nullable ProtectionPolicy protectionPolicy, @NotNull List<Font> fonts) {
+        this.css = css == null ? "" : css;
+        this.defaultTextDirection = defaultTextDirection;
+        this.protectionPolicy = protectionPolicy;
+        this.fontMetricsCache = new FSDefaultCacheStore();
+
+        ArrayList<FontData> fontData = new ArrayList<>(fonts.size());
+        for (Font font : fonts) {
+            try {
+                fontData.add(new FontData(font, Files.readAllBytes(font.getFile().toPath())));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read font file " + font.getFile(), e);
+            }
+        }
+        this.fonts = fontData;
+    }
+
+    public @NotNull String getCss() {
+        return css;
+    }
+
+    public @Nullable PdfRendererBuilder.TextDirection getDefaultTextDirection() {
+        return defaultTextDirection;
+    }
+
+    public @Nullable ProtectionPolicy getProtectionPolicy() {
+        return protectionPolicy;
+    }
+
+    /**
+     * Convert HTML to PDF, default CSS is embedded in the HTML
+     *
+     * @param out  file for PDF output
+     * @param html HTML to convert
+     * @param url  base URL of the document, used to resolve relative links
+     * @throws IOException if conversion or output fails
+     */
+    public void exportToPdf(@NotNull File out, @NotNull String html, @Nullable String url) throws IOException {
+        exportToPdf(new FileOutputStream(out), html, url);
+    }
+
+    /**
+     * Convert HTML to PDF, default CSS is embedded in the HTML
+     *
+     * @param os   output stream for PDF output, closed when done
+     * @param html HTML to convert
+     * @param url  base URL of the document, used to resolve relative links
+     * @throws IOException if conversion or output fails
+     */
+    public void exportToPdf(@NotNull OutputStream os, @NotNull String html, @Nullable String url) throws IOException {
+        Document dom;
+        try {
+            dom = DOMBuilder.jsoup2DOM(Jsoup.parse(PdfConverterExtension.embedCss(html, css)));
+        } catch (RuntimeException e) {
+            os.close();
+            throw e;
+        }
+        exportToPdf(os, dom, url);
+    }
+
+    /**
+     * Convert W3C document to PDF, document is used as is without embedding default CSS
+     *
+     * @param os  output stream for PDF output, closed when done
+     * @param dom document to convert
+     * @param url base URL of the document, used to resolve relative links
+     * @throws IOException if conversion or output fails
+     */
+    public void exportToPdf(@NotNull OutputStream os, @NotNull Document dom, @Nullable String url) throws IOException {
+        PdfBoxRenderer renderer = null;
+        try {
+            PdfRendererBuilder builder = new PdfRendererBuilder();
+
+            if (defaultTextDirection != null) {
+                builder.useUnicodeBidiSplitter(BIDI_SPLITTER_FACTORY);
+                builder.useUnicodeBidiReorderer(new ICUBidiReorderer());
+                builder.defaultTextDirection(defaultTextDirection);
+            }
+
+            builder.useCacheStore(PdfRendererBuilder.CacheStore.PDF_FONT_METRICS, fontMetricsCache);
+            for (FontData font : fonts) {
+                font.addTo(builder);
+            }
+
+            builder.withW3cDocument(dom, url);
+            builder.toStream(os);
+            renderer = builder.buildPdfRenderer();
+
+            if (protectionPolicy != null) {
+                renderer.getPdfDocument().protect(protectionPolicy);
+            }
+
+            renderer.layout();
+            renderer.createPDF();
+        } finally {
+            try {
+                if (renderer != null) {
+                    renderer.close();
+                }
+            } finally {
+                os.close();
+            }
+        }
+    }
+
+    /**
+     * Convert flexmark document to PDF without rendering it to HTML text
+     *
+     * @param os       output stream for PDF output, closed when done
+     * @param node     node to convert, usually the document
+     * @param renderer HTML renderer for the node
+     * @param url      base URL of the document, used to resolve relative links
+     * @throws IOException if conversion or output fails
+     */
+    public void exportToPdf(@NotNull OutputStream os, @NotNull com.vladsch.flexmark.util.ast.Node node, @NotNull HtmlRenderer renderer, @Nullable String url) throws IOException {
+        Document dom;
+        try {
+            dom = renderDocument(node, renderer);
+        } catch (RuntimeException e) {
+            os.close();
+            throw e;
+        }
+        exportToPdf(os, dom, url);
+    }
+
+    /**
+     * Render flexmark node to W3C DOM document with default CSS in a style element of the head
+     * <p>
+     * Node renderers of the HTML renderer add elements directly to the DOM through a {@link DomHtmlWriter}
+     *
+     * @param node     node to render, usually the document
+     * @param renderer HTML renderer for the node
+     * @return DOM document
+     */
+    public @NotNull Document renderDocument(@NotNull com.vladsch.flexmark.util.ast.Node node, @NotNull HtmlRenderer renderer) {
+        Document dom = newDocument();
+        Element html = dom.createElement("html");
+        Element head = dom.createElement("head");
+        Element body = dom.createElement("body");
+
+        dom.appendChild(html);
+        html.appendChild(head);
+        html.appendChild(body);
+
+        if (!css.isEmpty()) {
+            Element style = dom.createElement("style");
+            style.appendChild(dom.createCDATASection("\n" + css + "\n"));
+            head.appendChild(style);
+        }
+
+        renderer.render(node, new DomHtmlWriter(body));
+        return dom;
+    }
+
+    private static @NotNull Document newDocument() {
+        try {
+            DocumentBuilder documentBuilder;
+            synchronized (DOCUMENT_BUILDER_FACTORY) {
+                documentBuilder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+            }
+            return documentBuilder.newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Convert HTML documents to PDF files using the common fork join pool
+     *
+     * @param exports documents to convert
+     * @return results in the same order as exports, with the output file or failure of each export
+     */
+    public @NotNull List<BatchResult<File>> exportToPdf(@NotNull List<? extends Export> exports) {
+        return exportToPdf(exports, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Convert HTML documents to PDF files
+     * <p>
+     * NOTE: waits for all documents to be converted, a failed conversion does not abort the batch
+     *
+     * @param exports  documents to convert
+     * @param executor executor used to run conversions
+     * @return results in the same order as exports, with the output file or failure of each export
+     */
+    public @NotNull List<BatchResult<File>> exportToPdf(@NotNull List<? extends Export> exports, @NotNull Executor executor) {
+        return BatchResult.processAll(exports, executor, () -> this, (converter, export) -> {
+            try {
+                converter.exportToPdf(export.getOut(), export.getHtml(), export.getUrl());
+                return export.getOut();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * HTML document to convert to a PDF file
+     */
+    public static class Export {
+        private final @NotNull File out;
+        private final @NotNull String html;
+        private final @Nullable String url;
+
+        public Export(@NotNull File out, @NotNull String html, @Nullable String url) {
+            this.out = out;
+            this.html = html;
+            this.url = url;
+        }
+
+        public @NotNull File getOut() {
+            return out;
+        }
+
+        public @NotNull String getHtml() {
+            return html;
+        }
+
+        public @Nullable String getUrl() {
+            return url;
+        }
+    }
+
+    /**
+     * Font file to make available to documents under the given font family
+     */
+    public static class Font {
+        private final @NotNull File file;
+        private final @NotNull String family;
+        private final @Nullable Integer weight;
+        private final @Nullable BaseRendererBuilder.FontStyle style;
+        private final boolean subset;
+
+        public Font(@NotNull File file, @NotNull String family) {
+            this(file, family, null, null, true);
+        }
+
+        /**
+         * @param file   TrueType font file
+         * @param family font family name used in CSS
+         * @param weight font weight, null for 400
+         * @param style  font style, null for normal
+         * @param subset true to embed only used glyphs
+         */
+        public Font(@NotNull File file, @NotNull String family, @Nullable Integer weight, @Nullable BaseRendererBuilder.FontStyle style, boolean subset) {
+            this.file = file;
+            this.family = family;
+            this.weight = weight;
+            this.style = style;
+            this.subset = subset;
+        }
+
+        public @NotNull File getFile() {
+            return file;
+        }
+
+        public @NotNull String getFamily() {
+            return family;
+        }
+
+        public @Nullable Integer getWeight() {
+            return weight;
+        }
+
+        public @Nullable BaseRendererBuilder.FontStyle getStyle() {
+            return style;
+        }
+
+        public boolean isSubset() {
+            return subset;
+        }
+    }
+
+    private static class FontData {
+        final @NotNull Font font;
+        final byte[] bytes;
+
+        FontData(@NotNull Font font, byte[] bytes) {
+            this.font = font;
+            this.bytes = bytes;
+        }
+
+        void addTo(@NotNull PdfRendererBuilder builder) {
+            builder.useFont(() -> new ByteArrayInputStream(bytes), font.getFamily(),
+                    font.getWeight() == null ? 400 : font.getWeight(),
+                    font.getStyle() == null ? BaseRendererBuilder.FontStyle.NORMAL : font.getStyle(),
+                    font.isSubset());
+        }
+    }
+}
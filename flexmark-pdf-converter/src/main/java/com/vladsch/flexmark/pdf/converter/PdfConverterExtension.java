@@ -1,24 +1,17 @@
 package com.vladsch.flexmark.pdf.converter;
 
-import com.openhtmltopdf.DOMBuilder;
-import com.openhtmltopdf.bidi.support.ICUBidiReorderer;
-import com.openhtmltopdf.bidi.support.ICUBidiSplitter;
-import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder;
-import com.openhtmltopdf.pdfboxout.PdfBoxRenderer;
 import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
 import com.vladsch.flexmark.util.Utils;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.data.DataKey;
 import com.vladsch.flexmark.util.data.NullableDataKey;
-import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.encryption.ProtectionPolicy;
-import org.jsoup.Jsoup;
-import org.w3c.dom.Document;
 
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
-import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Extension for converting Markdown to PDF
@@ -33,6 +26,10 @@ import java.io.OutputStream;
  * <p>
  * The parsed Markdown text is rendered to HTML then converted to PDF
  * </p>
+ * <p>
+ * For converting multiple documents with the same options use a {@link PdfConverter}, which resolves options,
+ * reads fonts once and reports conversion failures to the caller.
+ * </p>
  */
 public class PdfConverterExtension {
     public static final NullableDataKey<PdfRendererBuilder.TextDirection> DEFAULT_TEXT_DIRECTION = new NullableDataKey<>("DEFAULT_TEXT_DIRECTION");
@@ -41,6 +38,7 @@ public class PdfConverterExtension {
     public static final String DEFAULT_TOC_LIST_CLASS = "toc";
 
     public static final DataKey<String> DEFAULT_CSS = new DataKey<>("DEFAULT_CSS", () -> Utils.getResourceAsString(PdfConverterExtension.class, DEFAULT_CSS_RESOURCE_PATH));
+    public static final DataKey<List<PdfConverter.Font>> FONTS = new DataKey<>("FONTS", Collections.emptyList());
 
     public static String embedCss(String html, String css) {
         if (css != null && !css.isEmpty()) {
@@ -102,51 +100,11 @@ public class PdfConverterExtension {
     }
 
     public static void exportToPdf(OutputStream os, String html, String url, PdfRendererBuilder.TextDirection defaultTextDirection, ProtectionPolicy protectionPolicy) {
-        PdfBoxRenderer renderer = null;
         try {
-            // There are more options on the builder than shown below.
-            PdfRendererBuilder builder = new PdfRendererBuilder();
-
-            handleTextDirection(defaultTextDirection, builder);
-            handleW3cDocument(html, url, builder);
-
-            builder.toStream(os);
-            renderer = builder.buildPdfRenderer();
-            PDDocument document = renderer.getPdfDocument();
-
-            if (protectionPolicy != null)
-                document.protect(protectionPolicy);
-
-            renderer.layout();
-            renderer.createPDF();
+            new PdfConverter(null, defaultTextDirection, protectionPolicy, Collections.emptyList()).exportToPdf(os, html, url);
         } catch (Exception e) {
             e.printStackTrace();
             // LOG exception
-        } finally {
-            try {
-                if (renderer != null) {
-                    renderer.close();
-                }
-                os.close();
-            } catch (IOException e) {
-                // swallow
-            }
-        }
-    }
-
-    private static void handleW3cDocument(String html, String url, PdfRendererBuilder builder) {
-        org.jsoup.nodes.Document doc;
-        doc = Jsoup.parse(html);
-
-        Document dom = DOMBuilder.jsoup2DOM(doc);
-        builder.withW3cDocument(dom, url);
-    }
-
-    private static void handleTextDirection(BaseRendererBuilder.TextDirection defaultTextDirection, PdfRendererBuilder builder) {
-        if (defaultTextDirection != null) {
-            builder.useUnicodeBidiSplitter(new ICUBidiSplitter.ICUBidiSplitterFactory());
-            builder.useUnicodeBidiReorderer(new ICUBidiReorderer());
-            builder.defaultTextDirection(defaultTextDirection); // OR RTL
         }
     }
 }
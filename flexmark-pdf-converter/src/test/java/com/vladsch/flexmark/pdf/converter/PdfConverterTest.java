@@ -0,0 +1,170 @@
+package com.vladsch.flexmark.pdf.converter;
+
+import com.openhtmltopdf.DOMBuilder;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.BatchResult;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import org.jsoup.Jsoup;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class PdfConverterTest {
+    private static final String HTML = "<html><head></head><body><h1>Heading</h1><p>Some <em>text</em></p></body></html>\n";
+    private static final String MARKDOWN = "" +
+            "# Heading *emphasis*\n" +
+            "\n" +
+            "Paragraph with **strong**, `code`, &copy; &amp; < and <span class=\"x\" title='a &amp; b'>inline *html*</span>.\n" +
+            "Soft break with [link](http://example.com \"title\") and ![image](image.png)<br/>\n" +
+            "\n" +
+            "<div class=\"block\">\n" +
+            "<p>html <!-- comment --> block</p>\n" +
+            "<style>p > span { color: red; }</style>\n" +
+            "</div>\n" +
+            "\n" +
+            "* item 1\n" +
+            "* item 2\n" +
+            "\n" +
+            "> quote\n" +
+            "\n" +
+            "```java\n" +
+            "int a = b < c && d > e;\n" +
+            "```\n" +
+            "\n" +
+            "---\n" +
+            "";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static boolean isPdf(byte[] bytes) {
+        return bytes.length > 4 && new String(bytes, 0, 4, StandardCharsets.US_ASCII).equals("%PDF");
+    }
+
+    @Test
+    public void test_exportToPdf() throws IOException {
+        PdfConverter converter = new PdfConverter(new MutableDataSet());
+        assertEquals(PdfConverterExtension.DEFAULT_CSS.get(null), converter.getCss());
+
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            converter.exportToPdf(out, HTML, "");
+            assertTrue(isPdf(out.toByteArray()));
+        }
+    }
+
+    // NOTE: element names, sorted attributes and text, ignoring white space only text between elements
+    private static void appendStructure(StringBuilder out, Node node) {
+        if (node instanceof Element) {
+            Element element = (Element) node;
+            TreeMap<String, String> attributes = new TreeMap<>();
+            NamedNodeMap nodeMap = element.getAttributes();
+            for (int i = 0; i < nodeMap.getLength(); i++) {
+                attributes.put(nodeMap.item(i).getNodeName(), nodeMap.item(i).getNodeValue());
+            }
+
+            out.append("<").append(element.getTagName()).append(attributes.isEmpty() ? "" : " " + attributes).append(">");
+            for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                appendStructure(out, child);
+            }
+            out.append("</").append(element.getTagName()).append(">\n");
+        } else if (node.getNodeType() == Node.TEXT_NODE || node.getNodeType() == Node.CDATA_SECTION_NODE) {
+            String text = node.getNodeValue();
+            if (!text.trim().isEmpty()) out.append(text);
+        }
+    }
+
+    private static String bodyStructure(Document document) {
+        StringBuilder out = new StringBuilder();
+        appendStructure(out, document.getElementsByTagName("body").item(0));
+        return out.toString().replaceAll("[ \\t\\n]+", " ");
+    }
+
+    @Test
+    public void test_renderDocument() {
+        MutableDataSet options = new MutableDataSet();
+        Parser parser = Parser.builder(options).build();
+        HtmlRenderer renderer = HtmlRenderer.builder(options).build();
+        com.vladsch.flexmark.util.ast.Document document = parser.parse(MARKDOWN);
+
+        PdfConverter converter = new PdfConverter("p { margin: 0; }", null, null, Arrays.asList());
+        Document expected = DOMBuilder.jsoup2DOM(Jsoup.parse(PdfConverterExtension.embedCss(renderer.render(document), converter.getCss())));
+        Document actual = converter.renderDocument(document, renderer);
+
+        assertEquals(bodyStructure(expected), bodyStructure(actual));
+        assertEquals("\np { margin: 0; }\n", actual.getElementsByTagName("style").item(0).getTextContent());
+    }
+
+    @Test
+    public void test_exportToPdfDocument() throws IOException {
+        MutableDataSet options = new MutableDataSet();
+        com.vladsch.flexmark.util.ast.Document document = Parser.builder(options).build().parse(MARKDOWN);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PdfConverter(options).exportToPdf(out, document, HtmlRenderer.builder(options).build(), "");
+        assertTrue(isPdf(out.toByteArray()));
+    }
+
+    @Test
+    public void test_exportToPdfFontFailure() {
+        File font = new File(temporaryFolder.getRoot(), "missing.ttf");
+        MutableDataSet options = new MutableDataSet().set(PdfConverterExtension.FONTS, Arrays.asList(new PdfConverter.Font(font, "missing")));
+
+        try {
+            new PdfConverter(options);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("missing.ttf"));
+        }
+    }
+
+    @Test
+    public void test_exportToPdfBatch() throws IOException {
+        PdfConverter converter = new PdfConverter(new MutableDataSet());
+        File out1 = temporaryFolder.newFile("doc1.pdf");
+        File out2 = new File(temporaryFolder.getRoot(), "missing/doc2.pdf");
+        File out3 = temporaryFolder.newFile("doc3.pdf");
+
+        List<PdfConverter.Export> exports = Arrays.asList(
+                new PdfConverter.Export(out1, HTML, ""),
+                new PdfConverter.Export(out2, HTML, ""),
+                new PdfConverter.Export(out3, HTML, "")
+        );
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<BatchResult<File>> results = converter.exportToPdf(exports, executor);
+            assertEquals(3, results.size());
+
+            assertTrue(results.get(0).isSuccess());
+            assertEquals(out1, results.get(0).getValue());
+            assertTrue(isPdf(Files.readAllBytes(out1.toPath())));
+
+            assertFalse(results.get(1).isSuccess());
+            assertNotNull(results.get(1).getFailure());
+
+            assertTrue(results.get(2).isSuccess());
+            assertTrue(isPdf(Files.readAllBytes(out3.toPath())));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
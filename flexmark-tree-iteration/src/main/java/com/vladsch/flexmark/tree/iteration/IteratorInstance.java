@@ -1,12 +1,12 @@
 package com.vladsch.flexmark.tree.iteration;
 
+import com.vladsch.flexmark.util.collection.ArrayStack;
 import com.vladsch.flexmark.util.data.MutableDataHolder;
 import com.vladsch.flexmark.util.data.MutableDataSet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
-import java.util.Stack;
 import java.util.function.Predicate;
 
 final public class IteratorInstance<N, R> implements ValueIteration<R> {
@@ -15,7 +15,7 @@ final public class IteratorInstance<N, R> implements ValueIteration<R> {
     final static private Logger LOG_TRACE = TreeIterator.LOG_TRACE;
 
     private Iteration<N> myIteration;               // current iteration information
-    private @Nullable Stack<Iteration<N>> myRecursions;       // recursion frames
+    private @Nullable ArrayStack<Iteration<N>> myRecursions;       // recursion frames
     final @NotNull private IterationConditions<N> myIterationConditions;
     final @NotNull private Predicate<? super N> myRecursionPredicate;
     final @NotNull private Predicate<? super N> myFilterPredicate;
@@ -155,7 +155,7 @@ final public class IteratorInstance<N, R> implements ValueIteration<R> {
     private void Recurse() {
         if (myMatch != null && !myHadRecurse) {
             if (myRecursions == null) {
-                myRecursions = new Stack<>();
+                myRecursions = new ArrayStack<>();
             }
 
             myHadRecurse = true;
@@ -0,0 +1,114 @@
+package com.vladsch.flexmark.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Result of processing one item of a batch, either the processed value or the failure for the item
+ *
+ * @param <T> type of result value
+ */
+public final class BatchResult<T> {
+    private final int index;
+    private final @Nullable T value;
+    private final @Nullable Throwable failure;
+
+    private BatchResult(int index, @Nullable T value, @Nullable Throwable failure) {
+        this.index = index;
+        this.value = value;
+        this.failure = failure;
+    }
+
+    public static <T> @NotNull BatchResult<T> success(int index, @NotNull T value) {
+        return new BatchResult<>(index, value, null);
+    }
+
+    public static <T> @NotNull BatchResult<T> failure(int index, @NotNull Throwable failure) {
+        return new BatchResult<>(index, null, failure);
+    }
+
+    /**
+     * @return index of the item in the batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+
+    /**
+     * @return result value
+     * @throws IllegalStateException if processing of the item failed, with the failure as the cause
+     */
+    public @NotNull T getValue() {
+        if (failure != null) throw new IllegalStateException("Item " + index + " of batch failed", failure);
+        //noinspection ConstantConditions
+        return value;
+    }
+
+    public @Nullable Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" + index + ", " + (failure == null ? value : "failure=" + failure) + "}";
+    }
+
+    /**
+     * Process all items using given executor
+     * <p>
+     * Workers are created by the worker factory as needed and re-used for the following items,
+     * a worker is only used by one item at a time. A worker which fails to process an item is not re-used.
+     * <p>
+     * NOTE: waits for all items to be processed, a failure of an item does not abort the batch
+     *
+     * @param items         items to process
+     * @param executor      executor to use for processing items, can be any executor, including one using a thread per item
+     * @param workerFactory factory for per worker state
+     * @param processor     processor of an item using the given worker
+     * @param <I>           type of items
+     * @param <W>           type of worker state
+     * @param <T>           type of result
+     * @return results in the same order as items
+     */
+    public static <I, W, T> @NotNull List<BatchResult<T>> processAll(@NotNull List<? extends I> items, @NotNull Executor executor, @NotNull Supplier<? extends W> workerFactory, @NotNull BiFunction<? super W, ? super I, ? extends T> processor) {
+        int iMax = items.size();
+        ConcurrentLinkedQueue<W> workers = new ConcurrentLinkedQueue<>();
+        ArrayList<CompletableFuture<BatchResult<T>>> futures = new ArrayList<>(iMax);
+
+        for (int i = 0; i < iMax; i++) {
+            int index = i;
+            I item = items.get(i);
+
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    W worker = workers.poll();
+                    if (worker == null) worker = workerFactory.get();
+
+                    BatchResult<T> result = success(index, processor.apply(worker, item));
+                    workers.offer(worker);
+                    return result;
+                } catch (Throwable t) {
+                    return failure(index, t);
+                }
+            }, executor));
+        }
+
+        ArrayList<BatchResult<T>> results = new ArrayList<>(iMax);
+        for (CompletableFuture<BatchResult<T>> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+}
@@ -22,15 +22,16 @@
 
 package com.vladsch.flexmark.util;
 
+import com.vladsch.flexmark.util.collection.ArrayStack;
+
 import java.util.List;
-import java.util.Stack;
 
 public class DelimitedBuilder {
     private String delimiter;
     private StringBuilder out;
     private boolean pending = false;
     private int lastLen = 0;
-    private Stack<String> delimiterStack = null;
+    private ArrayStack<String> delimiterStack = null;
 
     public DelimitedBuilder() {
         this(",", 0);
@@ -92,7 +93,7 @@ public class DelimitedBuilder {
 
     public DelimitedBuilder push(String delimiter) {
         unmark();
-        if (delimiterStack == null) delimiterStack = new Stack<>();
+        if (delimiterStack == null) delimiterStack = new ArrayStack<>();
         delimiterStack.push(this.delimiter);
         this.delimiter = delimiter;
         return this;
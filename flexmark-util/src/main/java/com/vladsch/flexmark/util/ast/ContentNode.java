@@ -46,6 +46,12 @@ public abstract class ContentNode extends Node implements Content {
         this.lineSegments = blockContent.getLines();
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        lineSegments = rebase.rebase(lineSegments);
+    }
+
     @Override
     public @NotNull BasedSequence getSpanningChars() {
         return getSpanningChars(lineSegments);
@@ -1,16 +1,16 @@
 package com.vladsch.flexmark.util.ast;
 
+import com.vladsch.flexmark.util.collection.ArrayStack;
 import com.vladsch.flexmark.util.collection.iteration.ReversiblePeekingIterator;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Stack;
 import java.util.function.Consumer;
 
 public class DescendantNodeIterator implements ReversiblePeekingIterator<Node> {
     private final boolean isReversed;
     private @NotNull ReversiblePeekingIterator<Node> iterator;
-    private @Nullable Stack<ReversiblePeekingIterator<Node>> iteratorStack;
+    private @Nullable ArrayStack<ReversiblePeekingIterator<Node>> iteratorStack;
     private Node result;
 
     /**
@@ -42,7 +42,7 @@ public class DescendantNodeIterator implements ReversiblePeekingIterator<Node> {
         if (result.getFirstChild() != null) {
             // push the current iterator on to the stack and make the node's children the iterator
             if (iterator.hasNext()) {
-                if (iteratorStack == null) iteratorStack = new Stack<>();
+                if (iteratorStack == null) iteratorStack = new ArrayStack<>();
                 iteratorStack.push(iterator);
             }
 
@@ -254,6 +254,18 @@ public abstract class Node {
         this.chars = chars;
     }
 
+    /**
+     * Re-base character sequences of this node on the text after an edit, used by incremental re-parsing
+     * <p>
+     * NOTE: node types which keep sequences in their own fields must override and re-base these too,
+     * sequences of {@link #getSegments()} left on the old text make the document be parsed in full
+     *
+     * @param rebase re-base of sequences to new text
+     */
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        chars = rebase.rebase(chars);
+    }
+
     @Nullable
     public Node getNext() {
         return next;
@@ -1,5 +1,6 @@
 package com.vladsch.flexmark.util.ast;
 
+import com.vladsch.flexmark.util.collection.ArrayStack;
 import com.vladsch.flexmark.util.collection.CopyOnWriteRef;
 import com.vladsch.flexmark.util.collection.OrderedMap;
 import com.vladsch.flexmark.util.collection.OrderedSet;
@@ -11,7 +12,7 @@ public class NodeClassifierVisitor extends NodeVisitorBase implements NodeTracke
     private final OrderedMap<Class<?>, Set<Class<?>>> exclusionMap;
     private final OrderedSet<Class<?>> exclusionSet;
     private final HashMap<Integer, BitSet> nodeAncestryMap;
-    private final Stack<BitSet> nodeAncestryBitSetStack = new Stack<>();
+    private final ArrayStack<BitSet> nodeAncestryBitSetStack = new ArrayStack<>();
     private final CopyOnWriteRef<BitSet> nodeAncestryBitSet = new CopyOnWriteRef<>(new BitSet(), value -> value != null ? (BitSet) value.clone() : new BitSet());
 
     private static final BitSet EMPTY_SET = new BitSet();
@@ -48,6 +48,32 @@ public abstract class NodeRepository<T> implements Map<String, T> {
         return nodeMap.values();
     }
 
+    /**
+     * Replace nodes defined by an edited part of the document with nodes defined by its new text,
+     * used by incremental re-parsing
+     *
+     * @param oldNodes   nodes defined by the old text of the edited part, in document order
+     * @param repository repository used to parse the new text of the edited part, nodes it added replace old nodes
+     */
+    public void replaceNodes(@NotNull List<T> oldNodes, @NotNull NodeRepository<T> repository) {
+        if (keepType == KeepType.LOCKED) throw new IllegalStateException("Not allowed to modify LOCKED repository");
+
+        HashSet<T> removed = new HashSet<>(oldNodes);
+        HashSet<T> added = new HashSet<>(repository.nodeList);
+
+        // NOTE: node list is in document order, new nodes take the place of old ones
+        int index = oldNodes.isEmpty() ? -1 : nodeList.indexOf(oldNodes.get(0));
+        nodeList.removeIf(removed::contains);
+        nodeList.addAll(index == -1 ? nodeList.size() : index, repository.nodeList);
+
+        nodeMap.values().removeIf(removed::contains);
+        for (Entry<String, T> entry : repository.nodeMap.entrySet()) {
+            if (added.contains(entry.getValue())) {
+                nodeMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
     public static <T> boolean transferReferences(@NotNull NodeRepository<T> destination, @NotNull NodeRepository<T> included, boolean onlyIfUndefined, @Nullable Map<String, String> referenceIdMap) {
         // copy references but only if they are not defined in the original document
         boolean transferred = false;
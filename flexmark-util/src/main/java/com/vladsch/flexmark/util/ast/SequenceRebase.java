@@ -0,0 +1,72 @@
+package com.vladsch.flexmark.util.ast;
+
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+import com.vladsch.flexmark.util.sequence.SubSequence;
+import com.vladsch.flexmark.util.sequence.builder.SequenceBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves character sequences of nodes from the text they were parsed from to the text after an edit
+ * <p>
+ * Used with {@link Node#rebaseChars(SequenceRebase)}, offsets of sequences are shifted by the length change
+ * of the edit, sequences which are not based on the old text are left as is.
+ */
+public final class SequenceRebase {
+    private final @NotNull Object oldBase;
+    private final @NotNull BasedSequence newChars;
+    private final int delta;
+
+    /**
+     * @param oldChars text nodes were parsed from
+     * @param newChars text after the edit
+     * @param delta    offset change of nodes being re-based
+     */
+    public SequenceRebase(@NotNull BasedSequence oldChars, @NotNull BasedSequence newChars, int delta) {
+        this.oldBase = oldChars.getBase();
+        this.newChars = newChars;
+        this.delta = delta;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    /**
+     * @param chars sequence
+     * @return true if sequence is based on the old text
+     */
+    public boolean isStale(@NotNull BasedSequence chars) {
+        return chars.getBase() == oldBase;
+    }
+
+    public @NotNull BasedSequence rebase(@NotNull BasedSequence chars) {
+        if (chars.getBase() != oldBase) return chars;
+
+        if (chars instanceof SubSequence || chars.isEmpty()) {
+            return newChars.subSequence(chars.getStartOffset() + delta, chars.getEndOffset() + delta);
+        }
+
+        // not contiguous in base, re-create from offsets of its characters
+        SequenceBuilder builder = SequenceBuilder.emptyBuilder(newChars);
+        int iMax = chars.length();
+        for (int i = 0; i < iMax; i++) {
+            int offset = chars.getIndexOffset(i);
+            if (offset < 0) builder.append(chars.charAt(i));
+            else builder.append(offset + delta, offset + delta + 1);
+        }
+        return builder.toSequence();
+    }
+
+    public @NotNull List<BasedSequence> rebase(@NotNull List<BasedSequence> list) {
+        if (list.isEmpty()) return list;
+
+        ArrayList<BasedSequence> rebased = new ArrayList<>(list.size());
+        for (BasedSequence chars : list) {
+            rebased.add(rebase(chars));
+        }
+        return rebased;
+    }
+}
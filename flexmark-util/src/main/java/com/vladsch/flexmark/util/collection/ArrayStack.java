@@ -0,0 +1,102 @@
+package com.vladsch.flexmark.util.collection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Unsynchronized array based stack, replacement for {@link java.util.Stack} for state confined to one thread
+ *
+ * @param <E> type of elements
+ */
+public class ArrayStack<E> {
+    private static final Object[] EMPTY_ELEMENTS = new Object[0];
+
+    private Object[] elements;
+    private int size;
+
+    public ArrayStack() {
+        elements = EMPTY_ELEMENTS;
+    }
+
+    public ArrayStack(int initialCapacity) {
+        elements = initialCapacity == 0 ? EMPTY_ELEMENTS : new Object[initialCapacity];
+    }
+
+    public E push(E item) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(8, size * 2));
+        }
+        elements[size++] = item;
+        return item;
+    }
+
+    /**
+     * @return top element which is removed from the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public E pop() {
+        if (size == 0) throw new EmptyStackException();
+
+        @SuppressWarnings("unchecked")
+        E item = (E) elements[--size];
+        elements[size] = null;
+        return item;
+    }
+
+    /**
+     * @return top element
+     * @throws EmptyStackException if the stack is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        if (size == 0) throw new EmptyStackException();
+        return (E) elements[size - 1];
+    }
+
+    /**
+     * @param index index from bottom of the stack
+     * @return element at index
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return (E) elements[index];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * @return list of elements from bottom to top of the stack
+     */
+    public @NotNull ArrayList<E> toList() {
+        ArrayList<E> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
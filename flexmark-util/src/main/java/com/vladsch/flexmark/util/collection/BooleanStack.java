@@ -0,0 +1,67 @@
+package com.vladsch.flexmark.util.collection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Unsynchronized stack of boolean values which does not box its elements
+ */
+public class BooleanStack {
+    private static final boolean[] EMPTY_ELEMENTS = new boolean[0];
+
+    private boolean[] elements;
+    private int size;
+
+    public BooleanStack() {
+        elements = EMPTY_ELEMENTS;
+    }
+
+    public BooleanStack(int initialCapacity) {
+        elements = initialCapacity == 0 ? EMPTY_ELEMENTS : new boolean[initialCapacity];
+    }
+
+    public boolean push(boolean item) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(8, size * 2));
+        }
+        elements[size++] = item;
+        return item;
+    }
+
+    /**
+     * @return top element which is removed from the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public boolean pop() {
+        if (size == 0) throw new EmptyStackException();
+        return elements[--size];
+    }
+
+    /**
+     * @return top element
+     * @throws EmptyStackException if the stack is empty
+     */
+    public boolean peek() {
+        if (size == 0) throw new EmptyStackException();
+        return elements[size - 1];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return Arrays.toString(Arrays.copyOf(elements, size));
+    }
+}
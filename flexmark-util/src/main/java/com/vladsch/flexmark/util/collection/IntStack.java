@@ -0,0 +1,67 @@
+package com.vladsch.flexmark.util.collection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Unsynchronized stack of int values which does not box its elements
+ */
+public class IntStack {
+    private static final int[] EMPTY_ELEMENTS = new int[0];
+
+    private int[] elements;
+    private int size;
+
+    public IntStack() {
+        elements = EMPTY_ELEMENTS;
+    }
+
+    public IntStack(int initialCapacity) {
+        elements = initialCapacity == 0 ? EMPTY_ELEMENTS : new int[initialCapacity];
+    }
+
+    public int push(int item) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(8, size * 2));
+        }
+        elements[size++] = item;
+        return item;
+    }
+
+    /**
+     * @return top element which is removed from the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public int pop() {
+        if (size == 0) throw new EmptyStackException();
+        return elements[--size];
+    }
+
+    /**
+     * @return top element
+     * @throws EmptyStackException if the stack is empty
+     */
+    public int peek() {
+        if (size == 0) throw new EmptyStackException();
+        return elements[size - 1];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return Arrays.toString(Arrays.copyOf(elements, size));
+    }
+}
@@ -7,10 +7,9 @@ import com.vladsch.flexmark.util.sequence.ReplacedTextMapper;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Random;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class Escaping {
 
@@ -24,68 +23,75 @@ public class Escaping {
                     .replace("]", "\\]") +
             "]";
 
-    private static final String ENTITY = "&(?:#x[a-f0-9]{1,8}|#[0-9]{1,8}|[a-z][a-z0-9]{1,31});";
-
-    private static final Pattern BACKSLASH_ONLY = Pattern.compile("[\\\\]");
-
-    private static final Pattern ESCAPED_CHAR =
-            Pattern.compile("\\\\" + ESCAPABLE, Pattern.CASE_INSENSITIVE);
-
-    private static final Pattern BACKSLASH_OR_AMP = Pattern.compile("[\\\\&]");
-
-    private static final Pattern AMP_ONLY = Pattern.compile("[\\&]");
-
-    private static final Pattern ENTITY_OR_ESCAPED_CHAR =
-            Pattern.compile("\\\\" + ESCAPABLE + '|' + ENTITY, Pattern.CASE_INSENSITIVE);
+    static final char[] HEX_DIGITS =
+            new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F' };
 
-    private static final Pattern ENTITY_ONLY =
-            Pattern.compile(ENTITY, Pattern.CASE_INSENSITIVE);
+    // NOTE: text is scanned by hand written matchers of the regular expressions in comments,
+    //  ASCII character classes are looked up in a table indexed by character
+    private static final int CHAR_CLASS_SIZE = 128;
+    private static final byte ESCAPABLE_CLASS = 1;      // can be backslash escaped
+    private static final byte URI_SAFE_CLASS = 2;       // not percent encoded in URIs
+    private static final byte HEX_DIGIT_CLASS = 4;
+    private static final byte DIGIT_CLASS = 8;
+    private static final byte ALPHA_CLASS = 16;
+    private static final byte[] CHAR_CLASSES = new byte[CHAR_CLASS_SIZE];
+
+    static {
+        for (char c : ("!" + ESCAPABLE_CHARS).toCharArray()) CHAR_CLASSES[c] |= ESCAPABLE_CLASS;
+        // From RFC 3986 (see "reserved", "unreserved") except don't escape '[' or ']' to be compatible with JS encodeURI
+        for (char c : ":/?#@!$&'()*+,;=-._~".toCharArray()) CHAR_CLASSES[c] |= URI_SAFE_CLASS;
+        for (char c = '0'; c <= '9'; c++) CHAR_CLASSES[c] |= URI_SAFE_CLASS | HEX_DIGIT_CLASS | DIGIT_CLASS;
+        for (char c = 'a'; c <= 'z'; c++) {
+            CHAR_CLASSES[c] |= URI_SAFE_CLASS | ALPHA_CLASS | (c <= 'f' ? HEX_DIGIT_CLASS : 0);
+            CHAR_CLASSES[c - 'a' + 'A'] |= URI_SAFE_CLASS | ALPHA_CLASS | (c <= 'f' ? HEX_DIGIT_CLASS : 0);
+        }
+    }
 
-    private static final String XML_SPECIAL = "[&<>\"]";
+    // \\[!"#$%&'()*+,./:;<=>?@\[\]\\^_`{|}~-]
+    private static final Scanner ESCAPED_CHAR = (s, index, c) -> c == '\\' ? escapedCharEnd(s, index) : -1;
 
-    private static final Pattern XML_SPECIAL_RE = Pattern.compile(XML_SPECIAL);
+    // &(?:#x[a-f0-9]{1,8}|#[0-9]{1,8}|[a-z][a-z0-9]{1,31});
+    private static final Scanner ENTITY_ONLY = (s, index, c) -> c == '&' ? entityEnd(s, index) : -1;
 
-    private static final Pattern XML_SPECIAL_OR_ENTITY =
-            Pattern.compile(ENTITY + '|' + XML_SPECIAL, Pattern.CASE_INSENSITIVE);
+    private static final Scanner ENTITY_OR_ESCAPED_CHAR = (s, index, c) -> c == '\\' ? escapedCharEnd(s, index) : c == '&' ? entityEnd(s, index) : -1;
 
-    // From RFC 3986 (see "reserved", "unreserved") except don't escape '[' or ']' to be compatible with JS encodeURI
-    private static final Pattern ESCAPE_IN_URI =
-            Pattern.compile("(%[a-fA-F0-9]{0,2}|[^:/?#@!$&'()*+,;=a-zA-Z0-9\\-._~])");
+    // [&<>"]
+    private static final Scanner XML_SPECIAL = (s, index, c) -> isXmlSpecial(c) ? index + 1 : -1;
 
-    static final char[] HEX_DIGITS =
-            new char[] { '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F' };
+    private static final Scanner XML_SPECIAL_OR_ENTITY = (s, index, c) -> {
+        if (c == '&') {
+            int end = entityEnd(s, index);
+            return end != -1 ? end : index + 1;
+        }
+        return isXmlSpecial(c) ? index + 1 : -1;
+    };
 
-    private static final Pattern WHITESPACE = Pattern.compile("[ \t\r\n]+");
+    // [ \t]{2,}
+    private static final Scanner COLLAPSE_WHITESPACE = (s, index, c) -> {
+        if (c != ' ' && c != '\t') return -1;
 
-    private static final Pattern COLLAPSE_WHITESPACE = Pattern.compile("[ \t]{2,}");
+        int iMax = s.length();
+        int end = index + 1;
+        while (end < iMax && (s.charAt(end) == ' ' || s.charAt(end) == '\t')) end++;
+        return end - index >= 2 ? end : -1;
+    };
 
     private static final Replacer UNSAFE_CHAR_REPLACER = new Replacer() {
         @Override
-        public void replace(@NotNull String s, @NotNull StringBuilder sb) {
-            if (s.equals("&")) {
-                sb.append("&amp;");
-            } else if (s.equals("<")) {
-                sb.append("&lt;");
-            } else if (s.equals(">")) {
-                sb.append("&gt;");
-            } else if (s.equals("\"")) {
-                sb.append("&quot;");
+        public void replace(@NotNull CharSequence s, int startIndex, int endIndex, @NotNull StringBuilder sb) {
+            String replacement = endIndex - startIndex == 1 ? xmlSpecialReplacement(s.charAt(startIndex)) : null;
+            if (replacement != null) {
+                sb.append(replacement);
             } else {
-                sb.append(s);
+                sb.append(s, startIndex, endIndex);
             }
         }
 
         @Override
         public void replace(@NotNull BasedSequence original, int startIndex, int endIndex, @NotNull ReplacedTextMapper textMapper) {
-            String s1 = original.subSequence(startIndex, endIndex).toString();
-            if (s1.equals("&")) {
-                textMapper.addReplacedText(startIndex, endIndex, PrefixedSubSequence.prefixOf("&amp;", BasedSequence.NULL));
-            } else if (s1.equals("<")) {
-                textMapper.addReplacedText(startIndex, endIndex, PrefixedSubSequence.prefixOf("&lt;", BasedSequence.NULL));
-            } else if (s1.equals(">")) {
-                textMapper.addReplacedText(startIndex, endIndex, PrefixedSubSequence.prefixOf("&gt;", BasedSequence.NULL));
-            } else if (s1.equals("\"")) {
-                textMapper.addReplacedText(startIndex, endIndex, PrefixedSubSequence.prefixOf("&quot;", BasedSequence.NULL));
+            String replacement = endIndex - startIndex == 1 ? xmlSpecialReplacement(original.charAt(startIndex)) : null;
+            if (replacement != null) {
+                textMapper.addReplacedText(startIndex, endIndex, PrefixedSubSequence.prefixOf(replacement, BasedSequence.NULL));
             } else {
                 textMapper.addOriginalText(startIndex, endIndex);
             }
@@ -94,7 +100,7 @@ public class Escaping {
 
     private static final Replacer COLLAPSE_WHITESPACE_REPLACER = new Replacer() {
         @Override
-        public void replace(@NotNull String s, @NotNull StringBuilder sb) {
+        public void replace(@NotNull CharSequence s, int startIndex, int endIndex, @NotNull StringBuilder sb) {
             sb.append(" ");
         }
 
@@ -106,11 +112,11 @@ public class Escaping {
 
     private static final Replacer UNESCAPE_REPLACER = new Replacer() {
         @Override
-        public void replace(@NotNull String s, @NotNull StringBuilder sb) {
-            if (s.charAt(0) == '\\') {
-                sb.append(s, 1, s.length());
+        public void replace(@NotNull CharSequence s, int startIndex, int endIndex, @NotNull StringBuilder sb) {
+            if (s.charAt(startIndex) == '\\') {
+                sb.append(s, startIndex + 1, endIndex);
             } else {
-                sb.append(Html5Entities.entityToString(s));
+                sb.append(Html5Entities.entityToString(s.subSequence(startIndex, endIndex).toString()));
             }
         }
 
@@ -126,7 +132,7 @@ public class Escaping {
 
     private static final Replacer REMOVE_REPLACER = new Replacer() {
         @Override
-        public void replace(@NotNull String s, @NotNull StringBuilder sb) {
+        public void replace(@NotNull CharSequence s, int startIndex, int endIndex, @NotNull StringBuilder sb) {
 
         }
 
@@ -138,8 +144,8 @@ public class Escaping {
 
     private static final Replacer ENTITY_REPLACER = new Replacer() {
         @Override
-        public void replace(@NotNull String s, @NotNull StringBuilder sb) {
-            sb.append(Html5Entities.entityToString(s));
+        public void replace(@NotNull CharSequence s, int startIndex, int endIndex, @NotNull StringBuilder sb) {
+            sb.append(Html5Entities.entityToString(s.subSequence(startIndex, endIndex).toString()));
         }
 
         @Override
@@ -148,64 +154,55 @@ public class Escaping {
         }
     };
 
-    private static final Replacer URI_REPLACER = new Replacer() {
-        @Override
-        public void replace(@NotNull String s, @NotNull StringBuilder sb) {
-            if (s.startsWith("%")) {
-                if (s.length() == 3) {
-                    // Already percent-encoded, preserve
-                    sb.append(s);
-                } else {
-                    // %25 is the percent-encoding for %
-                    sb.append("%25");
-                    sb.append(s, 1, s.length());
-                }
-            } else {
-                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
-                for (byte b : bytes) {
-                    sb.append('%');
-                    sb.append(HEX_DIGITS[(b >> 4) & 0xF]);
-                    sb.append(HEX_DIGITS[b & 0xF]);
-                }
-            }
-        }
+    public static final @NotNull CharPredicate AMP_BACKSLASH_SET = CharPredicate.anyOf('\\', '&');
 
-        @Override
-        public void replace(@NotNull BasedSequence original, int startIndex, int endIndex, @NotNull ReplacedTextMapper textMapper) {
-            BasedSequence s = original.subSequence(startIndex, endIndex);
-            if (s.startsWith("%")) {
-                if (s.length() == 3) {
-                    // Already percent-encoded, preserve
-                    textMapper.addOriginalText(startIndex, endIndex);
-                } else {
-                    // %25 is the percent-encoding for %
-                    textMapper.addReplacedText(startIndex, startIndex + 1, PrefixedSubSequence.prefixOf("%25", BasedSequence.NULL));
-                    textMapper.addOriginalText(startIndex + 1, endIndex);
-                }
-            } else {
-                byte[] bytes = s.toString().getBytes(StandardCharsets.UTF_8);
-                StringBuilder sbItem = new StringBuilder();
+    /**
+     * Escape HTML special characters
+     *
+     * @param s                text to escape
+     * @param preserveEntities true if HTML entities are not to be escaped
+     * @return escaped text, the given text if it is a string with nothing to escape
+     */
+    public static String escapeHtml(@NotNull CharSequence s, boolean preserveEntities) {
+        return replaceAll(preserveEntities ? XML_SPECIAL_OR_ENTITY : XML_SPECIAL, s, UNSAFE_CHAR_REPLACER);
+    }
 
-                for (byte b : bytes) {
-                    sbItem.append('%');
-                    sbItem.append(HEX_DIGITS[(b >> 4) & 0xF]);
-                    sbItem.append(HEX_DIGITS[b & 0xF]);
+    /**
+     * Escape HTML special characters to the appendable, unchanged runs of text are appended as sub-sequences of the text
+     *
+     * @param s                text to escape
+     * @param preserveEntities true if HTML entities are not to be escaped
+     * @param out              appendable for escaped text
+     * @throws IOException if thrown by the appendable
+     */
+    public static void escapeHtml(@NotNull CharSequence s, boolean preserveEntities, @NotNull Appendable out) throws IOException {
+        int iMax = s.length();
+        int lastEnd = 0;
+
+        for (int i = 0; i < iMax; i++) {
+            char c = s.charAt(i);
+            if (!isXmlSpecial(c)) continue;
+
+            if (preserveEntities && c == '&') {
+                int end = entityEnd(s, i);
+                if (end != -1) {
+                    i = end - 1;
+                    continue;
                 }
-                textMapper.addReplacedText(startIndex, endIndex, PrefixedSubSequence.prefixOf(sbItem.toString(), BasedSequence.NULL));
             }
+
+            if (lastEnd < i) out.append(s, lastEnd, i);
+            out.append(xmlSpecialReplacement(c));
+            lastEnd = i + 1;
         }
-    };
-    public static final @NotNull CharPredicate AMP_BACKSLASH_SET = CharPredicate.anyOf('\\', '&');
 
-    public static String escapeHtml(@NotNull CharSequence s, boolean preserveEntities) {
-        Pattern p = preserveEntities ? XML_SPECIAL_OR_ENTITY : XML_SPECIAL_RE;
-        return replaceAll(p, s, UNSAFE_CHAR_REPLACER);
+        if (lastEnd == 0) out.append(s);
+        else if (lastEnd < iMax) out.append(s, lastEnd, iMax);
     }
 
     @NotNull
     public static BasedSequence escapeHtml(@NotNull BasedSequence s, boolean preserveEntities, @NotNull ReplacedTextMapper textMapper) {
-        Pattern p = preserveEntities ? XML_SPECIAL_OR_ENTITY : XML_SPECIAL_RE;
-        return replaceAll(p, s, UNSAFE_CHAR_REPLACER, textMapper);
+        return replaceAll(preserveEntities ? XML_SPECIAL_OR_ENTITY : XML_SPECIAL, s, UNSAFE_CHAR_REPLACER, textMapper);
     }
 
     /**
@@ -216,11 +213,7 @@ public class Escaping {
      */
     @NotNull
     public static String unescapeString(@NotNull CharSequence s) {
-        if (BACKSLASH_OR_AMP.matcher(s).find()) {
-            return replaceAll(ENTITY_OR_ESCAPED_CHAR, s, UNESCAPE_REPLACER);
-        } else {
-            return String.valueOf(s);
-        }
+        return replaceAll(ENTITY_OR_ESCAPED_CHAR, s, UNESCAPE_REPLACER);
     }
 
     /**
@@ -233,13 +226,9 @@ public class Escaping {
     @NotNull
     public static String unescapeString(@NotNull CharSequence s, boolean unescapeEntities) {
         if (unescapeEntities) {
-            if (BACKSLASH_OR_AMP.matcher(s).find()) {
-                return replaceAll(ESCAPED_CHAR, s, UNESCAPE_REPLACER);
-            } else {
-                return String.valueOf(s);
-            }
+            return replaceAll(ESCAPED_CHAR, s, UNESCAPE_REPLACER);
         } else {
-            if (BACKSLASH_ONLY.matcher(s).find()) {
+            if (indexOf(s, '\\') != -1) {
                 return replaceAll(ENTITY_OR_ESCAPED_CHAR, s, UNESCAPE_REPLACER);
             } else {
                 return String.valueOf(s);
@@ -274,9 +263,11 @@ public class Escaping {
      */
     @NotNull
     public static BasedSequence removeAll(@NotNull BasedSequence s, @NotNull CharSequence remove, @NotNull ReplacedTextMapper textMapper) {
-        int indexOf = s.indexOf(remove);
-        if (indexOf != -1) {
-            return replaceAll(Pattern.compile("\\Q" + remove + "\\E"), s, REMOVE_REPLACER, textMapper);
+        int length = remove.length();
+        if (length > 0 && indexOf(s, remove) != -1) {
+            char first = remove.charAt(0);
+            Scanner scanner = (chars, index, c) -> c == first && index + length <= chars.length() && regionMatches(chars, index, remove) ? index + length : -1;
+            return replaceAll(scanner, s, REMOVE_REPLACER, textMapper);
         } else {
             return s;
         }
@@ -290,11 +281,7 @@ public class Escaping {
      */
     @NotNull
     public static String unescapeHtml(@NotNull CharSequence s) {
-        if (AMP_ONLY.matcher(s).find()) {
-            return replaceAll(ENTITY_ONLY, s, ENTITY_REPLACER);
-        } else {
-            return String.valueOf(s);
-        }
+        return replaceAll(ENTITY_ONLY, s, ENTITY_REPLACER);
     }
 
     /**
@@ -347,8 +334,12 @@ public class Escaping {
      */
     @NotNull
     public static String normalizeEOL(@NotNull CharSequence s, boolean endWithEOL) {
-        StringBuilder sb = new StringBuilder(s.length());
         int iMax = s.length();
+        if (indexOf(s, '\r') == -1 && (!endWithEOL || iMax > 0 && s.charAt(iMax - 1) == '\n')) {
+            return String.valueOf(s);
+        }
+
+        StringBuilder sb = new StringBuilder(iMax);
         boolean hadCR = false;
         boolean hadEOL = false;
 
@@ -457,7 +448,44 @@ public class Escaping {
      */
     @NotNull
     public static String percentEncodeUrl(@NotNull CharSequence s) {
-        return replaceAll(ESCAPE_IN_URI, s, URI_REPLACER);
+        // (%[a-fA-F0-9]{0,2}|[^:/?#@!$&'()*+,;=a-zA-Z0-9\-._~])
+        int iMax = s.length();
+        StringBuilder sb = null;
+        int lastEnd = 0;
+
+        for (int i = 0; i < iMax; i++) {
+            char c = s.charAt(i);
+            if (c < CHAR_CLASS_SIZE && (CHAR_CLASSES[c] & URI_SAFE_CLASS) != 0) continue;
+
+            if (c == '%' && i + 2 < iMax && isHexDigit(s.charAt(i + 1)) && isHexDigit(s.charAt(i + 2))) {
+                // Already percent-encoded, preserve
+                i += 2;
+                continue;
+            }
+
+            if (sb == null) sb = new StringBuilder(iMax + 16);
+            sb.append(s, lastEnd, i);
+
+            if (c == '%') {
+                // %25 is the percent-encoding for %
+                sb.append("%25");
+                lastEnd = i + 1;
+            } else {
+                int end = Character.isHighSurrogate(c) && i + 1 < iMax && Character.isLowSurrogate(s.charAt(i + 1)) ? i + 2 : i + 1;
+                byte[] bytes = s.subSequence(i, end).toString().getBytes(StandardCharsets.UTF_8);
+                for (byte b : bytes) {
+                    sb.append('%');
+                    sb.append(HEX_DIGITS[(b >> 4) & 0xF]);
+                    sb.append(HEX_DIGITS[b & 0xF]);
+                }
+                lastEnd = end;
+                i = end - 1;
+            }
+        }
+
+        if (sb == null) return String.valueOf(s);
+        if (lastEnd < iMax) sb.append(s, lastEnd, iMax);
+        return sb.toString();
     }
 
     /**
@@ -577,56 +605,170 @@ public class Escaping {
     }
 
     @NotNull
-    private static String replaceAll(@NotNull Pattern p, @NotNull CharSequence s, @NotNull Replacer replacer) {
-        Matcher matcher = p.matcher(s);
+    private static String replaceAll(@NotNull Scanner scanner, @NotNull CharSequence s, @NotNull Replacer replacer) {
+        int iMax = s.length();
+        StringBuilder sb = null;
+        int lastEnd = 0;
 
-        if (!matcher.find()) {
-            return String.valueOf(s);
+        for (int i = 0; i < iMax; i++) {
+            int end = scanner.matchEnd(s, i, s.charAt(i));
+            if (end == -1) continue;
+
+            if (sb == null) sb = new StringBuilder(iMax + 16);
+            sb.append(s, lastEnd, i);
+            replacer.replace(s, i, end, sb);
+            lastEnd = end;
+            i = end - 1;
         }
 
-        StringBuilder sb = new StringBuilder(s.length() + 16);
-        int lastEnd = 0;
-        do {
-            sb.append(s, lastEnd, matcher.start());
-            replacer.replace(matcher.group(), sb);
-            lastEnd = matcher.end();
-        } while (matcher.find());
+        if (sb == null) {
+            return String.valueOf(s);
+        }
 
-        if (lastEnd != s.length()) {
-            sb.append(s, lastEnd, s.length());
+        if (lastEnd != iMax) {
+            sb.append(s, lastEnd, iMax);
         }
         return sb.toString();
     }
 
     @NotNull
-    private static BasedSequence replaceAll(Pattern p, @NotNull BasedSequence s, @NotNull Replacer replacer, @NotNull ReplacedTextMapper textMapper) {
-        Matcher matcher = p.matcher(s);
-
+    private static BasedSequence replaceAll(@NotNull Scanner scanner, @NotNull BasedSequence s, @NotNull Replacer replacer, @NotNull ReplacedTextMapper textMapper) {
         if (textMapper.isModified()) {
             textMapper.startNestedReplacement(s);
         }
 
-        if (!matcher.find()) {
-            textMapper.addOriginalText(0, s.length());
-            return s;
+        int iMax = s.length();
+        int lastEnd = 0;
+        boolean replaced = false;
+
+        for (int i = 0; i < iMax; i++) {
+            int end = scanner.matchEnd(s, i, s.charAt(i));
+            if (end == -1) continue;
+
+            textMapper.addOriginalText(lastEnd, i);
+            replacer.replace(s, i, end, textMapper);
+            lastEnd = end;
+            replaced = true;
+            i = end - 1;
         }
 
-        int lastEnd = 0;
-        do {
-            textMapper.addOriginalText(lastEnd, matcher.start());
-            replacer.replace(s, matcher.start(), matcher.end(), textMapper);
-            lastEnd = matcher.end();
-        } while (matcher.find());
+        if (!replaced) {
+            textMapper.addOriginalText(0, iMax);
+            return s;
+        }
 
-        if (lastEnd != s.length()) {
-            textMapper.addOriginalText(lastEnd, s.length());
+        if (lastEnd != iMax) {
+            textMapper.addOriginalText(lastEnd, iMax);
         }
 
         return textMapper.getReplacedSequence();
     }
 
+    /**
+     * @return end of HTML entity starting with '&amp;' at index, or -1 if there is none
+     */
+    private static int entityEnd(@NotNull CharSequence s, int index) {
+        int iMax = s.length();
+        int i = index + 1;
+        if (i >= iMax) return -1;
+
+        int start;
+        int minLength;
+        int maxLength;
+        if (s.charAt(i) == '#') {
+            i++;
+            boolean hex = i < iMax && (s.charAt(i) == 'x' || s.charAt(i) == 'X');
+            if (hex) i++;
+
+            start = i;
+            while (i < iMax && (hex ? isHexDigit(s.charAt(i)) : isDigit(s.charAt(i)))) i++;
+            minLength = 1;
+            maxLength = 8;
+        } else {
+            if (!isAlpha(s.charAt(i))) return -1;
+
+            start = i;
+            while (i < iMax && (isAlpha(s.charAt(i)) || isDigit(s.charAt(i)))) i++;
+            minLength = 2;
+            maxLength = 32;
+        }
+
+        int length = i - start;
+        return length >= minLength && length <= maxLength && i < iMax && s.charAt(i) == ';' ? i + 1 : -1;
+    }
+
+    private static int escapedCharEnd(@NotNull CharSequence s, int index) {
+        if (index + 1 < s.length()) {
+            char c = s.charAt(index + 1);
+            if (c < CHAR_CLASS_SIZE && (CHAR_CLASSES[c] & ESCAPABLE_CLASS) != 0) return index + 2;
+        }
+        return -1;
+    }
+
+    private static boolean isXmlSpecial(char c) {
+        return c == '&' || c == '<' || c == '>' || c == '"';
+    }
+
+    @Nullable
+    private static String xmlSpecialReplacement(char c) {
+        switch (c) {
+            case '&':
+                return "&amp;";
+            case '<':
+                return "&lt;";
+            case '>':
+                return "&gt;";
+            case '"':
+                return "&quot;";
+        }
+        return null;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return c < CHAR_CLASS_SIZE && (CHAR_CLASSES[c] & HEX_DIGIT_CLASS) != 0;
+    }
+
+    private static boolean isDigit(char c) {
+        return c < CHAR_CLASS_SIZE && (CHAR_CLASSES[c] & DIGIT_CLASS) != 0;
+    }
+
+    private static boolean isAlpha(char c) {
+        return c < CHAR_CLASS_SIZE && (CHAR_CLASSES[c] & ALPHA_CLASS) != 0;
+    }
+
+    private static int indexOf(@NotNull CharSequence s, char c) {
+        int iMax = s.length();
+        for (int i = 0; i < iMax; i++) {
+            if (s.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    private static int indexOf(@NotNull CharSequence s, @NotNull CharSequence region) {
+        int iMax = s.length() - region.length();
+        for (int i = 0; i <= iMax; i++) {
+            if (regionMatches(s, i, region)) return i;
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(@NotNull CharSequence s, int index, @NotNull CharSequence region) {
+        int iMax = region.length();
+        for (int i = 0; i < iMax; i++) {
+            if (s.charAt(index + i) != region.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    interface Scanner {
+        /**
+         * @return end of match starting at index, or -1 if there is no match at index
+         */
+        int matchEnd(@NotNull CharSequence s, int index, char c);
+    }
+
     interface Replacer {
-        void replace(@NotNull String s, @NotNull StringBuilder sb);
+        void replace(@NotNull CharSequence s, int startIndex, int endIndex, @NotNull StringBuilder sb);
         void replace(@NotNull BasedSequence s, int startIndex, int endIndex, @NotNull ReplacedTextMapper replacedTextMapper);
     }
 }
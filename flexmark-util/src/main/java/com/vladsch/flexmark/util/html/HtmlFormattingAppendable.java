@@ -1,5 +1,6 @@
 package com.vladsch.flexmark.util.html;
 
+import com.vladsch.flexmark.util.collection.ArrayStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -27,7 +28,17 @@ public interface HtmlFormattingAppendable extends LineAppendable {
     @NotNull HtmlFormattingAppendable withAttr();
 
     // tag tracking
+    /**
+     * @return copy of open tags from outermost to innermost, changes to the returned stack do not affect open tags
+     * @deprecated returns a copy, use {@link #getOpenTagStack()} for the open tags tracked by this appendable
+     */
+    @Deprecated
     @NotNull Stack<String> getOpenTags();
+
+    /**
+     * @return open tags tracked by this appendable, from outermost to innermost
+     */
+    @NotNull ArrayStack<String> getOpenTagStack();
     @NotNull List<String> getOpenTagsAfterLast(@NotNull CharSequence latestTag);
 
     @NotNull HtmlFormattingAppendable withCondLineOnChildText();
@@ -1,6 +1,7 @@
 package com.vladsch.flexmark.util.html;
 
 import com.vladsch.flexmark.util.Utils;
+import com.vladsch.flexmark.util.collection.ArrayStack;
 import com.vladsch.flexmark.util.collection.BitFieldSet;
 import com.vladsch.flexmark.util.sequence.RepeatedSequence;
 import com.vladsch.flexmark.util.sequence.builder.SequenceBuilder;
@@ -23,7 +24,7 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
     private boolean withAttributes = false;
     private boolean suppressOpenTagLine = false;
     private boolean suppressCloseTagLine = false;
-    private final @NotNull Stack<String> openTags = new Stack<>();
+    private final @NotNull ArrayStack<String> openTags = new ArrayStack<>();
 
     public HtmlFormattingAppendableBase(LineAppendable other, boolean inheritIndent) {
         this.appendable = new LineFormattingAppendableImpl(other.getOptions());
@@ -124,7 +125,12 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
     @NotNull
     @Override
     public T text(@NotNull CharSequence s) {
-        appendable.append(Escaping.escapeHtml(s, false));
+        try {
+            Escaping.escapeHtml(s, false, appendable);
+        } catch (IOException e) {
+            // NOTE: line appendable does not throw
+            throw new IllegalStateException(e);
+        }
         return (T) this;
     }
 
@@ -215,7 +221,7 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
     }
 
     protected String getOpenTagText() {
-        return Utils.splice(openTags, ", ", true);
+        return Utils.splice(openTags.toList(), ", ", true);
     }
 
     protected void pushTag(CharSequence tagName) {
@@ -238,9 +244,17 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
         popTag(tagName);
     }
 
+    @Deprecated
     @NotNull
     @Override
     public Stack<String> getOpenTags() {
+        Stack<String> stack = new Stack<>();
+        stack.addAll(openTags.toList());
+        return stack;
+    }
+
+    @Override
+    public @NotNull ArrayStack<String> getOpenTagStack() {
         return openTags;
     }
 
@@ -249,7 +263,7 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
     public List<String> getOpenTagsAfterLast(@NotNull CharSequence latestTag) {
         if (openTags.isEmpty()) return Collections.EMPTY_LIST;
 
-        List<String> tagList = new ArrayList<>(openTags);
+        List<String> tagList = openTags.toList();
         int iMax = tagList.size();
         int lastPos = iMax;
         String lastTag = String.valueOf(latestTag);
@@ -275,6 +289,23 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
             withAttributes = false;
         }
 
+        appendOpenTag(tagName, attributes, voidElement);
+
+        if (!voidElement) {
+            tagOpened(tagName);
+        }
+
+        return (T) this;
+    }
+
+    /**
+     * Append open tag text, override to direct tags to other than text output
+     *
+     * @param tagName     tag name
+     * @param attributes  attributes of the tag, null if none
+     * @param voidElement true if void element
+     */
+    protected void appendOpenTag(@NotNull CharSequence tagName, @Nullable Attributes attributes, boolean voidElement) {
         appendable.append("<");
         appendable.append(tagName);
 
@@ -292,14 +323,16 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
             }
         }
 
-        if (voidElement) {
-            appendable.append(" />");
-        } else {
-            appendable.append(">");
-            tagOpened(tagName);
-        }
+        appendable.append(voidElement ? " />" : ">");
+    }
 
-        return (T) this;
+    /**
+     * Append close tag text, override to direct tags to other than text output
+     *
+     * @param tagName tag name, without leading /
+     */
+    protected void appendCloseTag(@NotNull CharSequence tagName) {
+        appendable.append("</").append(tagName).append(">");
     }
 
     @NotNull
@@ -308,10 +341,11 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
         if (tagName.length() == 0) throw new IllegalStateException("closeTag called with tag:'" + tagName + "'");
 
         if (tagName.charAt(0) == '/') {
-            appendable.append("<").append(tagName).append(">");
-            tagClosed(tagName.subSequence(1, tagName.length()));
+            CharSequence name = tagName.subSequence(1, tagName.length());
+            appendCloseTag(name);
+            tagClosed(name);
         } else {
-            appendable.append("</").append(tagName).append(">");
+            appendCloseTag(tagName);
             tagClosed(tagName);
         }
         return (T) this;
@@ -450,6 +484,7 @@ public class HtmlFormattingAppendableBase<T extends HtmlFormattingAppendableBase
     @NotNull @Override public T append(@NotNull CharSequence csq, int start, int end)                                                                           { appendable.append(csq, start, end); return (T)this; }
     @NotNull @Override public T append(@NotNull LineAppendable lines, int startLine, int endLine)                                                               { appendable.append(lines, startLine, endLine);  return (T)this; }
     @NotNull @Override public T appendTo(@NotNull Appendable out, int maxBlankLines, CharSequence prefix, int startLine, int endLine) throws IOException        { appendable.appendTo(out, maxBlankLines, prefix, startLine, endLine); return (T)this; }
+    @Override public int flushLinesTo(@NotNull Appendable out) throws IOException                                                                               { return appendable.flushLinesTo(out); }
     @NotNull @Override public T blankLine()                                                                                                                     { appendable.blankLine(); return (T)this; }
     @NotNull @Override public T blankLine(int count)                                                                                                            { appendable.blankLine(count); return (T)this; }
     @NotNull @Override public T blankLineIf(boolean predicate)                                                                                                  { appendable.blankLineIf(predicate); return (T)this; }
@@ -458,6 +458,21 @@ public interface LineAppendable extends Appendable {
      */
     @NotNull LineAppendable appendTo(@NotNull Appendable out, int maxBlankLines, @Nullable CharSequence prefix, int startLine, int endLine) throws IOException;
 
+    /**
+     * append completed lines to appendable and remove them, used to stream output while text is still being appended
+     * <p>
+     * NOTE: the last non-blank line and trailing blank lines are kept so blank line handling of text appended later
+     * and trailing blank lines of the final {@link #appendTo(Appendable, int)} are not affected.
+     * Nothing is flushed while in pre-formatted text or if the current line has unterminated text.
+     *
+     * @param out appendable to output the completed lines
+     * @return number of lines output and removed, 0 if lines cannot be flushed
+     * @throws IOException if thrown by appendable
+     */
+    default int flushLinesTo(@NotNull Appendable out) throws IOException {
+        return 0;
+    }
+
     /**
      * Add a new line, if there was any unterminated text appended
      *
@@ -2,7 +2,10 @@ package com.vladsch.flexmark.util.html;
 
 import com.vladsch.flexmark.util.Pair;
 import com.vladsch.flexmark.util.Utils;
+import com.vladsch.flexmark.util.collection.ArrayStack;
 import com.vladsch.flexmark.util.collection.BitFieldSet;
+import com.vladsch.flexmark.util.collection.BooleanStack;
+import com.vladsch.flexmark.util.collection.IntStack;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import com.vladsch.flexmark.util.sequence.Range;
 import com.vladsch.flexmark.util.sequence.RepeatedSequence;
@@ -13,7 +16,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Stack;
 
 import static com.vladsch.flexmark.util.Utils.*;
 import static com.vladsch.flexmark.util.sequence.SequenceUtils.isBlank;
@@ -43,8 +45,8 @@ public class LineFormattingAppendableImpl implements LineAppendable {
     private CharSequence prefix;
     private CharSequence prefixAfterEol;
     private CharSequence indentPrefix;
-    final private Stack<CharSequence> prefixStack;
-    final private Stack<Boolean> indentPrefixStack;
+    final private ArrayStack<CharSequence> prefixStack;
+    final private BooleanStack indentPrefixStack;
     final private @Nullable SequenceBuilder builder;
 
     // current line being accumulated
@@ -53,7 +55,7 @@ public class LineFormattingAppendableImpl implements LineAppendable {
     private boolean lastWasWhitespace;                      // last char was whitespace
     private int lineOnFirstText;                            // append EOL on first text
     final private ArrayList<Runnable> indentsOnFirstEol;    // append indents on first eol
-    final private Stack<Integer> optionStack = new Stack<>();
+    final private IntStack optionStack = new IntStack();
 
     public LineFormattingAppendableImpl(Options... formatOptions) {
         this(null, LineAppendable.toOptionSet(formatOptions));
@@ -90,8 +92,8 @@ public class LineFormattingAppendableImpl implements LineAppendable {
         appendable = new StringBuilder();
         lines = new ArrayList<>();
         prefixes = new ArrayList<>();
-        prefixStack = new Stack<>();
-        indentPrefixStack = new Stack<>();
+        prefixStack = new ArrayStack<>();
+        indentPrefixStack = new BooleanStack();
         prefix = BasedSequence.EMPTY;
         prefixAfterEol = BasedSequence.EMPTY;
         indentPrefix = BasedSequence.EMPTY;
@@ -575,10 +577,56 @@ public class LineFormattingAppendableImpl implements LineAppendable {
     private void appendImpl(CharSequence csq, int start, int end) {
         int i = start;
         while (i < end) {
-            appendImpl(csq, i++);
+            char c = csq.charAt(i);
+
+            if (c == EOL || !passThrough && (c == ' ' || c == '\t')) {
+                appendImpl(csq, i++);
+            } else {
+                // run of characters which only need to be copied, in pass through mode spaces and tabs are copied too
+                boolean hasText = c != ' ' && c != '\t';
+                int runEnd = i + 1;
+
+                while (runEnd < end) {
+                    c = csq.charAt(runEnd);
+                    if (c == EOL) break;
+
+                    if (c == ' ' || c == '\t') {
+                        if (!passThrough) break;
+                    } else {
+                        hasText = true;
+                    }
+                    runEnd++;
+                }
+
+                appendRun(csq, i, runEnd, hasText);
+                i = runEnd;
+            }
         }
     }
 
+    /**
+     * Append run of characters without EOL, same as appending them one at a time with {@link #appendImpl(CharSequence, int)}
+     * <p>
+     * NOTE: in pass through mode the run can contain spaces and tabs, otherwise it cannot
+     *
+     * @param s       characters
+     * @param start   start of run
+     * @param end     end of run
+     * @param hasText true if run has characters other than spaces and tabs
+     */
+    private void appendRun(CharSequence s, int start, int end, boolean hasText) {
+        if (lineOnFirstText > 0) {
+            lineOnFirstText = 0;
+            appendEol();
+        }
+
+        if (hasText) allWhitespace = false;
+        if (!passThrough) lastWasWhitespace = false;
+
+        appendable.append(s, start, end);
+        appendBuilder(s, start, end);
+    }
+
     @NotNull
     @Override
     public LineAppendable append(@NotNull CharSequence csq) {
@@ -844,6 +892,56 @@ public class LineFormattingAppendableImpl implements LineAppendable {
         return this;
     }
 
+    @Override
+    public int flushLinesTo(@NotNull Appendable out) throws IOException {
+        // NOTE: with a builder lines are segments of the builder sequence and cannot be removed
+        if (passThrough || builder != null || preFormattedNesting > 0 || lineStart < appendable.length()) return 0;
+
+        int flushLines = lastNonBlankLine() - 1;
+        if (flushLines <= 0) return 0;
+
+        for (int i = 0; i < flushLines; i++) {
+            CharSequence linePrefix = prefixes.get(i);
+            if (linePrefix.length() != 0) out.append(linePrefix);
+            out.append(lines.get(i));
+            out.append(EOL);
+        }
+
+        // lines are sub-sequences of accumulated text, copy the kept lines to the start of text and free the rest
+        int iMax = lines.size();
+        CharSequence[] keptLines = new CharSequence[iMax - flushLines];
+        CharSequence[] keptPrefixes = new CharSequence[iMax - flushLines];
+        for (int i = flushLines; i < iMax; i++) {
+            keptLines[i - flushLines] = lines.get(i).toString();
+            keptPrefixes[i - flushLines] = prefixes.get(i);
+        }
+
+        int removedLength = appendable.length();
+        int savedTextLength = textLength;
+        int savedPrefixLength = prefixLength;
+
+        appendable.setLength(0);
+        lines.clear();
+        prefixes.clear();
+
+        for (int i = 0; i < keptLines.length; i++) {
+            int startOffset = appendable.length();
+            appendable.append(keptLines[i]).append(EOL);
+            addLineRange(Range.of(startOffset, appendable.length() - 1), keptPrefixes[i]);
+        }
+
+        removedLength -= appendable.length();
+        lineStart = appendable.length();
+        textLength = savedTextLength;
+        prefixLength = savedPrefixLength;
+
+        preFormattedFirstLine -= flushLines;
+        preFormattedFirstLineOffset -= removedLength;
+        preFormattedLastLine -= flushLines;
+        preFormattedLastLineOffset -= removedLength;
+        return flushLines;
+    }
+
     @NotNull
     @Override
     public LineAppendable line() {
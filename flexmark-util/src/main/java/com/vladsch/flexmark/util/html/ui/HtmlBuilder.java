@@ -37,8 +37,8 @@ public class HtmlBuilder extends HtmlFormattingAppendableBase<HtmlBuilder> {
 
     @SuppressWarnings({ "UnusedReturnValue", "WeakerAccess" })
     public HtmlBuilder closeAllTags() {
-        while (!getOpenTags().isEmpty()) {
-            CharSequence tag = getOpenTags().peek();
+        while (!getOpenTagStack().isEmpty()) {
+            CharSequence tag = getOpenTagStack().peek();
             closeTag(tag);
         }
         return this;
@@ -1,23 +1,54 @@
 package com.vladsch.flexmark.util.sequence.managed;
 
 import com.vladsch.flexmark.util.sequence.BasedSequence;
+import com.vladsch.flexmark.util.sequence.IRichSequence;
 import com.vladsch.flexmark.util.sequence.SubSequence;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.WeakHashMap;
 import java.util.function.Function;
 
 public class BaseSequenceManager {
-    // NOTE: baseMap will keep reference to BaseSequenceEntry as long as the underlying base object is in use
-    //   baseSet relies on baseMap to keep references alive for used BasedSequence and its BaseSequenceEntry for quick fail/pass on equals
-    final private @NotNull WeakHashMap<Object, WeakReference<BasedSequence>> baseMap = new WeakHashMap<>();
-    final private @NotNull WeakHashMap<BasedSequence, BaseSequenceEntry> baseSet = new WeakHashMap<>();
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 32;
+
+    // NOTE: segments are selected by content hash so equivalent objects always end up in the same segment,
+    //   lookups and misses only lock one segment and only test entries with the same content hash
+    final private @NotNull Segment[] segments;
+    final private int segmentMask;
+    final private boolean interning;
 
     public BaseSequenceManager() {
+        this(DEFAULT_CONCURRENCY_LEVEL, true);
+    }
+
+    /**
+     * Create base sequence manager
+     *
+     * @param concurrencyLevel expected number of concurrent threads, rounded up to power of 2 for number of lock stripes
+     * @param interning        when false no base sequences are kept and every call creates a new base using the factory,
+     *                         use for one-shot parsing where sharing of bases is not needed
+     */
+    public BaseSequenceManager(int concurrencyLevel, boolean interning) {
+        int count = 1;
+        while (count < concurrencyLevel) count <<= 1;
+
+        this.segments = new Segment[count];
+        this.segmentMask = count - 1;
+        this.interning = interning;
+
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+    }
 
+    public boolean isInterning() {
+        return interning;
     }
 
     /**
@@ -36,16 +67,68 @@ public class BaseSequenceManager {
      */
     @NotNull
     public <T> BasedSequence getBaseSequence(@NotNull T object, @Nullable int[] callTypes, @NotNull Function<T, BasedSequence> factory) {
-        WeakReference<BasedSequence> baseEntry;
-        BasedSequence baseSeq;
+        if (!interning) {
+            if (callTypes != null) callTypes[0] = 20;
+            return factory.apply(object);
+        }
+
+        int hash = contentHash(object);
+        Segment segment = segments[(hash ^ (hash >>> 16)) & segmentMask];
+
+        synchronized (segment) {
+            return segment.getBaseSequence(object, object instanceof CharSequence, hash, callTypes, factory);
+        }
+    }
+
+    /**
+     * Hash used to index base sequences, for char sequences it is the same as hash of equivalent string
+     * which is also the hash code of {@link BasedSequence} with the same content
+     *
+     * @param object object for the underlying based sequence base
+     * @return content hash
+     */
+    static int contentHash(@NotNull Object object) {
+        if (object instanceof String || object instanceof IRichSequence<?>) {
+            return object.hashCode();
+        } else if (object instanceof CharSequence) {
+            CharSequence chars = (CharSequence) object;
+            int h = 0;
+            int iMax = chars.length();
+            for (int i = 0; i < iMax; i++) {
+                h = 31 * h + chars.charAt(i);
+            }
+            return h;
+        } else {
+            return System.identityHashCode(object);
+        }
+    }
+
+    static class BaseRef extends WeakReference<BasedSequence> {
+        final int hash;
+        final @NotNull BaseSequenceEntry entry;
+
+        BaseRef(@NotNull BasedSequence baseSeq, int hash, @NotNull ReferenceQueue<BasedSequence> queue) {
+            super(baseSeq, queue);
+            this.hash = hash;
+            this.entry = new BaseSequenceEntry();
+        }
+    }
+
+    static class Segment {
+        // NOTE: baseMap will keep reference to base sequence as long as the underlying base object is in use
+        //   hashIndex only has weak references to base sequences, stale references are removed when collected
+        final private @NotNull WeakHashMap<Object, WeakReference<BasedSequence>> baseMap = new WeakHashMap<>();
+        final private @NotNull HashMap<Integer, ArrayList<BaseRef>> hashIndex = new HashMap<>();
+        final private @NotNull ReferenceQueue<BasedSequence> queue = new ReferenceQueue<>();
 
-        int callType = 0;
+        <T> BasedSequence getBaseSequence(@NotNull T object, boolean isCharSequence, int hash, @Nullable int[] callTypes, @NotNull Function<T, BasedSequence> factory) {
+            expungeStaleEntries();
 
-        synchronized (baseMap) {
-            baseEntry = baseMap.get(object);
+            WeakReference<BasedSequence> baseEntry = baseMap.get(object);
+            int callType = 0;
 
             if (baseEntry != null) {
-                baseSeq = baseEntry.get();
+                BasedSequence baseSeq = baseEntry.get();
                 if (baseSeq != null) {
                     if (callTypes != null) callTypes[0] = callType;
                     return baseSeq;
@@ -54,17 +137,22 @@ public class BaseSequenceManager {
                 baseMap.remove(object);
             }
 
-            // see if we can find one in the set that matches
+            // see if we can find one with the same content hash that matches
             callType = 10;
-            int[] equalsCall = { 0 };
-            for (Map.Entry<BasedSequence, BaseSequenceEntry> entry : baseSet.entrySet()) {
-                if (entry != null) {
-                    if (entry.getValue().testEquals(entry.getKey(), object, equalsCall)) {
+            ArrayList<BaseRef> refs = hashIndex.get(hash);
+
+            if (refs != null && isCharSequence) {
+                int[] equalsCall = { 0 };
+                for (BaseRef ref : refs) {
+                    BasedSequence baseSeq = ref.get();
+                    if (baseSeq != null) {
+                        if (ref.entry.testEquals(baseSeq, object, equalsCall)) {
+                            callType = Math.max(callType, 10 + equalsCall[0]);
+                            if (callTypes != null) callTypes[0] = callType;
+                            return baseSeq;
+                        }
                         callType = Math.max(callType, 10 + equalsCall[0]);
-                        if (callTypes != null) callTypes[0] = callType;
-                        return entry.getKey();
                     }
-                    callType = Math.max(callType, 10 + equalsCall[0]);
                 }
             }
 
@@ -75,9 +163,31 @@ public class BaseSequenceManager {
             // preserve entry search max call type
             callType += 10;
             if (callTypes != null) callTypes[0] = callType;
+
+            if (refs == null) {
+                refs = new ArrayList<>(1);
+                hashIndex.put(hash, refs);
+            }
+
             baseMap.put(object, new WeakReference<>(newBaseSeq));
-            baseSet.put(newBaseSeq, new BaseSequenceEntry());
+            refs.add(new BaseRef(newBaseSeq, hash, queue));
             return newBaseSeq;
         }
+
+        private void expungeStaleEntries() {
+            Reference<? extends BasedSequence> reference;
+
+            while ((reference = queue.poll()) != null) {
+                BaseRef baseRef = (BaseRef) reference;
+                ArrayList<BaseRef> refs = hashIndex.get(baseRef.hash);
+
+                if (refs != null) {
+                    refs.remove(baseRef);
+                    if (refs.isEmpty()) {
+                        hashIndex.remove(baseRef.hash);
+                    }
+                }
+            }
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.vladsch.flexmark.util;
 import com.vladsch.flexmark.util.ast.DocumentTest;
 import com.vladsch.flexmark.util.collection.*;
 import com.vladsch.flexmark.util.format.MarkdownParagraphTest;
+import com.vladsch.flexmark.util.html.EscapingTest;
 import com.vladsch.flexmark.util.html.HtmlFormattingAppendableBaseTest;
 import com.vladsch.flexmark.util.html.LineFormattingAppendableImplTest;
 import com.vladsch.flexmark.util.html.ui.HtmlBuilderTest;
@@ -60,6 +61,7 @@ import org.junit.runners.Suite;
         AttributeTest.class,
         DocumentTest.class,
         HtmlBuilderTest.class,
+        EscapingTest.class,
         HtmlFormattingAppendableBaseTest.class,
         HtmlHelpersTest.class,
         LineFormattingAppendableImplTest.class,
@@ -0,0 +1,102 @@
+package com.vladsch.flexmark.util.collection;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ArrayStackTest {
+    @Test
+    public void test_pushPop() {
+        ArrayStack<String> stack = new ArrayStack<>();
+        assertTrue(stack.isEmpty());
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(String.valueOf(i), stack.push(String.valueOf(i)));
+            assertEquals(String.valueOf(i), stack.peek());
+            assertEquals(i + 1, stack.size());
+        }
+
+        assertEquals("0", stack.get(0));
+        assertEquals("19", stack.get(19));
+        assertEquals(Arrays.asList("0", "1", "2"), stack.toList().subList(0, 3));
+
+        for (int i = 20; i-- > 0; ) {
+            assertEquals(String.valueOf(i), stack.pop());
+        }
+
+        assertTrue(stack.isEmpty());
+        assertEquals("[]", stack.toString());
+    }
+
+    @Test
+    public void test_clear() {
+        ArrayStack<String> stack = new ArrayStack<>(2);
+        stack.push("a");
+        stack.push("b");
+        stack.push("c");
+        assertEquals("[a, b, c]", stack.toString());
+
+        stack.clear();
+        assertEquals(0, stack.size());
+
+        stack.push("d");
+        assertEquals("d", stack.peek());
+        assertEquals(1, stack.size());
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void test_popEmpty() {
+        new ArrayStack<String>().pop();
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void test_peekEmpty() {
+        new ArrayStack<String>().peek();
+    }
+
+    @Test
+    public void test_intStack() {
+        IntStack stack = new IntStack();
+        for (int i = 0; i < 20; i++) {
+            stack.push(i * 1000);
+        }
+
+        assertEquals(20, stack.size());
+        assertEquals(19000, stack.peek());
+
+        for (int i = 20; i-- > 0; ) {
+            assertEquals(i * 1000, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void test_booleanStack() {
+        BooleanStack stack = new BooleanStack();
+        for (int i = 0; i < 20; i++) {
+            stack.push((i & 1) == 0);
+        }
+
+        assertEquals(20, stack.size());
+        assertEquals(false, stack.peek());
+
+        for (int i = 20; i-- > 0; ) {
+            assertEquals((i & 1) == 0, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void test_intStackPopEmpty() {
+        new IntStack().pop();
+    }
+
+    @Test(expected = EmptyStackException.class)
+    public void test_booleanStackPeekEmpty() {
+        new BooleanStack().peek();
+    }
+}
@@ -0,0 +1,136 @@
+package com.vladsch.flexmark.util.html;
+
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+import com.vladsch.flexmark.util.sequence.ReplacedTextMapper;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EscapingTest {
+    // regular expressions of the previous implementation, used as reference
+    private static final String ENTITY = "&(?:#x[a-f0-9]{1,8}|#[0-9]{1,8}|[a-z][a-z0-9]{1,31});";
+    private static final Pattern ESCAPED_CHAR = Pattern.compile("\\\\" + Escaping.ESCAPABLE, Pattern.CASE_INSENSITIVE);
+    private static final Pattern ENTITY_OR_ESCAPED_CHAR = Pattern.compile("\\\\" + Escaping.ESCAPABLE + '|' + ENTITY, Pattern.CASE_INSENSITIVE);
+    private static final Pattern ENTITY_ONLY = Pattern.compile(ENTITY, Pattern.CASE_INSENSITIVE);
+    private static final Pattern XML_SPECIAL = Pattern.compile("[&<>\"]");
+    private static final Pattern XML_SPECIAL_OR_ENTITY = Pattern.compile(ENTITY + "|[&<>\"]", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ESCAPE_IN_URI = Pattern.compile("(%[a-fA-F0-9]{0,2}|[^:/?#@!$&'()*+,;=a-zA-Z0-9\\-._~])");
+
+    private static final String[] FRAGMENTS = {
+            "a", "Z", "0", "9", "f", "x", "X", " ", "  ", "\t", "\n", "\r", "\r\n", ";", "#", "&", "<", ">", "\"", "'", "\\", "%", "%2", "%41",
+            "&amp;", "&AMP;", "&#42;", "&#x2A;", "&#X2a;", "&#123456789;", "&#x;", "&a;", "&ab;", "&abcdefghijklmnopqrstuvwxyz0123456;",
+            "&abcdefghijklmnopqrstuvwxyz01234;", "&copy;", "&nbsp;", "\\*", "\\a", "\\\\", "\\&", "[", "]", "~", "é", " ", "😀", "\uD83D",
+    };
+
+    private static String randomText(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int count = random.nextInt(12);
+        for (int i = 0; i < count; i++) {
+            sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String replaceAll(Pattern pattern, String s, java.util.function.Function<String, String> replacer) {
+        Matcher matcher = pattern.matcher(s);
+        StringBuilder sb = new StringBuilder();
+        int lastEnd = 0;
+        while (matcher.find()) {
+            sb.append(s, lastEnd, matcher.start());
+            sb.append(replacer.apply(matcher.group()));
+            lastEnd = matcher.end();
+        }
+        sb.append(s, lastEnd, s.length());
+        return sb.toString();
+    }
+
+    private static String escapeHtml(String s) {
+        switch (s) {
+            case "&":
+                return "&amp;";
+            case "<":
+                return "&lt;";
+            case ">":
+                return "&gt;";
+            case "\"":
+                return "&quot;";
+            default:
+                return s;
+        }
+    }
+
+    private static String unescape(String s) {
+        return s.charAt(0) == '\\' ? s.substring(1) : Html5Entities.entityToString(s);
+    }
+
+    private static String percentEncode(String s) {
+        if (s.startsWith("%")) {
+            return s.length() == 3 ? s : "%25" + s.substring(1);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            sb.append('%').append(Escaping.HEX_DIGITS[(b >> 4) & 0xF]).append(Escaping.HEX_DIGITS[b & 0xF]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void test_sameAsRegex() throws IOException {
+        Random random = new Random(1);
+
+        for (int i = 0; i < 20000; i++) {
+            String s = randomText(random);
+            String message = "text: '" + s + "'";
+
+            assertEquals(message, replaceAll(XML_SPECIAL, s, EscapingTest::escapeHtml), Escaping.escapeHtml(s, false));
+            assertEquals(message, replaceAll(XML_SPECIAL_OR_ENTITY, s, EscapingTest::escapeHtml), Escaping.escapeHtml(s, true));
+            assertEquals(message, replaceAll(ENTITY_OR_ESCAPED_CHAR, s, EscapingTest::unescape), Escaping.unescapeString(s));
+            assertEquals(message, replaceAll(ESCAPED_CHAR, s, EscapingTest::unescape), Escaping.unescapeString(s, true));
+            assertEquals(message, s.indexOf('\\') == -1 ? s : replaceAll(ENTITY_OR_ESCAPED_CHAR, s, EscapingTest::unescape), Escaping.unescapeString(s, false));
+            assertEquals(message, replaceAll(ENTITY_ONLY, s, Html5Entities::entityToString), Escaping.unescapeHtml(s));
+            assertEquals(message, replaceAll(ESCAPE_IN_URI, s, EscapingTest::percentEncode), Escaping.percentEncodeUrl(s));
+
+            StringBuilder out = new StringBuilder();
+            Escaping.escapeHtml(s, true, out);
+            assertEquals(message, Escaping.escapeHtml(s, true), out.toString());
+
+            BasedSequence chars = BasedSequence.of(s);
+            assertEquals(message, Escaping.escapeHtml(s, false), Escaping.escapeHtml(chars, false, new ReplacedTextMapper(chars)).toString());
+            assertEquals(message, Escaping.escapeHtml(s, true), Escaping.escapeHtml(chars, true, new ReplacedTextMapper(chars)).toString());
+            assertEquals(message, replaceAll(ENTITY_ONLY, s, entity -> Html5Entities.entityToSequence(BasedSequence.of(entity)).toString()), Escaping.unescapeHtml(chars, new ReplacedTextMapper(chars)).toString());
+            assertEquals(message, s.replaceAll("([ \t])[ \t]+", "$1"), Escaping.collapseWhitespace(chars, new ReplacedTextMapper(chars)).toString());
+            assertEquals(message, s.replace("&amp;", ""), Escaping.removeAll(chars, "&amp;", new ReplacedTextMapper(chars)).toString());
+        }
+    }
+
+    @Test
+    public void test_noEscaping() {
+        String s = "plain text without special characters";
+        assertSame(s, Escaping.escapeHtml(s, false));
+        assertSame(s, Escaping.escapeHtml(s, true));
+        assertSame(s, Escaping.unescapeString(s));
+        assertSame(s, Escaping.unescapeHtml(s));
+        assertSame(s, Escaping.normalizeEOL(s));
+        assertSame("path/file.md", Escaping.percentEncodeUrl("path/file.md"));
+    }
+
+    @Test
+    public void test_replacedTextMapper() {
+        BasedSequence chars = BasedSequence.of("a &lt; b \\* c");
+        ReplacedTextMapper textMapper = new ReplacedTextMapper(chars);
+        BasedSequence unescaped = Escaping.unescape(chars, textMapper);
+
+        assertEquals("a < b * c", unescaped.toString());
+        assertEquals(2, textMapper.originalOffset(2));
+        assertEquals(6, textMapper.originalOffset(3));
+        assertEquals(9, textMapper.originalOffset(6));
+    }
+}
@@ -398,4 +398,57 @@ public class LineFormattingAppendableImplTest {
         fa.append("a");
         assertEquals("  abc def\na\n", fa.toString(0));
     }
+
+    @Test
+    public void test_flushLinesTo() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        LineAppendable fa = new LineFormattingAppendableImpl(LineAppendable.F_FORMAT_ALL);
+        fa.setIndentPrefix("  ");
+
+        fa.append("<ul>").line().indent().append("<li>one</li>").line();
+        assertEquals(1, fa.flushLinesTo(sb));
+        assertEquals("<ul>\n", sb.toString());
+
+        // unterminated text is not flushed
+        fa.append("<li>two</li>");
+        assertEquals(0, fa.flushLinesTo(sb));
+
+        fa.line().unIndent().append("</ul>").blankLine();
+        assertEquals(2, fa.flushLinesTo(sb));
+        assertEquals(0, fa.flushLinesTo(sb));
+
+        // blank lines are not duplicated after flush
+        fa.blankLine().append("<p>text</p>").line();
+        fa.appendTo(sb, 0);
+        assertEquals("<ul>\n  <li>one</li>\n  <li>two</li>\n</ul>\n\n<p>text</p>\n", sb.toString());
+    }
+
+    @Test
+    public void test_appendRuns() {
+        String text = "  leading  spaces\tand\t\ttabs  \n\n  text with   runs of  spaces  \nend\ttab\n  \n\t\nlast";
+        int[] formatOptions = {
+                0,
+                LineAppendable.F_FORMAT_ALL,
+                LineAppendable.F_FORMAT_ALL | LineAppendable.F_TRIM_LEADING_WHITESPACE,
+                LineAppendable.F_PASS_THROUGH,
+                LineAppendable.F_CONVERT_TABS,
+                LineAppendable.F_COLLAPSE_WHITESPACE | LineAppendable.F_ALLOW_LEADING_EOL,
+        };
+
+        for (int options : formatOptions) {
+            LineAppendable bulk = new LineFormattingAppendableImpl(options);
+            LineAppendable single = new LineFormattingAppendableImpl(options);
+            bulk.setPrefix("> ", false);
+            single.setPrefix("> ", false);
+
+            bulk.append(text).line();
+            for (int i = 0; i < text.length(); i++) {
+                single.append(text.charAt(i));
+            }
+            single.line();
+
+            assertEquals("options " + options, single.toString(0), bulk.toString(0));
+            assertEquals("options " + options, single.toString(2), bulk.toString(2));
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.vladsch.flexmark.util.sequence.managed;
+
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Contention of base sequence lookups at 1, 8 and 32 threads, mix of hits on existing bases and misses creating new ones
+ */
+@State(Scope.Benchmark)
+public class BaseSequenceManagerBenchmark {
+    private static final int INPUT_COUNT = 1024;
+
+    final BaseSequenceManager manager = new BaseSequenceManager();
+    final String[] inputs = new String[INPUT_COUNT];
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(BaseSequenceManagerBenchmark.class.getName() + ".*")
+                .build();
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < INPUT_COUNT; i++) {
+            inputs[i] = "input text for document " + i;
+        }
+    }
+
+    private BasedSequence lookup(ThreadState state) {
+        int i = state.index++ & (INPUT_COUNT - 1);
+
+        // every 8th lookup is an equivalent but not equal object, which misses the map lookup and is found by content hash
+        CharSequence input = (i & 7) == 0 ? new StringBuilder(inputs[i]) : inputs[i];
+        return manager.getBaseSequence(input, null, BasedSequence::of);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BasedSequence threads1(ThreadState state) {
+        return lookup(state);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BasedSequence threads8(ThreadState state) {
+        return lookup(state);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public BasedSequence threads32(ThreadState state) {
+        return lookup(state);
+    }
+}
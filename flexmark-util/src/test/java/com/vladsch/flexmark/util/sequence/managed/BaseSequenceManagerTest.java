@@ -104,4 +104,64 @@ public class BaseSequenceManagerTest {
         sequence1 = manager.getBaseSequence("0123456789", callType, seq -> BasedSequence.of(seq));
         assertTrue(callType[0] <= 21);
     }
+
+    @Test
+    public void test_NotInterning() {
+        BaseSequenceManager manager = new BaseSequenceManager(1, false);
+        int[] callType = { 0 };
+
+        BasedSequence sequence1 = manager.getBaseSequence("0123456789", callType, seq -> BasedSequence.of(seq));
+        assertEquals(20, callType[0]);
+
+        BasedSequence sequence2 = manager.getBaseSequence("0123456789", callType, seq -> BasedSequence.of(seq));
+        assertEquals(20, callType[0]);
+
+        assertNotSame(sequence1, sequence2);
+        assertEquals(sequence1, sequence2);
+    }
+
+    @Test
+    public void test_ReuseEquivalent() {
+        BaseSequenceManager manager = new BaseSequenceManager();
+        int[] callType = { 0 };
+
+        StringBuilder input1 = new StringBuilder("0123456789");
+        StringBuilder input2 = new StringBuilder("0123456789");
+
+        BasedSequence sequence1 = manager.getBaseSequence(input1, callType, seq -> BasedSequence.of(seq));
+        assertTrue(callType[0] >= 20);
+
+        BasedSequence sequence2 = manager.getBaseSequence(input2, callType, seq -> BasedSequence.of(seq));
+        assertTrue(callType[0] >= 10 && callType[0] < 20);
+
+        assertSame(sequence1, sequence2);
+    }
+
+    @Test
+    public void test_Concurrent() throws InterruptedException {
+        BaseSequenceManager manager = new BaseSequenceManager();
+        int threadCount = 8;
+        BasedSequence[][] results = new BasedSequence[threadCount][100];
+        Thread[] threads = new Thread[threadCount];
+
+        for (int t = 0; t < threadCount; t++) {
+            BasedSequence[] result = results[t];
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = manager.getBaseSequence(new StringBuilder("input " + i), null, seq -> BasedSequence.of(seq));
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 1; t < threadCount; t++) {
+            for (int i = 0; i < results[t].length; i++) {
+                assertSame(results[0][i], results[t][i]);
+            }
+        }
+    }
 }
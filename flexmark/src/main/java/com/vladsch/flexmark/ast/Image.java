@@ -1,11 +1,18 @@
 package com.vladsch.flexmark.ast;
 
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
 public class Image extends InlineLinkNode {
     private BasedSequence urlContent = BasedSequence.NULL;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        urlContent = rebase.rebase(urlContent);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
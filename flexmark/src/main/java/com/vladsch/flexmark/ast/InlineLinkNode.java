@@ -1,5 +1,6 @@
 package com.vladsch.flexmark.ast;
 
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -10,6 +11,16 @@ public abstract class InlineLinkNode extends LinkNode {
     protected BasedSequence linkOpeningMarker = BasedSequence.NULL;
     protected BasedSequence linkClosingMarker = BasedSequence.NULL;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        textOpeningMarker = rebase.rebase(textOpeningMarker);
+        text = rebase.rebase(text);
+        textClosingMarker = rebase.rebase(textClosingMarker);
+        linkOpeningMarker = rebase.rebase(linkOpeningMarker);
+        linkClosingMarker = rebase.rebase(linkClosingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
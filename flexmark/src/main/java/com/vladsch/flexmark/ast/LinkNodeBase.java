@@ -1,7 +1,9 @@
 package com.vladsch.flexmark.ast;
 
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
+import org.jetbrains.annotations.NotNull;
 
 public abstract class LinkNodeBase extends Node {
     protected BasedSequence urlOpeningMarker = BasedSequence.NULL;
@@ -21,6 +23,20 @@ public abstract class LinkNodeBase extends Node {
         super(chars);
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        urlOpeningMarker = rebase.rebase(urlOpeningMarker);
+        url = rebase.rebase(url);
+        pageRef = rebase.rebase(pageRef);
+        anchorMarker = rebase.rebase(anchorMarker);
+        anchorRef = rebase.rebase(anchorRef);
+        urlClosingMarker = rebase.rebase(urlClosingMarker);
+        titleOpeningMarker = rebase.rebase(titleOpeningMarker);
+        title = rebase.rebase(title);
+        titleClosingMarker = rebase.rebase(titleClosingMarker);
+    }
+
     public void setTitleChars(BasedSequence titleChars) {
         if (titleChars != null && titleChars != BasedSequence.NULL) {
             int titleCharsLength = titleChars.length();
@@ -5,6 +5,7 @@ import com.vladsch.flexmark.util.ast.BlankLineContainer;
 import com.vladsch.flexmark.util.ast.Block;
 import com.vladsch.flexmark.util.ast.BlockContent;
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
@@ -60,6 +61,13 @@ public abstract class ListItem extends Block implements ParagraphItemContainer,
         else if (isContainsBlankLine()) out.append(" hadBlankLine");
     }
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        openingMarker = rebase.rebase(openingMarker);
+        markerSuffix = rebase.rebase(markerSuffix);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -4,6 +4,7 @@ import com.vladsch.flexmark.ast.util.ReferenceRepository;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.ast.Document;
 import com.vladsch.flexmark.util.ast.ReferencingNode;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import org.jetbrains.annotations.NotNull;
 
@@ -16,6 +17,17 @@ public abstract class RefNode extends LinkNode implements LinkRefDerived, Refere
     protected BasedSequence referenceClosingMarker = BasedSequence.NULL;
     protected boolean isDefined = false;
 
+    @Override
+    public void rebaseChars(@NotNull SequenceRebase rebase) {
+        super.rebaseChars(rebase);
+        textOpeningMarker = rebase.rebase(textOpeningMarker);
+        text = rebase.rebase(text);
+        textClosingMarker = rebase.rebase(textClosingMarker);
+        referenceOpeningMarker = rebase.rebase(referenceOpeningMarker);
+        reference = rebase.rebase(reference);
+        referenceClosingMarker = rebase.rebase(referenceClosingMarker);
+    }
+
     @NotNull
     @Override
     public BasedSequence[] getSegments() {
@@ -4,7 +4,11 @@ import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.format.TableFormatOptions;
 import com.vladsch.flexmark.util.html.Escaping;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 import static com.vladsch.flexmark.parser.Parser.*;
@@ -13,6 +17,17 @@ public class Parsing {
     public static final char INTELLIJ_DUMMY_IDENTIFIER_CHAR = TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER_CHAR;
     public static final String INTELLIJ_DUMMY_IDENTIFIER = TableFormatOptions.INTELLIJ_DUMMY_IDENTIFIER;
 
+    private static final int MAX_SHARED_PARSING = 32;
+
+    // shared instances with compiled patterns, keyed by values of options which affect the patterns
+    // NOTE: access order map evicting least recently used instances when more than MAX_SHARED_PARSING option combinations are used
+    private static final LinkedHashMap<ParsingKey, Parsing> SHARED_PARSING = new LinkedHashMap<ParsingKey, Parsing>(MAX_SHARED_PARSING, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ParsingKey, Parsing> eldest) {
+            return size() > MAX_SHARED_PARSING;
+        }
+    };
+
     // save options for others to use when only parsing instance is available
     public final DataHolder options;
 
@@ -93,12 +108,99 @@ public class Parsing {
     public final String REG_CHAR_PARENS;
     public final String REG_CHAR_SP_PARENS;
 
+    /**
+     * Create parsing strings and patterns for given options
+     * <p>
+     * Patterns depend only on a few option values, compiled patterns are shared between all instances
+     * with the same pattern affecting option values, see {@link #of(DataHolder)}
+     *
+     * @param options options for parsing
+     */
     public Parsing(DataHolder options) {
+        this(getSharedParsing(options), options);
+    }
+
+    protected Parsing(@NotNull Parsing other, DataHolder options) {
         this.options = options;
-        this.intellijDummyIdentifier = Parser.INTELLIJ_DUMMY_IDENTIFIER.get(options);
-        this.htmlForTranslator = Parser.HTML_FOR_TRANSLATOR.get(options);
-        this.translationHtmlInlineTagPattern = Parser.TRANSLATION_HTML_INLINE_TAG_PATTERN.get(options);
-        this.translationAutolinkTagPattern = Parser.TRANSLATION_AUTOLINK_TAG_PATTERN.get(options);
+
+        this.ADDITIONAL_CHARS = other.ADDITIONAL_CHARS;
+        this.EXCLUDED_0_TO_SPACE = other.EXCLUDED_0_TO_SPACE;
+        this.EOL = other.EOL;
+        this.ESCAPED_CHAR = other.ESCAPED_CHAR;
+        this.LINK_LABEL = other.LINK_LABEL;
+        this.LINK_DESTINATION_ANGLES = other.LINK_DESTINATION_ANGLES;
+        this.LINK_TITLE_STRING = other.LINK_TITLE_STRING;
+        this.LINK_TITLE = other.LINK_TITLE;
+        this.REG_CHAR = other.REG_CHAR;
+        this.REG_CHAR_SP = other.REG_CHAR_SP;
+        this.IN_PARENS_NOSP = other.IN_PARENS_NOSP;
+        this.IN_PARENS_W_SP = other.IN_PARENS_W_SP;
+        this.IN_BRACES_W_SP = other.IN_BRACES_W_SP;
+        this.LINK_DESTINATION = other.LINK_DESTINATION;
+        this.LINK_DESTINATION_MATCHED_PARENS = other.LINK_DESTINATION_MATCHED_PARENS;
+        this.LINK_DESTINATION_MATCHED_PARENS_NOSP = other.LINK_DESTINATION_MATCHED_PARENS_NOSP;
+        this.HTMLCOMMENT = other.HTMLCOMMENT;
+        this.PROCESSINGINSTRUCTION = other.PROCESSINGINSTRUCTION;
+        this.DECLARATION = other.DECLARATION;
+        this.CDATA = other.CDATA;
+        this.ENTITY = other.ENTITY;
+        this.ENTITY_HERE = other.ENTITY_HERE;
+        this.ASCII_PUNCTUATION = other.ASCII_PUNCTUATION;
+        this.ASCII_OPEN_PUNCTUATION = other.ASCII_OPEN_PUNCTUATION;
+        this.ASCII_CLOSE_PUNCTUATION = other.ASCII_CLOSE_PUNCTUATION;
+        this.PUNCTUATION = other.PUNCTUATION;
+        this.PUNCTUATION_OPEN = other.PUNCTUATION_OPEN;
+        this.PUNCTUATION_CLOSE = other.PUNCTUATION_CLOSE;
+        this.PUNCTUATION_ONLY = other.PUNCTUATION_ONLY;
+        this.PUNCTUATION_OPEN_ONLY = other.PUNCTUATION_OPEN_ONLY;
+        this.PUNCTUATION_CLOSE_ONLY = other.PUNCTUATION_CLOSE_ONLY;
+        this.ESCAPABLE = other.ESCAPABLE;
+        this.TICKS = other.TICKS;
+        this.TICKS_HERE = other.TICKS_HERE;
+        this.EMAIL_AUTOLINK = other.EMAIL_AUTOLINK;
+        this.AUTOLINK = other.AUTOLINK;
+        this.WWW_AUTOLINK = other.WWW_AUTOLINK;
+        this.SPNL = other.SPNL;
+        this.SPNL_URL = other.SPNL_URL;
+        this.SPNI = other.SPNI;
+        this.SP = other.SP;
+        this.REST_OF_LINE = other.REST_OF_LINE;
+        this.UNICODE_WHITESPACE_CHAR = other.UNICODE_WHITESPACE_CHAR;
+        this.WHITESPACE = other.WHITESPACE;
+        this.FINAL_SPACE = other.FINAL_SPACE;
+        this.LINE_END = other.LINE_END;
+        this.TAGNAME = other.TAGNAME;
+        this.ATTRIBUTENAME = other.ATTRIBUTENAME;
+        this.UNQUOTEDVALUE = other.UNQUOTEDVALUE;
+        this.SINGLEQUOTEDVALUE = other.SINGLEQUOTEDVALUE;
+        this.DOUBLEQUOTEDVALUE = other.DOUBLEQUOTEDVALUE;
+        this.ATTRIBUTEVALUE = other.ATTRIBUTEVALUE;
+        this.ATTRIBUTEVALUESPEC = other.ATTRIBUTEVALUESPEC;
+        this.ATTRIBUTE = other.ATTRIBUTE;
+        this.OPENTAG = other.OPENTAG;
+        this.CLOSETAG = other.CLOSETAG;
+        this.HTMLTAG = other.HTMLTAG;
+        this.HTML_TAG = other.HTML_TAG;
+        this.LIST_ITEM_MARKER = other.LIST_ITEM_MARKER;
+        this.CODE_BLOCK_INDENT = other.CODE_BLOCK_INDENT;
+        this.intellijDummyIdentifier = other.intellijDummyIdentifier;
+        this.htmlForTranslator = other.htmlForTranslator;
+        this.translationHtmlInlineTagPattern = other.translationHtmlInlineTagPattern;
+        this.translationAutolinkTagPattern = other.translationAutolinkTagPattern;
+        this.INVALID_LINK_CHARS = other.INVALID_LINK_CHARS;
+        this.IN_MATCHED_PARENS_NOSP = other.IN_MATCHED_PARENS_NOSP;
+        this.IN_MATCHED_PARENS_W_SP = other.IN_MATCHED_PARENS_W_SP;
+        this.REG_CHAR_PARENS = other.REG_CHAR_PARENS;
+        this.REG_CHAR_SP_PARENS = other.REG_CHAR_SP_PARENS;
+    }
+
+    private Parsing(@NotNull ParsingKey key) {
+        // shared instances are held by static cache, do not keep a reference to options
+        this.options = null;
+        this.intellijDummyIdentifier = key.intellijDummyIdentifier;
+        this.htmlForTranslator = key.htmlForTranslator;
+        this.translationHtmlInlineTagPattern = key.translationHtmlInlineTagPattern;
+        this.translationAutolinkTagPattern = key.translationAutolinkTagPattern;
 
         this.EOL = "(?:\r\n|\r|\n)";
         this.ADDITIONAL_CHARS = ADDITIONAL_CHARS();
@@ -108,7 +210,7 @@ public class Parsing {
         this.LINK_LABEL = Pattern
                 .compile("^\\[(?:[^\\\\\\[\\]]|" + ESCAPED_CHAR + "|\\\\){0,999}\\]");
 
-        this.LINK_DESTINATION_ANGLES = Parser.SPACE_IN_LINK_URLS.get(options)
+        this.LINK_DESTINATION_ANGLES = key.spaceInLinkUrls
                 ? Pattern.compile("^(?:[<](?:[^<> \\t\\n\\\\\\x00]" + '|' + ESCAPED_CHAR + '|' + "\\\\| (?![\"']))*[>])")
                 : Pattern.compile("^(?:[<](?:[^<> \\t\\n\\\\\\x00]" + '|' + ESCAPED_CHAR + '|' + "\\\\)*[>])");
 
@@ -138,15 +240,15 @@ public class Parsing {
         this.IN_MATCHED_PARENS_W_SP = "\\((" + REG_CHAR_SP + '|' + ESCAPED_CHAR + ")*\\)";
         this.IN_BRACES_W_SP = "\\{\\{(?:[^{}\\\\" + EXCLUDED_0_TO_SPACE + "]| |\t)*\\}\\}";
         this.LINK_DESTINATION = Pattern.compile(
-                "^(?:" + (Parser.PARSE_JEKYLL_MACROS_IN_URLS.get(options) ? IN_BRACES_W_SP + "|" : "") +
-                        (Parser.SPACE_IN_LINK_URLS.get(options) ? "(?:" + REG_CHAR_SP + ")|" : REG_CHAR + "|") +
-                        ESCAPED_CHAR + "|\\\\|" + (Parser.SPACE_IN_LINK_URLS.get(options) ? IN_PARENS_W_SP : IN_PARENS_NOSP) + ")*");
+                "^(?:" + (key.parseJekyllMacrosInUrls ? IN_BRACES_W_SP + "|" : "") +
+                        (key.spaceInLinkUrls ? "(?:" + REG_CHAR_SP + ")|" : REG_CHAR + "|") +
+                        ESCAPED_CHAR + "|\\\\|" + (key.spaceInLinkUrls ? IN_PARENS_W_SP : IN_PARENS_NOSP) + ")*");
         this.LINK_DESTINATION_MATCHED_PARENS = Pattern.compile(
-                "^(?:" + (Parser.PARSE_JEKYLL_MACROS_IN_URLS.get(options) ? IN_BRACES_W_SP + "|" : "")
-                        + (Parser.SPACE_IN_LINK_URLS.get(options) ? "(?:" + REG_CHAR_SP + ")|" : REG_CHAR + "|") +
+                "^(?:" + (key.parseJekyllMacrosInUrls ? IN_BRACES_W_SP + "|" : "")
+                        + (key.spaceInLinkUrls ? "(?:" + REG_CHAR_SP + ")|" : REG_CHAR + "|") +
                         ESCAPED_CHAR + "|\\\\|\\(|\\))*");
         this.LINK_DESTINATION_MATCHED_PARENS_NOSP = Pattern.compile(
-                "^(?:" + (Parser.PARSE_JEKYLL_MACROS_IN_URLS.get(options) ? IN_BRACES_W_SP + "|" : "")
+                "^(?:" + (key.parseJekyllMacrosInUrls ? IN_BRACES_W_SP + "|" : "")
                         + (false ? "(?:" + REG_CHAR_SP + ")|" : REG_CHAR + "|") +
                         ESCAPED_CHAR + "|\\\\|\\(|\\))*");
         this.HTMLCOMMENT = "<!---->|<!--(?:-?[^>-])(?:-?[^-])*-->";
@@ -220,15 +322,15 @@ public class Parsing {
                 (htmlForTranslator ? "|<(?:" + translationHtmlInlineTagPattern + ")>|</(?:" + translationHtmlInlineTagPattern + ")>" : "") + ")";
         this.HTML_TAG = Pattern.compile('^' + HTMLTAG, Pattern.CASE_INSENSITIVE);
 
-        final String itemPrefixChars = LISTS_ITEM_PREFIX_CHARS.get(options);
-        if (LISTS_ITEM_MARKER_SPACE.get(options)) {
-            if (LISTS_ORDERED_ITEM_DOT_ONLY.get(options)) {
+        final String itemPrefixChars = key.listsItemPrefixChars;
+        if (key.listsItemMarkerSpace) {
+            if (key.listsOrderedItemDotOnly) {
                 this.LIST_ITEM_MARKER = Pattern.compile("^([\\Q" + itemPrefixChars + "\\E])(?=[ \t])|^(\\d{1,9})([.])(?=[ \t])");
             } else {
                 this.LIST_ITEM_MARKER = Pattern.compile("^([\\Q" + itemPrefixChars + "\\E])(?=[ \t])|^(\\d{1,9})([.)])(?=[ \t])");
             }
         } else {
-            if (LISTS_ORDERED_ITEM_DOT_ONLY.get(options)) {
+            if (key.listsOrderedItemDotOnly) {
                 this.LIST_ITEM_MARKER = Pattern.compile("^([\\Q" + itemPrefixChars + "\\E])(?= |\t|$)|^(\\d{1,9})([.])(?= |\t|$)");
             } else {
                 this.LIST_ITEM_MARKER = Pattern.compile("^([\\Q" + itemPrefixChars + "\\E])(?= |\t|$)|^(\\d{1,9})([.)])(?= |\t|$)");
@@ -236,12 +338,99 @@ public class Parsing {
         }
 
         // make sure this is consistent with lists settings
-        this.CODE_BLOCK_INDENT = Parser.CODE_BLOCK_INDENT.get(options);
+        this.CODE_BLOCK_INDENT = key.codeBlockIndent;
 
         // list of characters not allowed in link URL
         this.INVALID_LINK_CHARS = " \t";
     }
 
+    /**
+     * Get parsing instance for given options
+     * <p>
+     * Compiled patterns are cached and shared between all parse calls which have the same
+     * values for options affecting the patterns. Only option independent fields are copied for each call.
+     *
+     * @param options options for parsing
+     * @return parsing instance for the options
+     */
+    public static @NotNull Parsing of(DataHolder options) {
+        return new Parsing(getSharedParsing(options), options);
+    }
+
+    static @NotNull Parsing getSharedParsing(DataHolder options) {
+        ParsingKey key = new ParsingKey(options);
+
+        synchronized (SHARED_PARSING) {
+            Parsing parsing = SHARED_PARSING.get(key);
+            if (parsing != null) return parsing;
+        }
+
+        // NOTE: compiled outside the lock, for a concurrent miss the first instance added is used
+        Parsing parsing = new Parsing(key);
+
+        synchronized (SHARED_PARSING) {
+            Parsing other = SHARED_PARSING.putIfAbsent(key, parsing);
+            return other != null ? other : parsing;
+        }
+    }
+
+    /**
+     * Values of options which affect compiled patterns, used as key for shared parsing cache
+     */
+    static final class ParsingKey {
+        final boolean intellijDummyIdentifier;
+        final boolean htmlForTranslator;
+        final String translationHtmlInlineTagPattern;
+        final String translationAutolinkTagPattern;
+        final boolean spaceInLinkUrls;
+        final boolean parseJekyllMacrosInUrls;
+        final String listsItemPrefixChars;
+        final boolean listsItemMarkerSpace;
+        final boolean listsOrderedItemDotOnly;
+        final int codeBlockIndent;
+        private final int hashCode;
+
+        ParsingKey(DataHolder options) {
+            intellijDummyIdentifier = Parser.INTELLIJ_DUMMY_IDENTIFIER.get(options);
+            htmlForTranslator = Parser.HTML_FOR_TRANSLATOR.get(options);
+            translationHtmlInlineTagPattern = Parser.TRANSLATION_HTML_INLINE_TAG_PATTERN.get(options);
+            translationAutolinkTagPattern = Parser.TRANSLATION_AUTOLINK_TAG_PATTERN.get(options);
+            spaceInLinkUrls = Parser.SPACE_IN_LINK_URLS.get(options);
+            parseJekyllMacrosInUrls = Parser.PARSE_JEKYLL_MACROS_IN_URLS.get(options);
+            listsItemPrefixChars = LISTS_ITEM_PREFIX_CHARS.get(options);
+            listsItemMarkerSpace = LISTS_ITEM_MARKER_SPACE.get(options);
+            listsOrderedItemDotOnly = LISTS_ORDERED_ITEM_DOT_ONLY.get(options);
+            codeBlockIndent = Parser.CODE_BLOCK_INDENT.get(options);
+
+            hashCode = Objects.hash(intellijDummyIdentifier, htmlForTranslator, translationHtmlInlineTagPattern, translationAutolinkTagPattern,
+                    spaceInLinkUrls, parseJekyllMacrosInUrls, listsItemPrefixChars, listsItemMarkerSpace, listsOrderedItemDotOnly, codeBlockIndent);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ParsingKey)) return false;
+
+            ParsingKey key = (ParsingKey) o;
+
+            return intellijDummyIdentifier == key.intellijDummyIdentifier
+                    && htmlForTranslator == key.htmlForTranslator
+                    && spaceInLinkUrls == key.spaceInLinkUrls
+                    && parseJekyllMacrosInUrls == key.parseJekyllMacrosInUrls
+                    && listsItemMarkerSpace == key.listsItemMarkerSpace
+                    && listsOrderedItemDotOnly == key.listsOrderedItemDotOnly
+                    && codeBlockIndent == key.codeBlockIndent
+                    && translationHtmlInlineTagPattern.equals(key.translationHtmlInlineTagPattern)
+                    && translationAutolinkTagPattern.equals(key.translationAutolinkTagPattern)
+                    && listsItemPrefixChars.equals(key.listsItemPrefixChars);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     public String EXCLUDED_0_TO_SPACE() {
         // NOTE: hardcoded because of dependency on it being '\u001f'
         return intellijDummyIdentifier ? "\u0000-\u001e\u0020" : "\u0000-\u0020";
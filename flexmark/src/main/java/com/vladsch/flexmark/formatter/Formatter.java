@@ -154,6 +154,8 @@ public class Formatter implements IRender {
     final List<LinkResolverFactory> linkResolverFactories;
     final NodeFormatterDependencies nodeFormatterFactories;
     final HeaderIdGeneratorFactory idGeneratorFactory;
+    private final DataHolder mergeOptions;
+    private Parser mergeParser;     // parser of translated documents in mergeRender, created on first use
 
     Formatter(Builder builder) {
         this.options = builder.toImmutable();
@@ -162,6 +164,14 @@ public class Formatter implements IRender {
 
         this.linkResolverFactories = FlatDependencyHandler.computeDependencies(builder.linkResolverFactories);
         this.nodeFormatterFactories = calculateNodeFormatterFactories(this.options, builder.nodeFormatterFactories);
+        this.mergeOptions = new MutableDataSet(this.options).set(Parser.HTML_FOR_TRANSLATOR, true).toImmutable();
+    }
+
+    private synchronized Parser getMergeParser() {
+        if (mergeParser == null) {
+            mergeParser = Parser.builder(mergeOptions).build();
+        }
+        return mergeParser;
     }
 
     private static class NodeFormatterDependencyStage {
@@ -399,8 +409,8 @@ public class Formatter implements IRender {
     }
 
     public void mergeRender(Document[] documents, Appendable output, int maxTrailingBlankLines) {
-        MutableDataSet mergeOptions = new MutableDataSet(options);
-        mergeOptions.set(Parser.HTML_FOR_TRANSLATOR, true);
+        // NOTE: documents are rendered in order, each pass of a document can use state of preceding documents
+        Parser parser = getMergeParser();
 
         TranslationHandler[] translationHandlers = new TranslationHandler[documents.length];
         //noinspection unchecked
@@ -435,7 +445,7 @@ public class Formatter implements IRender {
             StringBuilder sb = new StringBuilder();
             renderer.flushTo(sb, maxTrailingBlankLines);
 
-            translatedDocuments[index] = Parser.builder(mergeOptions).build().parse(sb.toString());
+            translatedDocuments[index] = parser.parse(sb.toString());
         });
 
         mergeContext.setDocuments(translatedDocuments);
@@ -3,6 +3,7 @@ package com.vladsch.flexmark.html;
 import com.vladsch.flexmark.ast.HtmlBlock;
 import com.vladsch.flexmark.ast.HtmlInline;
 import com.vladsch.flexmark.html.renderer.*;
+import com.vladsch.flexmark.util.BatchResult;
 import com.vladsch.flexmark.util.Pair;
 import com.vladsch.flexmark.util.SharedDataKeys;
 import com.vladsch.flexmark.util.ast.Document;
@@ -21,7 +22,13 @@ import com.vladsch.flexmark.util.sequence.TagRange;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Renders a tree of nodes to HTML.
@@ -93,6 +100,14 @@ public class HtmlRenderer implements IRender {
     public static final DataKey<Integer> FORMAT_FLAGS = SharedDataKeys.RENDERER_FORMAT_FLAGS;
     public static final DataKey<Integer> MAX_TRAILING_BLANK_LINES = SharedDataKeys.RENDERER_MAX_TRAILING_BLANK_LINES;
 
+    /**
+     * stream output, when true each completed top level block is appended to the output of {@link #render(Node, Appendable)} as soon as it is rendered
+     * instead of buffering the whole document.
+     * <p>
+     * NOTE: node renderers which modify previously rendered lines of the html writer cannot be used with this option
+     */
+    public static final DataKey<Boolean> FLUSH_TOP_LEVEL_BLOCKS = new DataKey<>("FLUSH_TOP_LEVEL_BLOCKS", false);
+
     // Use LineFormattingAppendable values instead,
     // NOTE: ALLOW_LEADING_WHITESPACE is now inverted and named F_TRIM_LEADING_WHITESPACE
     @Deprecated public static final int CONVERT_TABS = LineAppendable.F_CONVERT_TABS;
@@ -123,6 +138,17 @@ public class HtmlRenderer implements IRender {
     final HtmlRendererOptions htmlOptions;
     final DataHolder options;
 
+    // render plan, created once: renderers from StatelessNodeRendererFactory by factory index, null for renderers created
+    //  for every document, with the handler chains and phased renderers of the stateless renderers. When all renderers are
+    //  stateless, which includes core node renderer, a render uses the plan as is, otherwise only chains of node types
+    //  handled by per document renderers are rebuilt
+    final NodeRenderer[] sharedNodeRenderers;
+    final boolean hasDocumentNodeRenderers;
+    final Map<Class<?>, NodeRenderingHandlerWrapper> sharedRenderers;
+    final List<PhasedNodeRenderer> sharedPhasedRenderers;
+    final int[] sharedPhasedFactoryIndices;
+    final Set<RenderingPhase> sharedRenderingPhases;
+
     HtmlRenderer(@NotNull Builder builder) {
         this.options = builder.toImmutable();
         this.htmlOptions = new HtmlRendererOptions(this.options);
@@ -144,6 +170,49 @@ public class HtmlRenderer implements IRender {
         RendererDependencyHandler resolver = new RendererDependencyHandler();
         nodeRendererFactories = resolver.resolveDependencies(nodeRenderers).getNodeRendererFactories();
 
+        int iMax = nodeRendererFactories.size();
+        NodeRenderer[] sharedNodeRenderers = new NodeRenderer[iMax];
+        HashMap<Class<?>, NodeRenderingHandlerWrapper> renderers = new HashMap<>(32);
+        ArrayList<PhasedNodeRenderer> phasedRenderers = new ArrayList<>(iMax);
+        int[] phasedFactoryIndices = new int[iMax];
+        HashSet<RenderingPhase> renderingPhases = new HashSet<>(RenderingPhase.values().length);
+        boolean hasDocumentNodeRenderers = false;
+
+        // NOTE: reverse factory order so handlers of earlier factories override later ones
+        for (int i = iMax - 1; i >= 0; i--) {
+            NodeRendererFactory factory = nodeRendererFactories.get(i).getFactory();
+            if (!(factory instanceof StatelessNodeRendererFactory)) {
+                hasDocumentNodeRenderers = true;
+                continue;
+            }
+
+            NodeRenderer nodeRenderer = factory.apply(this.options);
+            Set<NodeRenderingHandler<?>> renderingHandlers = nodeRenderer.getNodeRenderingHandlers();
+            assert (renderingHandlers != null);
+
+            sharedNodeRenderers[i] = nodeRenderer;
+            for (NodeRenderingHandler<?> nodeType : renderingHandlers) {
+                // Overwrite existing renderer
+                renderers.put(nodeType.getNodeType(), new NodeRenderingHandlerWrapper(nodeType, renderers.get(nodeType.getNodeType()), i));
+            }
+
+            if (nodeRenderer instanceof PhasedNodeRenderer) {
+                Set<RenderingPhase> phases = ((PhasedNodeRenderer) nodeRenderer).getRenderingPhases();
+                assert (phases != null);
+
+                renderingPhases.addAll(phases);
+                phasedFactoryIndices[phasedRenderers.size()] = i;
+                phasedRenderers.add((PhasedNodeRenderer) nodeRenderer);
+            }
+        }
+
+        this.sharedNodeRenderers = sharedNodeRenderers;
+        this.hasDocumentNodeRenderers = hasDocumentNodeRenderers;
+        this.sharedRenderers = renderers;
+        this.sharedPhasedRenderers = phasedRenderers;
+        this.sharedPhasedFactoryIndices = Arrays.copyOf(phasedFactoryIndices, phasedRenderers.size());
+        this.sharedRenderingPhases = renderingPhases;
+
         // HACK: but for now works
         boolean addEmbedded = !builder.attributeProviderFactories.containsKey(EmbeddedAttributeProvider.Factory.getClass());
         List<AttributeProviderFactory> values = new ArrayList<>(builder.attributeProviderFactories.values());
@@ -156,6 +225,21 @@ public class HtmlRenderer implements IRender {
         this.linkResolverFactories = FlatDependencyHandler.computeDependencies(builder.linkResolverFactories);
     }
 
+    /**
+     * Insert a handler into a handler chain, below handlers of factories with lower index which override it
+     *
+     * @param wrapper      handler chain for the node type or null
+     * @param handler      handler to insert
+     * @param factoryIndex index of the handler's node renderer factory
+     * @return handler chain with the handler inserted
+     */
+    static @NotNull NodeRenderingHandlerWrapper insertRenderingHandler(@Nullable NodeRenderingHandlerWrapper wrapper, @NotNull NodeRenderingHandler<?> handler, int factoryIndex) {
+        if (wrapper == null || wrapper.myFactoryIndex >= factoryIndex) {
+            return new NodeRenderingHandlerWrapper(handler, wrapper, factoryIndex);
+        }
+        return new NodeRenderingHandlerWrapper(wrapper.myRenderingHandler, insertRenderingHandler(wrapper.myPreviousRenderingHandler, handler, factoryIndex), wrapper.myFactoryIndex);
+    }
+
     /**
      * Create a new builder for configuring an {@link HtmlRenderer}.
      *
@@ -189,6 +273,7 @@ public class HtmlRenderer implements IRender {
      */
     public void render(@NotNull Node node, @NotNull Appendable output) {
         MainNodeRenderer renderer = new MainNodeRenderer(options, new HtmlWriter(htmlOptions.indentSize, htmlOptions.formatFlags, !htmlOptions.htmlBlockOpenTagEol, !htmlOptions.htmlBlockCloseTagEol), node.getDocument());
+        if (htmlOptions.flushTopLevelBlocks) renderer.streamOutput = output;
         if (renderer.htmlIdGenerator != HtmlIdGenerator.NULL && !(node instanceof Document)) {
             renderer.htmlIdGenerator.generateIds(node.getDocument());
         }
@@ -205,6 +290,7 @@ public class HtmlRenderer implements IRender {
      */
     public void render(@NotNull Node node, @NotNull Appendable output, int maxTrailingBlankLines) {
         MainNodeRenderer renderer = new MainNodeRenderer(options, new HtmlWriter(htmlOptions.indentSize, htmlOptions.formatFlags, !htmlOptions.htmlBlockOpenTagEol, !htmlOptions.htmlBlockCloseTagEol), node.getDocument());
+        if (htmlOptions.flushTopLevelBlocks) renderer.streamOutput = output;
         if (renderer.htmlIdGenerator != HtmlIdGenerator.NULL && !(node instanceof Document)) {
             renderer.htmlIdGenerator.generateIds(node.getDocument());
         }
@@ -213,6 +299,24 @@ public class HtmlRenderer implements IRender {
         renderer.dispose();
     }
 
+    /**
+     * Render a node using the given html writer
+     * <p>
+     * Used by writers which build other than text output from the rendered tags, text and raw html, rendered
+     * output is left in the writer. Writers of sub-contexts are text writers, their output is raw html for the given writer.
+     *
+     * @param node       node to render
+     * @param htmlWriter html writer to use for the output
+     */
+    public void render(@NotNull Node node, @NotNull HtmlWriter htmlWriter) {
+        MainNodeRenderer renderer = new MainNodeRenderer(options, htmlWriter, node.getDocument());
+        if (renderer.htmlIdGenerator != HtmlIdGenerator.NULL && !(node instanceof Document)) {
+            renderer.htmlIdGenerator.generateIds(node.getDocument());
+        }
+        renderer.render(node);
+        renderer.dispose();
+    }
+
     /**
      * Render the tree of nodes to HTML.
      *
@@ -226,6 +330,34 @@ public class HtmlRenderer implements IRender {
         return sb.toString();
     }
 
+    /**
+     * Render all nodes in parallel using the common fork join pool
+     *
+     * @param nodes the nodes to render
+     * @return results in node order, with the rendered HTML or the failure for each node
+     */
+    public @NotNull List<BatchResult<String>> renderAll(@NotNull Stream<? extends Node> nodes) {
+        return renderAll(nodes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Render all nodes in parallel using the given executor
+     * <p>
+     * Each worker re-uses its output buffer for the following nodes.
+     * A failure to render a node does not abort rendering of the other nodes.
+     *
+     * @param nodes    the nodes to render
+     * @param executor executor for rendering, for example a fixed thread pool or an executor using a virtual thread per task
+     * @return results in node order, with the rendered HTML or the failure for each node
+     */
+    public @NotNull List<BatchResult<String>> renderAll(@NotNull Stream<? extends Node> nodes, @NotNull Executor executor) {
+        return BatchResult.processAll(nodes.collect(Collectors.toList()), executor, StringBuilder::new, (out, node) -> {
+            out.setLength(0);
+            render(node, out);
+            return out.toString();
+        });
+    }
+
     static public boolean isCompatibleRendererType(@NotNull MutableDataHolder options, @NotNull String supportedRendererType) {
         String rendererType = HtmlRenderer.TYPE.get(options);
         return isCompatibleRendererType(options, rendererType, supportedRendererType);
@@ -534,12 +666,15 @@ public class HtmlRenderer implements IRender {
         private DataHolder options;
         private RenderingPhase phase;
         HtmlIdGenerator htmlIdGenerator;
+        @Nullable Appendable streamOutput;
         private HashMap<LinkType, HashMap<String, ResolvedLink>> resolvedLinkMap = new HashMap<>();
         private AttributeProvider[] attributeProviders;
+        private @Nullable HashMap<Class<?>, Object> renderingStates;
 
         @Override
         public void dispose() {
             document = null;
+            streamOutput = null;
             renderers = null;
             phasedRenderers = null;
 
@@ -554,6 +689,7 @@ public class HtmlRenderer implements IRender {
             if (htmlIdGenerator instanceof Disposable) ((Disposable) htmlIdGenerator).dispose();
             htmlIdGenerator = null;
             resolvedLinkMap = null;
+            renderingStates = null;
 
             for (AttributeProvider attributeProvider : attributeProviders) {
                 if (attributeProvider instanceof Disposable) ((Disposable) attributeProvider).dispose();
@@ -565,9 +701,6 @@ public class HtmlRenderer implements IRender {
             super(htmlWriter);
             this.options = new ScopedDataSet(document, options);
             this.document = document;
-            this.renderers = new HashMap<>(32);
-            this.renderingPhases = new HashSet<>(RenderingPhase.values().length);
-            this.phasedRenderers = new ArrayList<>(nodeRendererFactories.size());
             this.myLinkResolvers = new LinkResolver[linkResolverFactories.size()];
             this.doNotRenderLinksNesting = htmlOptions.doNotRenderLinksInDocument ? 0 : 1;
             this.htmlIdGenerator = htmlIdGeneratorFactory != null ? htmlIdGeneratorFactory.create(this)
@@ -575,34 +708,71 @@ public class HtmlRenderer implements IRender {
 
             htmlWriter.setContext(this);
 
+            this.renderers = sharedRenderers;
+            this.phasedRenderers = sharedPhasedRenderers;
+            this.renderingPhases = sharedRenderingPhases;
+            if (hasDocumentNodeRenderers) {
+                addDocumentNodeRenderers();
+            }
+
+            for (int i = 0; i < linkResolverFactories.size(); i++) {
+                myLinkResolvers[i] = linkResolverFactories.get(i).apply(this);
+            }
+
+            this.attributeProviders = new AttributeProvider[attributeProviderFactories.size()];
+            for (int i = 0; i < attributeProviderFactories.size(); i++) {
+                attributeProviders[i] = attributeProviderFactories.get(i).apply(this);
+            }
+        }
+
+        /**
+         * Create node renderers which are not stateless and add their handlers to a copy of the shared handler chains
+         */
+        private void addDocumentNodeRenderers() {
+            HashMap<Class<?>, NodeRenderingHandlerWrapper> renderers = new HashMap<>(sharedRenderers);
+            List<PhasedNodeRenderer> phasedRenderers = null;
+            Set<RenderingPhase> renderingPhases = null;
+            int sharedPhased = 0;
+
             for (int i = nodeRendererFactories.size() - 1; i >= 0; i--) {
-                NodeRendererFactory nodeRendererFactory = nodeRendererFactories.get(i);
-                NodeRenderer nodeRenderer = nodeRendererFactory.apply(this.getOptions());
+                if (sharedNodeRenderers[i] != null) continue;
+
+                NodeRenderer nodeRenderer = nodeRendererFactories.get(i).apply(this.getOptions());
                 Set<NodeRenderingHandler<?>> renderingHandlers = nodeRenderer.getNodeRenderingHandlers();
 
                 assert (renderingHandlers != null);
                 for (NodeRenderingHandler<?> nodeType : renderingHandlers) {
-                    // Overwrite existing renderer
-                    NodeRenderingHandlerWrapper handlerWrapper = new NodeRenderingHandlerWrapper(nodeType, renderers.get(nodeType.getNodeType()));
-                    renderers.put(nodeType.getNodeType(), handlerWrapper);
+                    renderers.put(nodeType.getNodeType(), insertRenderingHandler(renderers.get(nodeType.getNodeType()), nodeType, i));
                 }
 
                 if (nodeRenderer instanceof PhasedNodeRenderer) {
-                    Set<RenderingPhase> renderingPhases = ((PhasedNodeRenderer) nodeRenderer).getRenderingPhases();
-                    assert (renderingPhases != null);
+                    Set<RenderingPhase> phases = ((PhasedNodeRenderer) nodeRenderer).getRenderingPhases();
+                    assert (phases != null);
+
+                    if (phasedRenderers == null) {
+                        phasedRenderers = new ArrayList<>(nodeRendererFactories.size());
+                        renderingPhases = new HashSet<>(sharedRenderingPhases);
+                    }
+
+                    // keep phased renderers in reverse factory order
+                    while (sharedPhased < sharedPhasedFactoryIndices.length && sharedPhasedFactoryIndices[sharedPhased] > i) {
+                        phasedRenderers.add(sharedPhasedRenderers.get(sharedPhased++));
+                    }
 
-                    this.renderingPhases.addAll(renderingPhases);
-                    this.phasedRenderers.add((PhasedNodeRenderer) nodeRenderer);
+                    renderingPhases.addAll(phases);
+                    phasedRenderers.add((PhasedNodeRenderer) nodeRenderer);
                 }
             }
 
-            for (int i = 0; i < linkResolverFactories.size(); i++) {
-                myLinkResolvers[i] = linkResolverFactories.get(i).apply(this);
-            }
+            this.renderers = renderers;
 
-            this.attributeProviders = new AttributeProvider[attributeProviderFactories.size()];
-            for (int i = 0; i < attributeProviderFactories.size(); i++) {
-                attributeProviders[i] = attributeProviderFactories.get(i).apply(this);
+            if (phasedRenderers != null) {
+                while (sharedPhased < sharedPhasedFactoryIndices.length) {
+                    phasedRenderers.add(sharedPhasedRenderers.get(sharedPhased++));
+                }
+
+                this.phasedRenderers = phasedRenderers;
+                this.renderingPhases = renderingPhases;
             }
         }
 
@@ -669,6 +839,19 @@ public class HtmlRenderer implements IRender {
             return options;
         }
 
+        @NotNull
+        @Override
+        public <T> T getRenderingState(@NotNull Class<T> stateClass, @NotNull Function<NodeRendererContext, T> factory) {
+            if (renderingStates == null) renderingStates = new HashMap<>();
+
+            Object state = renderingStates.get(stateClass);
+            if (state == null) {
+                state = factory.apply(this);
+                renderingStates.put(stateClass, state);
+            }
+            return stateClass.cast(state);
+        }
+
         @NotNull
         @Override
         public HtmlRendererOptions getHtmlOptions() {
@@ -821,6 +1004,15 @@ public class HtmlRenderer implements IRender {
                         subContext.doNotRenderLinksNesting = oldDoNotRenderLinksNesting;
                         subContext.renderingHandlerWrapper = prevWrapper;
                     }
+
+                    if (streamOutput != null && subContext.htmlWriter == htmlWriter && node.getParent() instanceof Document) {
+                        // top level block is complete
+                        try {
+                            htmlWriter.flushLinesTo(streamOutput);
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
                 }
             }
         }
@@ -860,6 +1052,10 @@ public class HtmlRenderer implements IRender {
             @Override
             public DataHolder getOptions() {return myMainNodeRenderer.getOptions();}
 
+            @NotNull
+            @Override
+            public <T> T getRenderingState(@NotNull Class<T> stateClass, @NotNull Function<NodeRendererContext, T> factory) {return myMainNodeRenderer.getRenderingState(stateClass, factory);}
+
             @NotNull
             @Override
             public HtmlRendererOptions getHtmlOptions() {return myMainNodeRenderer.getHtmlOptions();}
@@ -7,9 +7,11 @@ import org.jetbrains.annotations.Nullable;
 class NodeRenderingHandlerWrapper {
     public final @NotNull NodeRenderingHandler<?> myRenderingHandler;
     public final @Nullable NodeRenderingHandlerWrapper myPreviousRenderingHandler;
+    public final int myFactoryIndex;        // index of the node renderer factory of the handler, lower index overrides higher
 
-    public NodeRenderingHandlerWrapper(@NotNull NodeRenderingHandler<?> renderingHandler, @Nullable NodeRenderingHandlerWrapper previousRenderingHandler) {
+    public NodeRenderingHandlerWrapper(@NotNull NodeRenderingHandler<?> renderingHandler, @Nullable NodeRenderingHandlerWrapper previousRenderingHandler, int factoryIndex) {
         myRenderingHandler = renderingHandler;
         myPreviousRenderingHandler = previousRenderingHandler;
+        myFactoryIndex = factoryIndex;
     }
 }
@@ -40,31 +40,49 @@ public class CoreNodeRenderer implements NodeRenderer {
     public static final AttributablePart PARAGRAPH_LINE = new AttributablePart("PARAGRAPH_LINE");
     public static final AttributablePart CODE_CONTENT = new AttributablePart("FENCED_CODE_CONTENT");
 
-    private final ListOptions listOptions;
-    private final boolean obfuscateEmail;
-    private final boolean obfuscateEmailRandom;
-    private final ReferenceRepository referenceRepository;
-    private final boolean recheckUndefinedReferences;
-    private final boolean codeContentBlock;
-    private final boolean codeSoftLineBreaks;
-
-    private List<Range> myLines;
-    private List<Integer> myEOLs;
-    private int myNextLine;
-    private int nextLineStartOffset;
-
+    /**
+     * Options of the document being rendered and state of source position paragraph line spans,
+     * created for every render so the renderer and its handlers can be shared by all renders
+     */
+    static class RenderingState {
+        final ListOptions listOptions;
+        final boolean obfuscateEmail;
+        final boolean obfuscateEmailRandom;
+        final ReferenceRepository referenceRepository;
+        final boolean recheckUndefinedReferences;
+        final boolean codeContentBlock;
+        final boolean codeSoftLineBreaks;
+
+        List<Range> myLines;
+        List<Integer> myEOLs;
+        int myNextLine;
+        int nextLineStartOffset;
+
+        RenderingState(NodeRendererContext context) {
+            DataHolder options = context.getOptions();
+            referenceRepository = Parser.REFERENCES.get(options);
+            recheckUndefinedReferences = HtmlRenderer.RECHECK_UNDEFINED_REFERENCES.get(options);
+            listOptions = ListOptions.get(options);
+            obfuscateEmail = HtmlRenderer.OBFUSCATE_EMAIL.get(options);
+            obfuscateEmailRandom = HtmlRenderer.OBFUSCATE_EMAIL_RANDOM.get(options);
+            codeContentBlock = Parser.FENCED_CODE_CONTENT_BLOCK.get(options);
+            codeSoftLineBreaks = Parser.CODE_SOFT_LINE_BREAKS.get(options);
+            myLines = null;
+            myEOLs = null;
+            myNextLine = 0;
+            nextLineStartOffset = 0;
+        }
+    }
+
+    /**
+     * @param options not used, options are taken from the rendering context of each document
+     */
     public CoreNodeRenderer(DataHolder options) {
-        referenceRepository = Parser.REFERENCES.get(options);
-        recheckUndefinedReferences = HtmlRenderer.RECHECK_UNDEFINED_REFERENCES.get(options);
-        listOptions = ListOptions.get(options);
-        obfuscateEmail = HtmlRenderer.OBFUSCATE_EMAIL.get(options);
-        obfuscateEmailRandom = HtmlRenderer.OBFUSCATE_EMAIL_RANDOM.get(options);
-        codeContentBlock = Parser.FENCED_CODE_CONTENT_BLOCK.get(options);
-        codeSoftLineBreaks = Parser.CODE_SOFT_LINE_BREAKS.get(options);
-        myLines = null;
-        myEOLs = null;
-        myNextLine = 0;
-        nextLineStartOffset = 0;
+
+    }
+
+    private static RenderingState state(NodeRendererContext context) {
+        return context.getRenderingState(RenderingState.class, RenderingState::new);
     }
 
     @SuppressWarnings("OverlyCoupledMethod")
@@ -154,7 +172,7 @@ public class CoreNodeRenderer implements NodeRenderer {
         }
 
         html.srcPosWithEOL(node.getContentChars()).withAttr(CODE_CONTENT).tag("code");
-        if (codeContentBlock) {
+        if (state(context).codeContentBlock) {
             context.renderChildren(node);
         } else {
             html.text(node.getContentChars().normalizeEOL());
@@ -179,7 +197,7 @@ public class CoreNodeRenderer implements NodeRenderer {
         }
 
         html.srcPosWithEOL(node.getContentChars()).withAttr(CODE_CONTENT).tag("code");
-        if (codeContentBlock) {
+        if (state(context).codeContentBlock) {
             context.renderChildren(node);
         } else {
             html.text(node.getContentChars().trimTailBlankLines().normalizeEndWithEOL());
@@ -205,7 +223,7 @@ public class CoreNodeRenderer implements NodeRenderer {
 
     void render(OrderedList node, NodeRendererContext context, HtmlWriter html) {
         int start = node.getStartNumber();
-        if (listOptions.isOrderedListManualStart() && start != 1) html.attr("start", String.valueOf(start));
+        if (state(context).listOptions.isOrderedListManualStart() && start != 1) html.attr("start", String.valueOf(start));
         html.withAttr().tagIndent("ol", () -> context.renderChildren(node));
     }
 
@@ -218,7 +236,7 @@ public class CoreNodeRenderer implements NodeRenderer {
     }
 
     private void renderListItem(ListItem node, NodeRendererContext context, HtmlWriter html) {
-        if (listOptions.isTightListItem(node)) {
+        if (state(context).listOptions.isTightListItem(node)) {
             html.srcPosWithEOL(node.getChars()).withAttr(TIGHT_LIST_ITEM).withCondIndent().tagLine("li", () -> {
                 html.text(node.getMarkerSuffix().unescape());
                 context.renderChildren(node);
@@ -234,13 +252,14 @@ public class CoreNodeRenderer implements NodeRenderer {
     public void renderTextBlockParagraphLines(Paragraph node, NodeRendererContext context, HtmlWriter html, boolean wrapTextInSpan) {
         if (context.getHtmlOptions().sourcePositionParagraphLines) {
             if (node.hasChildren()) {
+                RenderingState state = state(context);
                 LineCollectingVisitor breakCollectingVisitor = new LineCollectingVisitor();
-                myLines = breakCollectingVisitor.collectAndGetRanges(node);
-                myEOLs = breakCollectingVisitor.getEOLs();
-                myNextLine = 0;
+                state.myLines = breakCollectingVisitor.collectAndGetRanges(node);
+                state.myEOLs = breakCollectingVisitor.getEOLs();
+                state.myNextLine = 0;
 
                 if (node.getFirstChild() != null) {
-                    outputSourceLineSpan(node, node.getFirstChild(), node, html);
+                    outputSourceLineSpan(state, node, node.getFirstChild(), node, html);
                 }
                 context.renderChildren(node);
                 html.tag("/span");
@@ -255,10 +274,10 @@ public class CoreNodeRenderer implements NodeRenderer {
         }
     }
 
-    private void outputSourceLineSpan(Node parentNode, Node startNode, Node endNode, HtmlWriter html) {
+    private static void outputSourceLineSpan(RenderingState state, Node parentNode, Node startNode, Node endNode, HtmlWriter html) {
         int startOffset = startNode.getStartOffset();
-        Range range = myLines.get(myNextLine);
-        int eolLength = myEOLs.get(myNextLine);
+        Range range = state.myLines.get(state.myNextLine);
+        int eolLength = state.myEOLs.get(state.myNextLine);
 
         // remove trailing spaces from text
         int endOffset = endNode.getEndOffset();
@@ -266,9 +285,9 @@ public class CoreNodeRenderer implements NodeRenderer {
             endOffset = range.getEnd();
             endOffset -= eolLength;
             endOffset -= parentNode.baseSubSequence(startOffset, endOffset).countTrailing(SequenceUtils.SPACE_TAB_SET);
-            myNextLine++;
-            nextLineStartOffset = range.getEnd();
-            nextLineStartOffset += parentNode.baseSubSequence(nextLineStartOffset, parentNode.getEndOffset()).countLeading(SequenceUtils.SPACE_TAB_SET);
+            state.myNextLine++;
+            state.nextLineStartOffset = range.getEnd();
+            state.nextLineStartOffset += parentNode.baseSubSequence(state.nextLineStartOffset, parentNode.getEndOffset()).countLeading(SequenceUtils.SPACE_TAB_SET);
         }
 
         if (range.getStart() > startOffset) {
@@ -278,23 +297,23 @@ public class CoreNodeRenderer implements NodeRenderer {
         html.srcPos(startOffset, endOffset).withAttr(PARAGRAPH_LINE).tag("span");
     }
 
-    private void outputNextLineBreakSpan(Node node, HtmlWriter html, boolean outputBreakText) {
-        Range range = myLines.get(myNextLine);
-        int eolLength = myEOLs.get(myNextLine);
-        myNextLine++;
+    private static void outputNextLineBreakSpan(RenderingState state, Node node, HtmlWriter html, boolean outputBreakText) {
+        Range range = state.myLines.get(state.myNextLine);
+        int eolLength = state.myEOLs.get(state.myNextLine);
+        state.myNextLine++;
 
         // remove trailing spaces from text
-        int countTrailing = node.baseSubSequence(nextLineStartOffset, range.getEnd() - eolLength).countTrailing(SequenceUtils.SPACE_TAB_SET);
+        int countTrailing = node.baseSubSequence(state.nextLineStartOffset, range.getEnd() - eolLength).countTrailing(SequenceUtils.SPACE_TAB_SET);
         if (!outputBreakText && countTrailing > 0) {
             countTrailing--;
         }
         eolLength += countTrailing;
 
-        html.srcPos(nextLineStartOffset, range.getEnd() - eolLength).withAttr(PARAGRAPH_LINE).tag("span");
-        nextLineStartOffset = range.getEnd();
+        html.srcPos(state.nextLineStartOffset, range.getEnd() - eolLength).withAttr(PARAGRAPH_LINE).tag("span");
+        state.nextLineStartOffset = range.getEnd();
 
         // remove leading spaces
-        nextLineStartOffset += node.baseSubSequence(nextLineStartOffset, node.getChars().getBaseSequence().length()).countLeading(SequenceUtils.SPACE_TAB_SET);
+        state.nextLineStartOffset += node.baseSubSequence(state.nextLineStartOffset, node.getChars().getBaseSequence().length()).countLeading(SequenceUtils.SPACE_TAB_SET);
     }
 
     private void renderLooseParagraph(Paragraph node, NodeRendererContext context, HtmlWriter html) {
@@ -309,7 +328,7 @@ public class CoreNodeRenderer implements NodeRenderer {
     void render(Paragraph node, NodeRendererContext context, HtmlWriter html) {
         if (node.getFirstChildAnyNot(NonRenderingInline.class) != null) {
             if (!(node.getParent() instanceof ParagraphItemContainer)
-                    || !((ParagraphItemContainer) node.getParent()).isParagraphWrappingDisabled(node, listOptions, context.getOptions())) {
+                    || !((ParagraphItemContainer) node.getParent()).isParagraphWrappingDisabled(node, state(context).listOptions, context.getOptions())) {
                 renderLooseParagraph(node, context, html);
             } else {
                 renderTextBlockParagraphLines(node, context, html, false); //context.getHtmlOptions().wrapTightItemParagraphInSpan);
@@ -318,7 +337,8 @@ public class CoreNodeRenderer implements NodeRenderer {
     }
 
     private boolean renderLineBreak(String breakText, String suppressInTag, Node node, NodeRendererContext context, HtmlWriter html) {
-        if (myLines != null && myNextLine < myLines.size()) {
+        RenderingState state = state(context);
+        if (state.myLines != null && state.myNextLine < state.myLines.size()) {
             // here we may need to close tags opened since the span tag
             List<String> openTags = html.getOpenTagsAfterLast("span");
             int iMax = openTags.size();
@@ -339,7 +359,7 @@ public class CoreNodeRenderer implements NodeRenderer {
                 html.raw(breakText);
             }
 
-            outputNextLineBreakSpan(node, html, outputBreakText);
+            outputNextLineBreakSpan(state, node, html, outputBreakText);
 
             for (String tag : openTags) {
                 if (!outputBreakText && context.getHtmlOptions().inlineCodeSpliceClass != null && !context.getHtmlOptions().inlineCodeSpliceClass.isEmpty()) {
@@ -420,6 +440,7 @@ public class CoreNodeRenderer implements NodeRenderer {
 
     void render(Code node, NodeRendererContext context, HtmlWriter html) {
         HtmlRendererOptions htmlOptions = context.getHtmlOptions();
+        boolean codeSoftLineBreaks = state(context).codeSoftLineBreaks;
         if (htmlOptions.codeStyleHtmlOpen == null || htmlOptions.codeStyleHtmlClose == null) {
             if (context.getHtmlOptions().sourcePositionParagraphLines) {
                 html.withAttr().tag("code");
@@ -591,8 +612,9 @@ public class CoreNodeRenderer implements NodeRenderer {
             html.text(text);
         } else {
             ResolvedLink resolvedLink = context.resolveLink(LinkType.LINK, text, null);
-            if (obfuscateEmail) {
-                String url = Escaping.obfuscate("mailto:" + resolvedLink.getUrl(), obfuscateEmailRandom);
+            RenderingState state = state(context);
+            if (state.obfuscateEmail) {
+                String url = Escaping.obfuscate("mailto:" + resolvedLink.getUrl(), state.obfuscateEmailRandom);
                 text = Escaping.obfuscate(text, true);
 
                 html.srcPos(node.getText()).attr("href", url)
@@ -669,11 +691,12 @@ public class CoreNodeRenderer implements NodeRenderer {
     ) {
         // if have SOFT BREAK or HARD BREAK as child then we open our own span
         if (context.getHtmlOptions().sourcePositionParagraphLines && nodeChildText.indexOfAny(SequenceUtils.ANY_EOL_SET) >= 0) {
-            if (myNextLine > 0) {
-                myNextLine--;
+            RenderingState state = state(context);
+            if (state.myNextLine > 0) {
+                state.myNextLine--;
             }
 
-            outputSourceLineSpan(node, node, node, html);
+            outputSourceLineSpan(state, node, node, node, html);
             context.renderChildren(node);
             html.tag("/span");
         } else {
@@ -684,8 +707,10 @@ public class CoreNodeRenderer implements NodeRenderer {
     void render(ImageRef node, NodeRendererContext context, HtmlWriter html) {
         ResolvedLink resolvedLink;
         boolean isSuppressed = false;
+        RenderingState state = state(context);
+        ReferenceRepository referenceRepository = state.referenceRepository;
 
-        if (!node.isDefined() && recheckUndefinedReferences) {
+        if (!node.isDefined() && state.recheckUndefinedReferences) {
             if (node.getReferenceNode(referenceRepository) != null) {
                 node.setDefined(true);
             }
@@ -738,8 +763,10 @@ public class CoreNodeRenderer implements NodeRenderer {
     void render(LinkRef node, NodeRendererContext context, HtmlWriter html) {
         ResolvedLink resolvedLink;
         boolean isSuppressed = false;
+        RenderingState state = state(context);
+        ReferenceRepository referenceRepository = state.referenceRepository;
 
-        if (!node.isDefined() && recheckUndefinedReferences) {
+        if (!node.isDefined() && state.recheckUndefinedReferences) {
             if (node.getReferenceNode(referenceRepository) != null) {
                 node.setDefined(true);
             }
@@ -796,7 +823,7 @@ public class CoreNodeRenderer implements NodeRenderer {
         }
     }
 
-    public static class Factory implements NodeRendererFactory {
+    public static class Factory implements StatelessNodeRendererFactory {
         @NotNull
         @Override
         public NodeRenderer apply(@NotNull DataHolder options) {
@@ -7,6 +7,8 @@ import com.vladsch.flexmark.util.html.Attributes;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Function;
+
 /**
  * The context for node rendering, including configuration and functionality for the node renderer to use.
  */
@@ -124,4 +126,17 @@ public interface NodeRendererContext extends LinkResolverContext {
      * @return the {@link HtmlRendererOptions} for the context.
      */
     @NotNull HtmlRendererOptions getHtmlOptions();
+
+    /**
+     * Get rendering state for the document being rendered, created on first request and shared by all sub-contexts of the render.
+     * <p>
+     * Allows renderers of a {@link StatelessNodeRendererFactory}, which are shared by all renders,
+     * to keep per document state and use options of the document being rendered.
+     *
+     * @param stateClass class of the state, used as its key
+     * @param factory    creates the state from the main context of the render
+     * @param <T>        type of the state
+     * @return rendering state of the class for the document being rendered
+     */
+    @NotNull <T> T getRenderingState(@NotNull Class<T> stateClass, @NotNull Function<NodeRendererContext, T> factory);
 }
@@ -0,0 +1,16 @@
+package com.vladsch.flexmark.html.renderer;
+
+/**
+ * Marker for node renderer factories whose renderers keep no per-document state.
+ * <p>
+ * Renderers of such factories are created once per {@link com.vladsch.flexmark.html.HtmlRenderer} instance
+ * from its options and their rendering handlers are shared by all render calls instead of being created for every document.
+ * <p>
+ * NOTE: the factory is only ever applied to the HtmlRenderer options, it never sees options of the document being rendered.
+ * Handlers which need document options or per-document state get them from {@link NodeRendererContext#getOptions()}
+ * and {@link NodeRendererContext#getRenderingState(Class, java.util.function.Function)} while rendering.
+ * Only mark factories whose renderers can be used by multiple threads at the same time.
+ */
+public interface StatelessNodeRendererFactory extends NodeRendererFactory {
+
+}
@@ -0,0 +1,256 @@
+package com.vladsch.flexmark.parser;
+
+import com.vladsch.flexmark.ast.Reference;
+import com.vladsch.flexmark.ast.util.ReferenceRepository;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.ast.KeepType;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.ast.SequenceRebase;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Re-parses the top level blocks of a document affected by an edit and splices them into the document
+ * <p>
+ * The parsed region starts at the top level block before the first affected block and ends with the
+ * top level block after the last affected one. When these two blocks are not re-parsed to identical blocks
+ * the edit changed the structure beyond the region and the caller falls back to parsing the whole text.
+ * <p>
+ * Nodes outside the region are re-used, their character sequences are re-based on the new text by {@link Node#rebaseChars(SequenceRebase)}.
+ * Reference definitions of the region are replaced in the document's reference repository, as long as
+ * the edit does not change which labels are defined, since that changes links in the rest of the document.
+ */
+class DocumentReparser {
+    private final @NotNull Parser parser;
+    private final @NotNull Document document;
+    private final @NotNull BasedSequence newChars;
+    private final @NotNull TextEdit edit;
+
+    DocumentReparser(@NotNull Parser parser, @NotNull Document document, @NotNull BasedSequence newChars, @NotNull TextEdit edit) {
+        this.parser = parser;
+        this.document = document;
+        this.newChars = newChars;
+        this.edit = edit;
+    }
+
+    /**
+     * Re-parse affected blocks and splice them into the document
+     *
+     * @return updated document or null if the document has to be parsed in full
+     */
+    @Nullable Document reparse() {
+        BasedSequence oldChars = document.getChars();
+        int oldLength = oldChars.length();
+        int delta = edit.getDelta();
+
+        if (edit.getEndOffset() > oldLength || oldLength + delta != newChars.length()) {
+            throw new IllegalArgumentException("Edit " + edit + " does not match old text length " + oldLength + " and new text length " + newChars.length());
+        }
+
+        // document must have been parsed from the complete old text
+        if (oldChars.getStartOffset() != 0 || oldChars.getBaseSequence().length() != oldLength || newChars.getStartOffset() != 0) return null;
+
+        // affected blocks overlap or touch the edit, an edit between blocks affects the block before it
+        Node firstAffected = null;
+        Node lastAffected = null;
+        for (Node child = document.getFirstChild(); child != null; child = child.getNext()) {
+            if (child.getStartOffset() > edit.getEndOffset()) break;
+            if (firstAffected == null && child.getEndOffset() >= edit.getStartOffset()) firstAffected = child;
+            lastAffected = child;
+        }
+
+        if (lastAffected == null) lastAffected = document.getFirstChild();
+        if (lastAffected == null) return null;
+        if (firstAffected == null) firstAffected = lastAffected;
+
+        Node before = firstAffected.getPrevious();
+        Node after = lastAffected.getNext();
+
+        int regionStart = before == null ? 0 : startOfLine(oldChars, Math.min(before.getStartOffset(), edit.getStartOffset()));
+        int regionEnd = after == null ? oldLength : endOfBlankLines(oldChars, endOfLine(oldChars, Math.max(after.getEndOffset(), edit.getEndOffset())));
+
+        Node regionFirst = before == null ? document.getFirstChild() : before;
+        Node regionLast = after == null ? document.getLastChild() : after;
+
+        ReferenceRepository references = Parser.REFERENCES.get(document);
+        boolean updateReferences = Parser.REFERENCES_KEEP.get(parser.getOptions()) != KeepType.LOCKED;
+        ArrayList<Reference> oldReferences = new ArrayList<>();
+        HashSet<String> oldLabels = new HashSet<>();
+
+        if (updateReferences) {
+            collectReferences(regionFirst, regionLast, oldReferences);
+            for (Reference reference : oldReferences) {
+                oldLabels.add(references.normalizeKey(reference.getReference()));
+            }
+
+            // which of duplicate definitions is used depends on document order, the whole document has to be parsed
+            if (!oldLabels.isEmpty()) {
+                HashSet<Reference> regionReferences = new HashSet<>(oldReferences);
+                for (Reference reference : references.values()) {
+                    if (!regionReferences.contains(reference) && oldLabels.contains(references.normalizeKey(reference.getReference()))) return null;
+                }
+            }
+        }
+
+        ReferenceRepository regionReferences = regionReferences(references, updateReferences, oldLabels);
+        Document region = parseRegion(newChars.subSequence(regionStart, regionEnd + delta), regionReferences);
+
+        if (region.getFirstChild() == null) return null;
+        if (before != null && !isSameBlock(before, region.getFirstChild(), 0)) return null;
+        if (after != null && !isSameBlock(after, region.getLastChild(), delta)) return null;
+
+        if (updateReferences) {
+            // labels defined or undefined by the edit change links in the rest of the document
+            ArrayList<Reference> newReferences = new ArrayList<>();
+            collectReferences(region.getFirstChild(), region.getLastChild(), newReferences);
+
+            HashSet<String> newLabels = new HashSet<>();
+            for (Reference reference : newReferences) {
+                newLabels.add(regionReferences.normalizeKey(reference.getReference()));
+            }
+
+            if (!newLabels.equals(oldLabels)) return null;
+        }
+
+        // rebase nodes outside the region, before it offsets do not change
+        SequenceRebase rebaseBefore = new SequenceRebase(oldChars, newChars, 0);
+        for (Node child = document.getFirstChild(); child != regionFirst; child = child.getNext()) {
+            if (!rebaseTree(child, rebaseBefore)) return null;
+        }
+
+        SequenceRebase rebaseAfter = new SequenceRebase(oldChars, newChars, delta);
+        for (Node child = regionLast.getNext(); child != null; child = child.getNext()) {
+            if (!rebaseTree(child, rebaseAfter)) return null;
+        }
+
+        // splice new blocks in place of the region
+        Node next = regionFirst;
+        Node regionNext = regionLast.getNext();
+        while (next != regionNext) {
+            Node node = next;
+            next = next.getNext();
+            node.unlink();
+        }
+
+        Node child = region.getFirstChild();
+        while (child != null) {
+            Node node = child;
+            child = child.getNext();
+
+            if (regionNext == null) document.appendChild(node);
+            else regionNext.insertBefore(node);
+        }
+
+        if (updateReferences && !oldLabels.isEmpty()) {
+            references.replaceNodes(oldReferences, regionReferences);
+        }
+
+        document.setChars(newChars);
+        return document;
+    }
+
+    /**
+     * Repository used to parse the region, it sees the references of the rest of the document
+     * <p>
+     * NOTE: it is a copy since parsing adds to the repository, without definitions of the region's old text
+     */
+    private @NotNull ReferenceRepository regionReferences(@NotNull ReferenceRepository references, boolean updateReferences, @NotNull HashSet<String> oldLabels) {
+        if (!updateReferences) return references;
+
+        ReferenceRepository copy = new ReferenceRepository(parser.getOptions());
+        copy.putAll(references);
+        for (String label : oldLabels) {
+            copy.remove(label);
+        }
+        return copy;
+    }
+
+    private @NotNull Document parseRegion(@NotNull BasedSequence regionChars, @NotNull ReferenceRepository references) {
+        MutableDataSet options = new MutableDataSet(parser.getOptions());
+        options.set(Parser.REFERENCES, references);
+        return parser.createDocumentParser(options).parse(regionChars);
+    }
+
+    private static void collectReferences(@NotNull Node first, @NotNull Node last, @NotNull List<Reference> references) {
+        for (Node child = first; child != null; child = child.getNext()) {
+            if (child instanceof Reference) references.add((Reference) child);
+
+            for (Node node : child.getDescendants()) {
+                if (node instanceof Reference) references.add((Reference) node);
+            }
+
+            if (child == last) break;
+        }
+    }
+
+    /**
+     * Rebase node and its descendants on the new text
+     *
+     * @return false if a node kept sequences of the old text, ie. its type does not re-base all its sequences
+     */
+    private static boolean rebaseTree(@NotNull Node node, @NotNull SequenceRebase rebase) {
+        if (!rebaseNode(node, rebase)) return false;
+
+        for (Node descendant : node.getDescendants()) {
+            if (!rebaseNode(descendant, rebase)) return false;
+        }
+        return true;
+    }
+
+    private static boolean rebaseNode(@NotNull Node node, @NotNull SequenceRebase rebase) {
+        node.rebaseChars(rebase);
+
+        if (rebase.isStale(node.getChars())) return false;
+        for (BasedSequence segment : node.getSegments()) {
+            if (rebase.isStale(segment)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSameBlock(@NotNull Node oldBlock, @NotNull Node newBlock, int delta) {
+        return oldBlock.getClass() == newBlock.getClass()
+                && oldBlock.getStartOffset() + delta == newBlock.getStartOffset()
+                && oldBlock.getEndOffset() + delta == newBlock.getEndOffset();
+    }
+
+    private static int startOfLine(@NotNull BasedSequence chars, int offset) {
+        while (offset > 0) {
+            char c = chars.charAt(offset - 1);
+            if (c == '\n' || c == '\r') break;
+            offset--;
+        }
+        return offset;
+    }
+
+    private static int endOfLine(@NotNull BasedSequence chars, int offset) {
+        int length = chars.length();
+        if (offset == 0 || offset == length) return offset;
+
+        char c = chars.charAt(offset - 1);
+        if (c == '\n' || c == '\r' && chars.charAt(offset) != '\n') return offset;
+
+        while (offset < length && chars.charAt(offset) != '\n' && chars.charAt(offset) != '\r') offset++;
+        if (offset < length && chars.charAt(offset) == '\r') offset++;
+        if (offset < length && chars.charAt(offset) == '\n') offset++;
+        return offset;
+    }
+
+    // NOTE: blank lines following a block are part of its state, ie. paragraph trailing blank line
+    private static int endOfBlankLines(@NotNull BasedSequence chars, int offset) {
+        int length = chars.length();
+
+        while (offset < length) {
+            int lineEnd = offset;
+            while (lineEnd < length && (chars.charAt(lineEnd) == ' ' || chars.charAt(lineEnd) == '\t')) lineEnd++;
+            if (lineEnd < length && chars.charAt(lineEnd) != '\n' && chars.charAt(lineEnd) != '\r') break;
+            offset = endOfLine(chars, lineEnd + (lineEnd < length ? 1 : 0));
+        }
+        return offset;
+    }
+}
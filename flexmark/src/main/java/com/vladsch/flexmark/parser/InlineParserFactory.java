@@ -1,5 +1,6 @@
 package com.vladsch.flexmark.parser;
 
+import com.vladsch.flexmark.ast.util.Parsing;
 import com.vladsch.flexmark.parser.delimiter.DelimiterProcessor;
 import com.vladsch.flexmark.parser.internal.LinkRefProcessorData;
 import com.vladsch.flexmark.util.data.DataHolder;
@@ -19,4 +20,29 @@ public interface InlineParserFactory {
             @NotNull LinkRefProcessorData linkRefProcessors,
             @NotNull List<InlineParserExtensionFactory> inlineParserExtensions
     );
+
+    /**
+     * Create inline parser for options of a parser which already computed its parsing instance
+     * <p>
+     * Default implementation ignores the parsing instance, factories which use {@link Parsing} should
+     * override it to avoid deriving a parsing instance for every document.
+     *
+     * @param parsing                parsing instance, with options for the inline parser
+     * @param specialCharacters      special characters
+     * @param delimiterCharacters    delimiter characters
+     * @param delimiterProcessors    delimiter processors
+     * @param linkRefProcessors      link ref processors
+     * @param inlineParserExtensions inline parser extensions
+     * @return inline parser
+     */
+    default InlineParser inlineParser(
+            @NotNull Parsing parsing,
+            @NotNull BitSet specialCharacters,
+            @NotNull BitSet delimiterCharacters,
+            @NotNull Map<Character, DelimiterProcessor> delimiterProcessors,
+            @NotNull LinkRefProcessorData linkRefProcessors,
+            @NotNull List<InlineParserExtensionFactory> inlineParserExtensions
+    ) {
+        return inlineParser(parsing.options, specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessors, inlineParserExtensions);
+    }
 }
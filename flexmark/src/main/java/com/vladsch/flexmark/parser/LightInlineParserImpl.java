@@ -28,7 +28,15 @@ public class LightInlineParserImpl implements LightInlineParser {
 
     public LightInlineParserImpl(DataHolder dataOptions) {
         this.options = new InlineParserOptions(dataOptions);
-        this.myParsing = new Parsing(dataOptions);
+        this.myParsing = Parsing.of(dataOptions);
+    }
+
+    /**
+     * @param parsing parsing instance computed for the options, its options are used by the inline parser
+     */
+    public LightInlineParserImpl(@NotNull Parsing parsing) {
+        this.options = new InlineParserOptions(parsing.options);
+        this.myParsing = parsing;
     }
 
     @NotNull
@@ -1,7 +1,9 @@
 package com.vladsch.flexmark.parser;
 
+import com.vladsch.flexmark.ast.util.Parsing;
 import com.vladsch.flexmark.ast.util.ReferenceRepository;
 import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.block.BlockParserFactory;
 import com.vladsch.flexmark.parser.block.BlockPreProcessorFactory;
 import com.vladsch.flexmark.parser.block.CustomBlockParserFactory;
 import com.vladsch.flexmark.parser.block.ParagraphPreProcessorFactory;
@@ -10,6 +12,7 @@ import com.vladsch.flexmark.parser.internal.DocumentParser;
 import com.vladsch.flexmark.parser.internal.InlineParserImpl;
 import com.vladsch.flexmark.parser.internal.LinkRefProcessorData;
 import com.vladsch.flexmark.parser.internal.PostProcessorManager;
+import com.vladsch.flexmark.util.BatchResult;
 import com.vladsch.flexmark.util.SharedDataKeys;
 import com.vladsch.flexmark.util.ast.*;
 import com.vladsch.flexmark.util.builder.BuilderBase;
@@ -23,6 +26,10 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Parses input text to a tree of nodes.
@@ -43,6 +50,14 @@ public class Parser implements IParse {
 
     public static final DataKey<Boolean> TRACK_DOCUMENT_LINES = new DataKey<>("TRACK_DOCUMENT_LINES", false);
 
+    // parse inlines of blocks concurrently on the common fork join pool for documents with at least PARALLEL_INLINE_PARSING_THRESHOLD characters
+    //   NOTE: ignored when link ref processors are used (footnotes, wiki links, etc.) since they modify document state while parsing inlines,
+    //   inline parser extensions and delimiter processors must only modify nodes of the block being parsed,
+    //   each concurrent inline parser creates its own extensions so an extension instance only sees some of the document's blocks
+    //   and finalizeDocument is called on every created instance
+    public static final DataKey<Boolean> PARALLEL_INLINE_PARSING = new DataKey<>("PARALLEL_INLINE_PARSING", false);
+    public static final DataKey<Integer> PARALLEL_INLINE_PARSING_THRESHOLD = new DataKey<>("PARALLEL_INLINE_PARSING_THRESHOLD", 256 * 1024);
+
     public static final DataKey<Boolean> BLOCK_QUOTE_PARSER = new DataKey<>("BLOCK_QUOTE_PARSER", true);
     public static final DataKey<Boolean> BLOCK_QUOTE_EXTEND_TO_BLANK_LINE = new DataKey<>("BLOCK_QUOTE_EXTEND_TO_BLANK_LINE", false);
     public static final DataKey<Boolean> BLOCK_QUOTE_IGNORE_BLANK_LINE = new DataKey<>("BLOCK_QUOTE_IGNORE_BLANK_LINE", false);
@@ -295,6 +310,9 @@ public class Parser implements IParse {
     private final List<InlineParserExtensionFactory> inlineParserExtensionFactories;
     private final InlineParserFactory inlineParserFactory;
     private final DataHolder options;
+    private final Parsing parsing;
+    private final boolean parallelInlineParsing;
+    private final boolean incrementalReparse;
 
     Parser(Builder builder) {
         DataSet options = builder.toImmutable();
@@ -322,6 +340,17 @@ public class Parser implements IParse {
         this.specialCharacters = InlineParserImpl.calculateSpecialCharacters(options, delimiterCharacters);
         this.postProcessorDependencies = PostProcessorManager.calculatePostProcessors(options, builder.postProcessorFactories);
         this.inlineParserExtensionFactories = builder.inlineParserExtensionFactories;
+
+        // compile patterns once, shared by all parse calls with the same pattern affecting options
+        this.parsing = Parsing.of(this.options);
+        this.parallelInlineParsing = PARALLEL_INLINE_PARSING.get(options) && linkRefProcessors.processors.isEmpty();
+
+        // only reference definitions are tracked when re-parsing part of a document,
+        //   other document level state is kept by link ref processors, post processors and custom paragraph pre-processors
+        this.incrementalReparse = linkRefProcessors.processors.isEmpty()
+                && postProcessorDependencies.isEmpty()
+                && builder.paragraphPreProcessorFactories.isEmpty()
+                && !TRACK_DOCUMENT_LINES.get(options);
     }
 
     /**
@@ -346,11 +375,7 @@ public class Parser implements IParse {
      * @return the root node
      */
     public @NotNull Document parse(@NotNull BasedSequence input) {
-        DocumentParser documentParser = new DocumentParser(options
-                , blockParserFactories
-                , paragraphPreProcessorFactories
-                , blockPreProcessorDependencies
-                , inlineParserFactory.inlineParser(options, specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessors, inlineParserExtensionFactories));
+        DocumentParser documentParser = createDocumentParser(DocumentParser.createBlockParserFactories(options, blockParserFactories), createInlineParser());
         Document document = documentParser.parse(input);
         return postProcess(document);
     }
@@ -364,11 +389,7 @@ public class Parser implements IParse {
      * @return the root node
      */
     public @NotNull Document parse(@NotNull String input) {
-        DocumentParser documentParser = new DocumentParser(options
-                , blockParserFactories
-                , paragraphPreProcessorFactories
-                , blockPreProcessorDependencies
-                , inlineParserFactory.inlineParser(options, specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessors, inlineParserExtensionFactories));
+        DocumentParser documentParser = createDocumentParser(DocumentParser.createBlockParserFactories(options, blockParserFactories), createInlineParser());
         Document document = documentParser.parse(BasedSequence.of(input));
         return postProcess(document);
     }
@@ -383,16 +404,103 @@ public class Parser implements IParse {
      * @throws IOException when reading throws an exception
      */
     public @NotNull Document parseReader(@NotNull Reader input) throws IOException {
-        DocumentParser documentParser = new DocumentParser(options
+        DocumentParser documentParser = createDocumentParser(DocumentParser.createBlockParserFactories(options, blockParserFactories), createInlineParser());
+        Document document = documentParser.parse(input);
+        return postProcess(document);
+    }
+
+    /**
+     * Re-parse a document after an edit of its text, re-using its top level blocks which are not affected by the edit
+     * <p>
+     * Only the top level blocks overlapping the edit and one block on either side of them are parsed again,
+     * the new blocks are spliced into the previous document and nodes of the other blocks are re-based on the new text
+     * with {@link Node#rebaseChars(SequenceRebase)}. Reference definitions of the re-parsed blocks are replaced in the
+     * document's {@link #REFERENCES} repository.
+     * <p>
+     * The whole text is parsed when the edit adds or removes reference definition labels, or a label it changes
+     * is also defined by other blocks, changes block structure beyond the re-parsed blocks, a re-used node keeps
+     * sequences which it does not re-base or the parser uses extensions which keep document level state:
+     * link ref processors (footnotes, wiki links, etc.), post processors or custom paragraph pre-processors.
+     * <p>
+     * NOTE: the previous document is modified and must not be used after this call, it is returned when it is re-used.
+     * It must have been parsed by this parser.
+     *
+     * @param previous document parsed from the text before the edit
+     * @param newText  text after the edit
+     * @param edit     edit which changed the previous text to new text
+     * @return document for the new text
+     */
+    public @NotNull Document reparse(@NotNull Document previous, @NotNull CharSequence newText, @NotNull TextEdit edit) {
+        BasedSequence input = BasedSequence.of(newText);
+
+        if (incrementalReparse) {
+            Document document = new DocumentReparser(this, previous, input, edit).reparse();
+            if (document != null) return document;
+        }
+        return parse(input);
+    }
+
+    /**
+     * Create a new parser session which re-uses block parser factories and inline parser
+     * for all documents it parses.
+     * <p>
+     * Note that the session is not thread-safe, use a separate session for each thread.
+     * For example, keep one in a {@code ThreadLocal} or in a pool.
+     *
+     * @return new parser session
+     */
+    public @NotNull ParserSession newSession() {
+        return new ParserSession(this, DocumentParser.createBlockParserFactories(options, blockParserFactories), createInlineParser());
+    }
+
+    /**
+     * Parse all inputs in parallel using the common fork join pool
+     *
+     * @param inputs the texts to parse
+     * @return results in input order, with the document or the failure for each input
+     */
+    public @NotNull List<BatchResult<Document>> parseAll(@NotNull Stream<? extends CharSequence> inputs) {
+        return parseAll(inputs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse all inputs in parallel using the given executor
+     * <p>
+     * Each worker uses its own {@link ParserSession} which is re-used for the following inputs.
+     * A failure to parse an input does not abort parsing of the other inputs.
+     *
+     * @param inputs   the texts to parse
+     * @param executor executor for parsing, for example a fixed thread pool or an executor using a virtual thread per task
+     * @return results in input order, with the document or the failure for each input
+     */
+    public @NotNull List<BatchResult<Document>> parseAll(@NotNull Stream<? extends CharSequence> inputs, @NotNull Executor executor) {
+        return BatchResult.processAll(inputs.collect(Collectors.toList()), executor, this::newSession, (session, input) -> session.parse(BasedSequence.of(input)));
+    }
+
+    @NotNull InlineParser createInlineParser() {
+        // NOTE: parsing instance was computed for the options when the parser was built
+        return inlineParserFactory.inlineParser(parsing, specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessors, inlineParserExtensionFactories);
+    }
+
+    @NotNull DocumentParser createDocumentParser(@NotNull List<BlockParserFactory> blockParserFactories, @NotNull InlineParser inlineParser) {
+        return new DocumentParser(options
+                , paragraphPreProcessorFactories
+                , blockPreProcessorDependencies
+                , inlineParser
                 , blockParserFactories
+                , parallelInlineParsing ? this::createInlineParser : null);
+    }
+
+    @NotNull DocumentParser createDocumentParser(@NotNull DataHolder documentOptions) {
+        return new DocumentParser(documentOptions
                 , paragraphPreProcessorFactories
                 , blockPreProcessorDependencies
-                , inlineParserFactory.inlineParser(options, specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessors, inlineParserExtensionFactories));
-        Document document = documentParser.parse(input);
-        return postProcess(document);
+                , createInlineParser()
+                , DocumentParser.createBlockParserFactories(documentOptions, blockParserFactories)
+                , parallelInlineParsing ? this::createInlineParser : null);
     }
 
-    private Document postProcess(Document document) {
+    @NotNull Document postProcess(@NotNull Document document) {
         document = PostProcessorManager.processDocument(document, postProcessorDependencies);
         return document;
     }
@@ -403,6 +511,17 @@ public class Parser implements IParse {
         return options;
     }
 
+    /**
+     * Get parsing strings and patterns for this parser's options
+     * <p>
+     * Compiled patterns are shared between all parse calls and threads
+     *
+     * @return parsing instance for this parser
+     */
+    public @NotNull Parsing getParsing() {
+        return parsing;
+    }
+
     @Override
     public boolean transferReferences(@NotNull Document document, @NotNull Document included, Boolean onlyIfUndefined) {
         // transfer references from included to document
@@ -0,0 +1,75 @@
+package com.vladsch.flexmark.parser;
+
+import com.vladsch.flexmark.parser.block.BlockParserFactory;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Parser session for parsing multiple documents sequentially with the same {@link Parser}
+ * <p>
+ * Block parser factories and inline parser are created once for the session and re-used
+ * for every document, only per document state is created for each parse.
+ * <p>
+ * Start with {@link Parser#newSession()}. Example:
+ * <pre>{@code
+ * ParserSession session = parser.newSession();
+ * Document document1 = session.parse("input text");
+ * Document document2 = session.parse("other input text");
+ * }</pre>
+ * <p>
+ * NOTE: a session is not thread-safe, use a separate session for each thread.
+ */
+public class ParserSession {
+    private final @NotNull Parser parser;
+    private final @NotNull List<BlockParserFactory> blockParserFactories;
+    private final @NotNull InlineParser inlineParser;
+
+    ParserSession(@NotNull Parser parser, @NotNull List<BlockParserFactory> blockParserFactories, @NotNull InlineParser inlineParser) {
+        this.parser = parser;
+        this.blockParserFactories = blockParserFactories;
+        this.inlineParser = inlineParser;
+    }
+
+    public @NotNull Parser getParser() {
+        return parser;
+    }
+
+    /**
+     * Parse the specified input text into a tree of nodes.
+     *
+     * @param input the text to parse
+     * @return the root node
+     */
+    public @NotNull Document parse(@NotNull BasedSequence input) {
+        Document document = parser.createDocumentParser(blockParserFactories, inlineParser).parse(input);
+        return parser.postProcess(document);
+    }
+
+    /**
+     * Parse the specified input text into a tree of nodes.
+     *
+     * @param input the text to parse
+     * @return the root node
+     */
+    public @NotNull Document parse(@NotNull String input) {
+        Document document = parser.createDocumentParser(blockParserFactories, inlineParser).parse(BasedSequence.of(input));
+        return parser.postProcess(document);
+    }
+
+    /**
+     * Parse the specified reader into a tree of nodes. The caller is responsible for closing the reader.
+     *
+     * @param input the reader to parse
+     * @return the root node
+     * @throws IOException when reading throws an exception
+     */
+    public @NotNull Document parseReader(@NotNull Reader input) throws IOException {
+        Document document = parser.createDocumentParser(blockParserFactories, inlineParser).parse(input);
+        return parser.postProcess(document);
+    }
+}
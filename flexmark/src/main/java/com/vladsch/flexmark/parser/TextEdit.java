@@ -0,0 +1,105 @@
+package com.vladsch.flexmark.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Edit of document text, replacing a range of the old text with text of given length
+ * <p>
+ * Used with {@link Parser#reparse(com.vladsch.flexmark.util.ast.Document, CharSequence, TextEdit)}
+ */
+public final class TextEdit {
+    private final int startOffset;
+    private final int endOffset;
+    private final int insertedLength;
+
+    private TextEdit(int startOffset, int endOffset, int insertedLength) {
+        if (startOffset < 0 || endOffset < startOffset || insertedLength < 0) {
+            throw new IllegalArgumentException("Invalid edit: startOffset " + startOffset + ", endOffset " + endOffset + ", insertedLength " + insertedLength);
+        }
+
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.insertedLength = insertedLength;
+    }
+
+    /**
+     * @param startOffset    start offset of replaced text in old text
+     * @param endOffset      end offset of replaced text in old text
+     * @param insertedLength length of the text replacing it
+     * @return edit
+     */
+    public static @NotNull TextEdit of(int startOffset, int endOffset, int insertedLength) {
+        return new TextEdit(startOffset, endOffset, insertedLength);
+    }
+
+    public static @NotNull TextEdit insert(int offset, int insertedLength) {
+        return new TextEdit(offset, offset, insertedLength);
+    }
+
+    public static @NotNull TextEdit delete(int startOffset, int endOffset) {
+        return new TextEdit(startOffset, endOffset, 0);
+    }
+
+    /**
+     * Get the edit which changes old text to new text, from common prefix and suffix of the two texts
+     *
+     * @param oldText old text
+     * @param newText new text
+     * @return edit
+     */
+    public static @NotNull TextEdit diff(@NotNull CharSequence oldText, @NotNull CharSequence newText) {
+        int oldLength = oldText.length();
+        int newLength = newText.length();
+        int maxPrefix = Math.min(oldLength, newLength);
+
+        int prefix = 0;
+        while (prefix < maxPrefix && oldText.charAt(prefix) == newText.charAt(prefix)) prefix++;
+
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix && oldText.charAt(oldLength - suffix - 1) == newText.charAt(newLength - suffix - 1)) suffix++;
+
+        return new TextEdit(prefix, oldLength - suffix, newLength - suffix - prefix);
+    }
+
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    public int getInsertedLength() {
+        return insertedLength;
+    }
+
+    /**
+     * @return change in offsets of text after the edit
+     */
+    public int getDelta() {
+        return insertedLength - (endOffset - startOffset);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TextEdit)) return false;
+
+        TextEdit edit = (TextEdit) o;
+        return startOffset == edit.startOffset && endOffset == edit.endOffset && insertedLength == edit.insertedLength;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = startOffset;
+        result = 31 * result + endOffset;
+        result = 31 * result + insertedLength;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TextEdit{[" + startOffset + ", " + endOffset + ") -> " + insertedLength + "}";
+    }
+}
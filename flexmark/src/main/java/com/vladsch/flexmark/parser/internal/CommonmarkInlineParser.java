@@ -1,5 +1,6 @@
 package com.vladsch.flexmark.parser.internal;
 
+import com.vladsch.flexmark.ast.util.Parsing;
 import com.vladsch.flexmark.parser.InlineParserExtensionFactory;
 import com.vladsch.flexmark.parser.delimiter.DelimiterProcessor;
 import com.vladsch.flexmark.util.ast.Document;
@@ -18,6 +19,13 @@ public class CommonmarkInlineParser extends InlineParserImpl {
         super(options, specialCharacters, delimiterCharacters, delimiterProcessors, referenceLinkProcessors, inlineParserExtensions);
     }
 
+    public CommonmarkInlineParser(
+            Parsing parsing, BitSet specialCharacters, BitSet delimiterCharacters,
+            Map<Character, DelimiterProcessor> delimiterProcessors, LinkRefProcessorData referenceLinkProcessors, List<InlineParserExtensionFactory> inlineParserExtensions
+    ) {
+        super(parsing, specialCharacters, delimiterCharacters, delimiterProcessors, referenceLinkProcessors, inlineParserExtensions);
+    }
+
     @Override
     public void initializeDocument(@NotNull Document document) {
         super.initializeDocument(document);
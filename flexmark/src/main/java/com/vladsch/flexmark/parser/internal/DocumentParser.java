@@ -4,10 +4,12 @@ import com.vladsch.flexmark.ast.Paragraph;
 import com.vladsch.flexmark.ast.util.ClassifyingBlockTracker;
 import com.vladsch.flexmark.ast.util.Parsing;
 import com.vladsch.flexmark.parser.InlineParser;
+import com.vladsch.flexmark.parser.InlineParserExtensionFactory;
 import com.vladsch.flexmark.parser.InlineParserFactory;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.parser.block.*;
 import com.vladsch.flexmark.parser.core.*;
+import com.vladsch.flexmark.parser.delimiter.DelimiterProcessor;
 import com.vladsch.flexmark.util.ast.*;
 import com.vladsch.flexmark.util.collection.ItemFactoryMap;
 import com.vladsch.flexmark.util.collection.iteration.ReversibleIterable;
@@ -19,19 +21,35 @@ import com.vladsch.flexmark.util.dependency.ResolvedDependencies;
 import com.vladsch.flexmark.util.sequence.BasedSequence;
 import com.vladsch.flexmark.util.sequence.PrefixedSubSequence;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.vladsch.flexmark.parser.Parser.BLANK_LINES_IN_AST;
+import static com.vladsch.flexmark.parser.Parser.PARALLEL_INLINE_PARSING_THRESHOLD;
 import static com.vladsch.flexmark.parser.Parser.TRACK_DOCUMENT_LINES;
 
 public class DocumentParser implements ParserState {
 
-    public static final InlineParserFactory INLINE_PARSER_FACTORY = CommonmarkInlineParser::new;
+    public static final InlineParserFactory INLINE_PARSER_FACTORY = new InlineParserFactory() {
+        @Override
+        public InlineParser inlineParser(@NotNull DataHolder options, @NotNull BitSet specialCharacters, @NotNull BitSet delimiterCharacters, @NotNull Map<Character, DelimiterProcessor> delimiterProcessors, @NotNull LinkRefProcessorData linkRefProcessors, @NotNull List<InlineParserExtensionFactory> inlineParserExtensions) {
+            return new CommonmarkInlineParser(options, specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessors, inlineParserExtensions);
+        }
+
+        @Override
+        public InlineParser inlineParser(@NotNull Parsing parsing, @NotNull BitSet specialCharacters, @NotNull BitSet delimiterCharacters, @NotNull Map<Character, DelimiterProcessor> delimiterProcessors, @NotNull LinkRefProcessorData linkRefProcessors, @NotNull List<InlineParserExtensionFactory> inlineParserExtensions) {
+            return new CommonmarkInlineParser(parsing, specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessors, inlineParserExtensions);
+        }
+    };
 
     private static final HashMap<CustomBlockParserFactory, DataKey<Boolean>> CORE_FACTORIES_DATA_KEYS = new HashMap<>();
     static {
@@ -114,6 +132,8 @@ public class DocumentParser implements ParserState {
     private final ParagraphPreProcessorDependencies paragraphPreProcessorDependencies;
     private final BlockPreProcessorDependencies blockPreProcessorDependencies;
     private final InlineParser inlineParser;
+    private final @Nullable Supplier<InlineParser> parallelInlineParsers;
+    private final int parallelInlineParsingThreshold;
     private final DocumentBlockParser documentBlockParser;
     private final boolean blankLinesInAst;
     private final boolean trackDocumentLines;
@@ -323,19 +343,61 @@ public class DocumentParser implements ParserState {
             ParagraphPreProcessorDependencies paragraphPreProcessorDependencies,
             BlockPreProcessorDependencies blockPreProcessorDependencies,
             InlineParser inlineParser
+    ) {
+        this(options, paragraphPreProcessorDependencies, blockPreProcessorDependencies, inlineParser, createBlockParserFactories(options, customBlockParserFactories));
+    }
+
+    /**
+     * Create document parser using already created block parser factories
+     * <p>
+     * Block parser factories and inline parser can be re-used for parsing multiple documents
+     * sequentially, but must not be used concurrently.
+     *
+     * @param options                           parser options
+     * @param paragraphPreProcessorDependencies paragraph pre-processor dependencies
+     * @param blockPreProcessorDependencies     block pre-processor dependencies
+     * @param inlineParser                      inline parser, initialized for each parsed document
+     * @param blockParserFactories              block parser factories created by {@link #createBlockParserFactories(DataHolder, List)}
+     */
+    public DocumentParser(
+            DataHolder options,
+            ParagraphPreProcessorDependencies paragraphPreProcessorDependencies,
+            BlockPreProcessorDependencies blockPreProcessorDependencies,
+            InlineParser inlineParser,
+            List<BlockParserFactory> blockParserFactories
+    ) {
+        this(options, paragraphPreProcessorDependencies, blockPreProcessorDependencies, inlineParser, blockParserFactories, null);
+    }
+
+    /**
+     * Create document parser using already created block parser factories and parsing inlines of large documents in parallel
+     *
+     * @param options                           parser options
+     * @param paragraphPreProcessorDependencies paragraph pre-processor dependencies
+     * @param blockPreProcessorDependencies     block pre-processor dependencies
+     * @param inlineParser                      inline parser, initialized for each parsed document
+     * @param blockParserFactories              block parser factories created by {@link #createBlockParserFactories(DataHolder, List)}
+     * @param parallelInlineParsers             supplier of additional inline parsers used to parse inlines of blocks concurrently
+     *                                          when the document is at least {@link Parser#PARALLEL_INLINE_PARSING_THRESHOLD} characters,
+     *                                          null to always parse inlines sequentially
+     */
+    public DocumentParser(
+            DataHolder options,
+            ParagraphPreProcessorDependencies paragraphPreProcessorDependencies,
+            BlockPreProcessorDependencies blockPreProcessorDependencies,
+            InlineParser inlineParser,
+            List<BlockParserFactory> blockParserFactories,
+            @Nullable Supplier<InlineParser> parallelInlineParsers
     ) {
         this.options = options;
         this.myParsing = inlineParser.getParsing();
 
-        ArrayList<BlockParserFactory> blockParserFactories = new ArrayList<>(customBlockParserFactories.size());
-        for (CustomBlockParserFactory factory : customBlockParserFactories) {
-            blockParserFactories.add(factory.apply(options));
-        }
-
         this.blockParserFactories = blockParserFactories;
         this.paragraphPreProcessorDependencies = paragraphPreProcessorDependencies;
         this.blockPreProcessorDependencies = blockPreProcessorDependencies;
         this.inlineParser = inlineParser;
+        this.parallelInlineParsers = parallelInlineParsers;
+        this.parallelInlineParsingThreshold = PARALLEL_INLINE_PARSING_THRESHOLD.get(options);
 
         this.documentBlockParser = new DocumentBlockParser();
         activateBlockParser(this.documentBlockParser);
@@ -354,6 +416,14 @@ public class DocumentParser implements ParserState {
         return documentBlockParser.getBlock();
     }
 
+    public static List<BlockParserFactory> createBlockParserFactories(DataHolder options, List<CustomBlockParserFactory> customBlockParserFactories) {
+        ArrayList<BlockParserFactory> blockParserFactories = new ArrayList<>(customBlockParserFactories.size());
+        for (CustomBlockParserFactory factory : customBlockParserFactories) {
+            blockParserFactories.add(factory.apply(options));
+        }
+        return blockParserFactories;
+    }
+
     public static List<CustomBlockParserFactory> calculateBlockParserFactories(DataHolder options, List<CustomBlockParserFactory> customBlockParserFactories) {
         // By having the custom factories come first, extensions are able to change behavior of core syntax.
         List<CustomBlockParserFactory> list = new ArrayList<>(customBlockParserFactories);
@@ -907,8 +977,73 @@ public class DocumentParser implements ParserState {
      * Walk through a block & children recursively, parsing string content into inline content where appropriate.
      */
     private void processInlines() {
-        for (BlockParser blockParser : blockTracker.allBlockParsers()) {
-            blockParser.parseInlines(inlineParser);
+        if (parallelInlineParsers != null && documentBlockParser.getBlock().getTextLength() >= parallelInlineParsingThreshold) {
+            processInlinesParallel(parallelInlineParsers);
+        } else {
+            for (BlockParser blockParser : blockTracker.allBlockParsers()) {
+                blockParser.parseInlines(inlineParser);
+            }
+        }
+    }
+
+    /**
+     * Parse inlines of blocks in chunks on the common fork join pool, each concurrently parsed chunk using its own inline parser.
+     * <p>
+     * Inlines of a block only modify the block's children so blocks can be parsed in any order.
+     * All inline parsers are created and initialized for the document by the calling thread before parsing starts
+     * and finalized by it after all blocks are parsed, so document properties are never accessed concurrently.
+     *
+     * @param inlineParsers supplier of additional inline parsers
+     */
+    private void processInlinesParallel(@NotNull Supplier<InlineParser> inlineParsers) {
+        ArrayList<BlockParser> blockParsers = new ArrayList<>(blockTracker.allBlockParsers());
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunks = Math.min(blockParsers.size(), parallelism * 4);
+
+        if (chunks <= 1) {
+            for (BlockParser blockParser : blockParsers) {
+                blockParser.parseInlines(inlineParser);
+            }
+            return;
+        }
+
+        // NOTE: each worker parses chunks with its own inline parser until none are left, main inline parser is used by the calling thread
+        Document document = documentBlockParser.getBlock();
+        int workerCount = Math.min(chunks, parallelism + 1);
+        ArrayList<InlineParser> workers = new ArrayList<>(workerCount);
+        workers.add(inlineParser);
+        for (int i = 1; i < workerCount; i++) {
+            InlineParser worker = inlineParsers.get();
+            worker.initializeDocument(document);
+            workers.add(worker);
+        }
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        ArrayList<ForkJoinTask<?>> tasks = new ArrayList<>(workerCount - 1);
+        for (int i = 1; i < workerCount; i++) {
+            InlineParser worker = workers.get(i);
+            tasks.add(ForkJoinPool.commonPool().submit(() -> parseInlineChunks(blockParsers, chunks, nextChunk, worker)));
+        }
+
+        try {
+            parseInlineChunks(blockParsers, chunks, nextChunk, inlineParser);
+        } finally {
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+
+        for (int i = 1; i < workerCount; i++) {
+            workers.get(i).finalizeDocument(document);
+        }
+    }
+
+    private static void parseInlineChunks(@NotNull List<BlockParser> blockParsers, int chunks, @NotNull AtomicInteger nextChunk, @NotNull InlineParser worker) {
+        int iMax = blockParsers.size();
+        for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+            for (int i = chunk * iMax / chunks, end = (chunk + 1) * iMax / chunks; i < end; i++) {
+                blockParsers.get(i).parseInlines(worker);
+            }
         }
     }
 
@@ -1,6 +1,7 @@
 package com.vladsch.flexmark.parser.internal;
 
 import com.vladsch.flexmark.ast.*;
+import com.vladsch.flexmark.ast.util.Parsing;
 import com.vladsch.flexmark.ast.util.ReferenceRepository;
 import com.vladsch.flexmark.ast.util.TextNodeConverter;
 import com.vladsch.flexmark.parser.*;
@@ -66,12 +67,24 @@ public class InlineParserImpl extends LightInlineParserImpl implements InlinePar
             LinkRefProcessorData linkRefProcessorsData,
             List<InlineParserExtensionFactory> inlineParserExtensionFactories
     ) {
-        super(options);
+        this(Parsing.of(options), specialCharacters, delimiterCharacters, delimiterProcessors, linkRefProcessorsData, inlineParserExtensionFactories);
+    }
+
+    public InlineParserImpl(
+            Parsing parsing,
+            BitSet specialCharacters,
+            BitSet delimiterCharacters,
+            Map<Character, DelimiterProcessor> delimiterProcessors,
+            LinkRefProcessorData linkRefProcessorsData,
+            List<InlineParserExtensionFactory> inlineParserExtensionFactories
+    ) {
+        super(parsing);
         this.delimiterProcessors = delimiterProcessors;
         this.linkRefProcessorsData = linkRefProcessorsData;
         this.delimiterCharacters = delimiterCharacters;
-        this.originalSpecialCharacters = specialCharacters;
-        this.specialCharacters = specialCharacters;
+        // NOTE: copy since parser's special characters are shared by all its inline parsers and extension characters are added to it
+        this.originalSpecialCharacters = (BitSet) specialCharacters.clone();
+        this.specialCharacters = this.originalSpecialCharacters;
         this.inlineParserExtensionFactories = !inlineParserExtensionFactories.isEmpty() ? inlineParserExtensionFactories : null;
 
         if (this.options.useHardcodedLinkAddressParser) {